@@ -0,0 +1,63 @@
+package com.ing.nybooks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Sample upstream payloads shared by the benchmarks. The NYTimes page is the history search response also used by
+ * the tests, the OpenLibrary payloads resolve the ISBNs of its books.
+ */
+public final class BenchmarkPayloads {
+    public static final String NYT_HISTORY_PAGE = "/nytApiResponse.json";
+    public static final String OPEN_LIBRARY_ISBN = "/payloads/openLibraryIsbnResponse.json";
+    public static final String OPEN_LIBRARY_BULK = "/payloads/openLibraryBulkResponse.json";
+
+    private BenchmarkPayloads() {
+    }
+
+    /**
+     * Reads a payload from the classpath.
+     *
+     * @param path The classpath location of the payload.
+     * @return The raw payload.
+     */
+    public static byte[] read(String path) {
+        try (InputStream payload = BenchmarkPayloads.class.getResourceAsStream(path)) {
+            if (payload == null) {
+                throw new IllegalStateException("Missing benchmark payload " + path);
+            }
+            return payload.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads and deserializes a payload from the classpath.
+     *
+     * @param path The classpath location of the payload.
+     * @param type The class to deserialize the payload to.
+     * @param <T>  The type of the payload.
+     * @return The deserialized payload.
+     */
+    public static <T> T read(String path, Class<T> type) {
+        try {
+            return objectMapper().readValue(read(path), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds an ObjectMapper configured as the one Spring Boot hands to the RestClients.
+     *
+     * @return The ObjectMapper.
+     */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+}
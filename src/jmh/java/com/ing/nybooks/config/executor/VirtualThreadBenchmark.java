@@ -0,0 +1,108 @@
+package com.ing.nybooks.config.executor;
+
+import com.ing.nybooks.config.properties.ExecutorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the platform-thread and virtual-thread modes serving a burst of concurrent searches. Each search blocks
+ * on a fan-out of simulated upstream calls, the way a search waits for its OpenLibrary lookups, on the executors
+ * {@link ExecutorConfig} builds for the mode. Searches run on a pool of Tomcat's default 200 threads in the
+ * platform-thread mode and on a virtual thread each otherwise. Needs a Java 21 runtime to measure virtual threads;
+ * on older runtimes both modes use platform threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadBenchmark.class);
+    private static final int TOMCAT_THREADS = 200;
+    private static final int UPSTREAM_CALLS_PER_SEARCH = 8;
+    private static final long UPSTREAM_LATENCY_MILLIS = 10;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"64", "1024"})
+    private int concurrentSearches;
+
+    private Executor requestExecutor;
+    private ExecutorService platformRequestPool;
+    private FanOutExecutor fanOutExecutor;
+    private List<Integer> upstreamCalls;
+
+    @Setup
+    public void setup() {
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            logger.warn("[setup] Virtual threads need Java 21, running on Java {}; measuring platform threads",
+                    Runtime.version().feature());
+        }
+        ExecutorProperties executorProperties = new ExecutorProperties();
+        executorProperties.setVirtualThreads(virtualThreads);
+        // Sizing of application-prod.yaml
+        ExecutorProperties.Pool pool = executorProperties.getOpenLibrary();
+        pool.setCoreSize(8);
+        pool.setMaxSize(16);
+        pool.setQueueCapacity(200);
+        pool.setParallelism(4);
+        fanOutExecutor = new ExecutorConfig(executorProperties).openLibraryFanOutExecutor(new SimpleMeterRegistry());
+
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            requestExecutor = VirtualThreads.taskExecutor("http-virtual-");
+        } else {
+            platformRequestPool = Executors.newFixedThreadPool(TOMCAT_THREADS);
+            requestExecutor = platformRequestPool;
+        }
+        upstreamCalls = IntStream.range(0, UPSTREAM_CALLS_PER_SEARCH).boxed().collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        fanOutExecutor.shutdown();
+        if (platformRequestPool != null) {
+            platformRequestPool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int serveConcurrentSearches() {
+        List<CompletableFuture<List<Integer>>> searches = new ArrayList<>(concurrentSearches);
+        for (int i = 0; i < concurrentSearches; i++) {
+            searches.add(CompletableFuture.supplyAsync(() -> fanOutExecutor.invokeAll(upstreamCalls, VirtualThreadBenchmark::upstreamCall), requestExecutor));
+        }
+        int results = 0;
+        for (CompletableFuture<List<Integer>> search : searches) {
+            results += search.join().size();
+        }
+        return results;
+    }
+
+    private static Integer upstreamCall(Integer call) {
+        try {
+            Thread.sleep(UPSTREAM_LATENCY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return call;
+    }
+}
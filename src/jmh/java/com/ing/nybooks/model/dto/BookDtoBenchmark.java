@@ -0,0 +1,67 @@
+package com.ing.nybooks.model.dto;
+
+import com.ing.nybooks.BenchmarkPayloads;
+import com.ing.nybooks.model.external.NYTApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the hashing of books and the merging of the books of every history page of an author.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BookDtoBenchmark {
+    private List<Set<BookDto>> bookPages;
+
+    @Param({"1", "10"})
+    private int pages;
+
+    @Setup
+    public void setup() {
+        NYTApiResponse page = BenchmarkPayloads.read(BenchmarkPayloads.NYT_HISTORY_PAGE, NYTApiResponse.class);
+        bookPages = new ArrayList<>();
+        for (int i = 0; i < pages; i++) {
+            Set<BookDto> books = new LinkedHashSet<>();
+            for (NYTApiResponse.BookResult bookResult : page.getResults()) {
+                BookDto book = new BookDto();
+                book.setName(bookResult.getTitle() + " " + i);
+                book.setPublisher(bookResult.getPublisher());
+                book.setAuthor(bookResult.getAuthor());
+                book.setYear(1990 + Math.floorMod(bookResult.getTitle().hashCode(), 30));
+                books.add(book);
+            }
+            bookPages.add(books);
+        }
+    }
+
+    @Benchmark
+    public int hashBooks() {
+        int hash = 0;
+        for (Set<BookDto> books : bookPages) {
+            for (BookDto book : books) {
+                hash += book.hashCode();
+            }
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public Set<BookDto> mergePages() {
+        Set<BookDto> allBooks = new LinkedHashSet<>();
+        bookPages.forEach(allBooks::addAll);
+        return allBooks;
+    }
+}
@@ -6,7 +6,8 @@ import lombok.Setter;
 import java.util.List;
 
 /**
- * Represents the response from the New York Times (NYT) API.
+ * Represents the full response from the New York Times (NYT) API, mapping every field. Kept as the baseline the
+ * benchmarks compare {@link NYTHistoryPage} with.
  */
 @Getter
 @Setter
@@ -7,7 +7,8 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Represents the response from the Open Library API.
+ * Represents the full response from the Open Library API, mapping every field. Kept as the baseline the
+ * benchmarks compare {@link OpenLibraryPublishDate} with.
  */
 @Getter
 @Setter
@@ -0,0 +1,60 @@
+package com.ing.nybooks.model.external;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.nybooks.BenchmarkPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the Jackson deserialization of the upstream responses from their raw payloads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ResponseDeserializationBenchmark {
+    private ObjectMapper objectMapper;
+    private byte[] nytHistoryPage;
+    private byte[] openLibraryIsbn;
+    private byte[] openLibraryBulk;
+
+    @Setup
+    public void setup() {
+        objectMapper = BenchmarkPayloads.objectMapper();
+        nytHistoryPage = BenchmarkPayloads.read(BenchmarkPayloads.NYT_HISTORY_PAGE);
+        openLibraryIsbn = BenchmarkPayloads.read(BenchmarkPayloads.OPEN_LIBRARY_ISBN);
+        openLibraryBulk = BenchmarkPayloads.read(BenchmarkPayloads.OPEN_LIBRARY_BULK);
+    }
+
+    @Benchmark
+    public NYTApiResponse nytApiResponse() throws IOException {
+        return objectMapper.readValue(nytHistoryPage, NYTApiResponse.class);
+    }
+
+    @Benchmark
+    public NYTHistoryPage nytHistoryPage() throws IOException {
+        return objectMapper.readValue(nytHistoryPage, NYTHistoryPage.class);
+    }
+
+    @Benchmark
+    public OpenLibraryApiResponse openLibraryApiResponse() throws IOException {
+        return objectMapper.readValue(openLibraryIsbn, OpenLibraryApiResponse.class);
+    }
+
+    @Benchmark
+    public OpenLibraryPublishDate openLibraryPublishDate() throws IOException {
+        return objectMapper.readValue(openLibraryIsbn, OpenLibraryPublishDate.class);
+    }
+
+    @Benchmark
+    public OpenLibraryBulkApiResponse openLibraryBulkApiResponse() throws IOException {
+        return objectMapper.readValue(openLibraryBulk, OpenLibraryBulkApiResponse.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ing.nybooks.service;
+
+import com.ing.nybooks.config.caching.IsbnYearCache;
+import com.ing.nybooks.config.caching.SingleFlight;
+import com.ing.nybooks.config.executor.FanOutExecutor;
+import com.ing.nybooks.config.properties.HedgingProperties;
+import com.ing.nybooks.config.properties.NYTProperties;
+import com.ing.nybooks.config.properties.OpenLibraryProperties;
+import com.ing.nybooks.config.resilience.RequestHedger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the services under benchmark without a Spring context. Upstream calls are never made: the publication
+ * years come from an in-memory service and the RestClient is left out.
+ */
+final class BenchmarkServices {
+
+    private BenchmarkServices() {
+    }
+
+    /**
+     * Builds a NYTBookService resolving publication years in memory and running its fan-outs on the caller.
+     *
+     * @return The NYTBookService.
+     */
+    static NYTBookService nytBookService() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FanOutExecutor fanOutExecutor = new FanOutExecutor("benchmark", Runnable::run, 1, meterRegistry);
+        return new NYTBookService(new NYTProperties(), null, new InMemoryPublicationService(), meterRegistry.timer("benchmark"),
+                fanOutExecutor, fanOutExecutor, new ConcurrentMapCacheManager(), new SingleFlight<>("benchmark", meterRegistry), meterRegistry);
+    }
+
+    /**
+     * Builds an OpenLibraryService with in-memory ISBN caches and hedging disabled.
+     *
+     * @return The OpenLibraryService.
+     */
+    static OpenLibraryService openLibraryService() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new OpenLibraryService(new OpenLibraryProperties(), null, meterRegistry.timer("benchmark"),
+                new IsbnYearCache(new ConcurrentMapCacheManager(), meterRegistry),
+                new FanOutExecutor("benchmark", Runnable::run, 1, meterRegistry), new SingleFlight<>("benchmark", meterRegistry),
+                new RequestHedger("benchmark", new HedgingProperties(), Runnable::run, meterRegistry));
+    }
+
+    /**
+     * Derives a stable publication year between 1990 and 2019 from the ISBNs of a book.
+     */
+    static final class InMemoryPublicationService implements BookPublicationService {
+
+        @Override
+        public int getPublishYearByIsbn(Set<String> isbnList) {
+            return 1990 + Math.floorMod(isbnList.hashCode(), 30);
+        }
+
+        @Override
+        public Mono<Integer> getPublishYearByIsbnAsync(Set<String> isbnList) {
+            return Mono.just(getPublishYearByIsbn(isbnList));
+        }
+
+        @Override
+        public List<Integer> getPublishYearsByIsbn(List<Set<String>> isbnLists) {
+            return isbnLists.stream()
+                    .map(this::getPublishYearByIsbn)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public Mono<List<Integer>> getPublishYearsByIsbnAsync(List<Set<String>> isbnLists) {
+            return Mono.just(getPublishYearsByIsbn(isbnLists));
+        }
+    }
+}
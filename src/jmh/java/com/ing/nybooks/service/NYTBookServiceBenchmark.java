@@ -0,0 +1,43 @@
+package com.ing.nybooks.service;
+
+import com.ing.nybooks.BenchmarkPayloads;
+import com.ing.nybooks.model.dto.BookDto;
+import com.ing.nybooks.model.external.NYTHistoryPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the mapping of a NYTimes history page to books, with the publication years resolved in memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class NYTBookServiceBenchmark {
+    private NYTBookService nytBookService;
+    private NYTHistoryPage page;
+
+    @Setup
+    public void setup() {
+        nytBookService = BenchmarkServices.nytBookService();
+        page = BenchmarkPayloads.read(BenchmarkPayloads.NYT_HISTORY_PAGE, NYTHistoryPage.class);
+    }
+
+    @Benchmark
+    public Set<BookDto> mapToBookResponseDto() {
+        return nytBookService.mapToBookResponseDto(page);
+    }
+
+    @Benchmark
+    public List<Set<String>> collectIsbnLists() {
+        return nytBookService.collectIsbnLists(page.getBooks());
+    }
+}
@@ -0,0 +1,35 @@
+package com.ing.nybooks.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the extraction of the publication year from the publish dates OpenLibrary returns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OpenLibraryServiceBenchmark {
+    private OpenLibraryService openLibraryService;
+
+    @Param({"Sep 06, 2016", "2016-09-06", "August 2001", "abs2000def 12"})
+    private String publishDate;
+
+    @Setup
+    public void setup() {
+        openLibraryService = BenchmarkServices.openLibraryService();
+    }
+
+    @Benchmark
+    public int extractYear() {
+        return openLibraryService.extractYear(publishDate);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ing.nybooks.service;
+
+import com.ing.nybooks.BenchmarkPayloads;
+import com.ing.nybooks.config.caching.IndexedBookSet;
+import com.ing.nybooks.config.properties.CacheWarmingProperties;
+import com.ing.nybooks.model.dto.BookDto;
+import com.ing.nybooks.model.external.NYTHistoryPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks the year filtering of a cached author result, against the linear filter it replaced as baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class SearchServiceBenchmark {
+    private static final String AUTHOR = "Diana Gabaldon";
+    private SearchService searchService;
+    private Set<BookDto> books;
+    private List<Integer> publicationYears;
+
+    @Param({"10"})
+    private int pages;
+
+    @Param({"2016", "2012,2016,2019"})
+    private String years;
+
+    @Setup
+    public void setup() {
+        NYTHistoryPage page = BenchmarkPayloads.read(BenchmarkPayloads.NYT_HISTORY_PAGE, NYTHistoryPage.class);
+        NYTBookService mapper = BenchmarkServices.nytBookService();
+        Set<BookDto> allBooks = new LinkedHashSet<>();
+        for (int i = 0; i < pages; i++) {
+            for (BookDto book : mapper.mapToBookResponseDto(page)) {
+                book.setName(book.getName() + " " + i);
+                allBooks.add(book);
+            }
+        }
+        books = IndexedBookSet.of(allBooks);
+        publicationYears = Arrays.stream(years.split(","))
+                .map(Integer::valueOf)
+                .collect(Collectors.toList());
+
+        // Serves the author from memory, as the cache does for repeated searches
+        NYTBookService nytBookService = new NYTBookService(null, null, null, null, null, null, null, null, new SimpleMeterRegistry()) {
+            @Override
+            public Set<BookDto> getBooksByAuthor(String author) {
+                return books;
+            }
+        };
+        searchService = new SearchService(nytBookService, new AuthorPopularityTracker(new CacheWarmingProperties(), new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public Set<BookDto> getBooksByAuthorAndYear() {
+        return searchService.getBooksByAuthorAndYear(AUTHOR, publicationYears);
+    }
+
+    @Benchmark
+    public Set<BookDto> linearYearFilter() {
+        return books.stream()
+                .filter(book -> publicationYears.contains(book.getYear()))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,135 @@
+package com.ing.nybooks.config.caching;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ing.nybooks.model.dto.CacheStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Actuator endpoint at /actuator/cacheadmin inspecting the Caffeine caches and evicting their entries at runtime.
+ */
+@Component
+@Endpoint(id = "cacheadmin")
+public class CacheAdminEndpoint {
+    private static final Logger logger = LoggerFactory.getLogger(CacheAdminEndpoint.class);
+    private static final int DEFAULT_TOP_KEYS = 10;
+    private final CacheManager cacheManager;
+
+    /**
+     * Constructor for CacheAdminEndpoint.
+     *
+     * @param cacheManager The cache manager holding the Caffeine caches.
+     */
+    public CacheAdminEndpoint(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Lists the size and statistics of every cache.
+     *
+     * @return The statistics of every Caffeine cache.
+     */
+    @ReadOperation
+    public List<CacheStatsDto> caches() {
+        List<CacheStatsDto> caches = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            CaffeineCache cache = findCache(name);
+            if (cache != null) {
+                caches.add(toCacheStats(cache, 0));
+            }
+        }
+        return caches;
+    }
+
+    /**
+     * Returns the size and statistics of a cache along with its hottest keys.
+     *
+     * @param name The name of the cache.
+     * @param top  The number of hottest keys to return, 10 if not provided.
+     * @return The statistics of the cache, or null (404) if there is no such cache.
+     */
+    @ReadOperation
+    public CacheStatsDto cache(@Selector String name, @Nullable Integer top) {
+        CaffeineCache cache = findCache(name);
+        return cache != null ? toCacheStats(cache, top != null ? Math.max(0, top) : DEFAULT_TOP_KEYS) : null;
+    }
+
+    /**
+     * Evicts a single entry of a cache, or every entry if no key is provided.
+     *
+     * @param name The name of the cache.
+     * @param key  The key of the entry to evict.
+     */
+    @DeleteOperation
+    public void evict(@Selector String name, @Nullable String key) {
+        CaffeineCache cache = findCache(name);
+        if (cache == null) {
+            return;
+        }
+        if (key != null) {
+            logger.info("[evict] Evicting entry {} of cache {}", key, name);
+            cache.evict(key);
+        } else {
+            logger.info("[evict] Clearing cache {}", name);
+            cache.clear();
+        }
+    }
+
+    /**
+     * Finds a Caffeine cache by name.
+     *
+     * @param name The name of the cache.
+     * @return The cache, or null if there is no Caffeine cache with that name.
+     */
+    private CaffeineCache findCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        return cache instanceof CaffeineCache ? (CaffeineCache) cache : null;
+    }
+
+    /**
+     * Builds the statistics of a cache.
+     *
+     * @param cache   The cache.
+     * @param topKeys The number of hottest keys to include.
+     * @return The statistics of the cache.
+     */
+    private CacheStatsDto toCacheStats(CaffeineCache cache, int topKeys) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = cache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+
+        CacheStatsDto cacheStats = new CacheStatsDto();
+        cacheStats.setName(cache.getName());
+        cacheStats.setEstimatedSize(nativeCache.estimatedSize());
+        cacheStats.setHitCount(stats.hitCount());
+        cacheStats.setMissCount(stats.missCount());
+        cacheStats.setHitRatio(stats.hitRate());
+        cacheStats.setEvictionCount(stats.evictionCount());
+
+        Optional<Policy.Eviction<Object, Object>> eviction = nativeCache.policy().eviction();
+        eviction.ifPresent(bound -> {
+            cacheStats.setMaximum(bound.getMaximum());
+            bound.weightedSize().ifPresent(cacheStats::setWeightedSize);
+            if (topKeys > 0) {
+                cacheStats.setHottestKeys(bound.hottest(topKeys).keySet().stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.toList()));
+            }
+        });
+        return cacheStats;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ing.nybooks.config.caching;
+
+/**
+ * Rebuilds the entries of a cache configured for refresh-ahead. Implementations are looked up by cache name
+ * when an entry is due for refresh.
+ */
+public interface CacheRefreshLoader {
+
+    /**
+     * Returns the name of the cache whose entries this loader rebuilds.
+     *
+     * @return The cache name.
+     */
+    String getCacheName();
+
+    /**
+     * Rebuilds the value of a cache entry from its source.
+     *
+     * @param key The key of the entry.
+     * @return The fresh value, or null to evict the entry.
+     */
+    Object reload(Object key);
+}
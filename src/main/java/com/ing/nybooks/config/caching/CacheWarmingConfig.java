@@ -0,0 +1,14 @@
+package com.ing.nybooks.config.caching;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling the scheduled cache warming runs when cache warming is enabled.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "cache-warming", name = "enabled", havingValue = "true")
+public class CacheWarmingConfig {
+}
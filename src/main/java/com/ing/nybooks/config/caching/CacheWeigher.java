@@ -0,0 +1,63 @@
+package com.ing.nybooks.config.caching;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.ing.nybooks.model.dto.BookDto;
+
+import java.util.Collection;
+
+/**
+ * Weighers available to caches bounded by a maximum weight.
+ */
+public enum CacheWeigher implements Weigher<Object, Object> {
+
+    /**
+     * Weighs collections by their number of elements and any other value as one.
+     */
+    COUNT {
+        @Override
+        public int weigh(Object key, Object value) {
+            return value instanceof Collection ? Math.max(1, ((Collection<?>) value).size()) : 1;
+        }
+    },
+
+    /**
+     * Weighs entries by an estimate of the heap bytes they retain.
+     */
+    BYTES {
+        @Override
+        public int weigh(Object key, Object value) {
+            long bytes = ENTRY_BYTES + estimateBytes(key) + estimateBytes(value);
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        }
+    };
+
+    private static final int ENTRY_BYTES = 64;
+    private static final int OBJECT_BYTES = 16;
+    private static final int STRING_BYTES = 40;
+    private static final int COLLECTION_ELEMENT_BYTES = 48;
+
+    /**
+     * Estimates the heap bytes retained by a cached key or value.
+     *
+     * @param object The key or value.
+     * @return The estimated number of bytes.
+     */
+    private static long estimateBytes(Object object) {
+        if (object instanceof String) {
+            return STRING_BYTES + ((String) object).length();
+        }
+        if (object instanceof BookDto) {
+            BookDto book = (BookDto) object;
+            return OBJECT_BYTES + 16 + estimateBytes(book.getName()) + estimateBytes(book.getPublisher())
+                    + estimateBytes(book.getAuthor()) + estimateBytes(book.getIsbns());
+        }
+        if (object instanceof Collection) {
+            long bytes = OBJECT_BYTES * 4;
+            for (Object element : (Collection<?>) object) {
+                bytes += COLLECTION_ELEMENT_BYTES + estimateBytes(element);
+            }
+            return bytes;
+        }
+        return object == null ? 0 : OBJECT_BYTES;
+    }
+}
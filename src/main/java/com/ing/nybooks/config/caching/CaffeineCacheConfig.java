@@ -1,5 +1,7 @@
 package com.ing.nybooks.config.caching;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCache;
@@ -8,8 +10,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.cache.CacheManager;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -30,16 +35,18 @@ public class CaffeineCacheConfig {
     /**
      * Creates and configures the CacheManager.
      *
+     * @param refreshLoaders The loaders rebuilding the entries of refresh-ahead caches.
+     * @param meterRegistry  Registry for recording refresh metrics.
      * @return The configured CacheManager.
      */
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(ObjectProvider<CacheRefreshLoader> refreshLoaders, MeterRegistry meterRegistry) {
         // Retrieve the cache configurations from the properties
         List<CaffeineCacheDto.Cache> caffeines = caffeineCacheDto.getCaffeines();
 
         // Create CaffeineCache instances using the cache configurations
         List<CaffeineCache> caffeineCaches = caffeines.parallelStream()
-                .map(this::buildCache)
+                .map(cacheConfig -> buildCache(cacheConfig, refreshLoaders, meterRegistry))
                 .collect(Collectors.toList());
 
         // Configure and return a SimpleCacheManager with the created caches
@@ -49,14 +56,52 @@ public class CaffeineCacheConfig {
     }
 
     /**
-     * Builds a CaffeineCache instance with the provided cache configuration.
+     * Builds a CaffeineCache instance with the provided cache configuration. Caches are bounded by size or weight
+     * when configured and record statistics, which Spring Boot binds to Micrometer. Caches with a refresh age
+     * rebuild entries read after that age in the background, serving the previous value until the refresh
+     * completes.
      *
-     * @param cacheConfig The cache configuration.
+     * @param cacheConfig    The cache configuration.
+     * @param refreshLoaders The loaders rebuilding the entries of refresh-ahead caches.
+     * @param meterRegistry  Registry for recording refresh metrics.
      * @return The configured CaffeineCache instance.
      */
-    private CaffeineCache buildCache(CaffeineCacheDto.Cache cacheConfig) {
-        return new CaffeineCache(cacheConfig.getName(), Caffeine.newBuilder()
+    private CaffeineCache buildCache(CaffeineCacheDto.Cache cacheConfig, ObjectProvider<CacheRefreshLoader> refreshLoaders,
+                                     MeterRegistry meterRegistry) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
                 .expireAfterWrite(cacheConfig.getExpiryInMinutes(), TimeUnit.MINUTES)
-                .build());
+                .recordStats();
+        if (cacheConfig.getMaximumWeight() != null) {
+            builder.maximumWeight(cacheConfig.getMaximumWeight()).weigher(cacheConfig.getWeigher());
+        } else if (cacheConfig.getMaximumSize() != null) {
+            builder.maximumSize(cacheConfig.getMaximumSize());
+        }
+        if (cacheConfig.getRefreshAfterWriteInMinutes() == null) {
+            return new CaffeineCache(cacheConfig.getName(), builder.build());
+        }
+
+        int maxConcurrentRefreshes = Math.max(1, cacheConfig.getMaxConcurrentRefreshes());
+        return new RefreshAheadCaffeineCache(cacheConfig.getName(), builder
+                .refreshAfterWrite(cacheConfig.getRefreshAfterWriteInMinutes(), TimeUnit.MINUTES)
+                .build(new RefreshAheadCacheLoader(cacheConfig.getName(), refreshLoaders,
+                        buildRefreshExecutor(cacheConfig.getName(), maxConcurrentRefreshes), maxConcurrentRefreshes,
+                        meterRegistry)));
+    }
+
+    /**
+     * Builds the executor running the background refreshes of a cache. Its threads are daemons that time out
+     * when idle; the loader never submits more refreshes than the executor has threads.
+     *
+     * @param cacheName              The name of the refreshed cache.
+     * @param maxConcurrentRefreshes Maximum number of refreshes running at the same time.
+     * @return The refresh executor.
+     */
+    private ThreadPoolExecutor buildRefreshExecutor(String cacheName, int maxConcurrentRefreshes) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-refresh-" + cacheName + "-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrentRefreshes, maxConcurrentRefreshes,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 }
@@ -28,5 +28,15 @@ public class CaffeineCacheDto {
         private String name;
         // Expiry time for the cache in minutes
         private Long expiryInMinutes;
+        // Age in minutes after which a read triggers a background refresh of the entry, no refresh if not set
+        private Long refreshAfterWriteInMinutes;
+        // Maximum number of background refreshes of the cache running at the same time
+        private int maxConcurrentRefreshes = 2;
+        // Maximum number of entries, unbounded if neither a maximum size nor a maximum weight is set
+        private Long maximumSize;
+        // Maximum total weight of the entries as measured by the weigher, takes precedence over the maximum size
+        private Long maximumWeight;
+        // Weigher measuring the entries when a maximum weight is set
+        private CacheWeigher weigher = CacheWeigher.COUNT;
     }
 }
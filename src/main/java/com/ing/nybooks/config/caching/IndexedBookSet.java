@@ -0,0 +1,177 @@
+package com.ing.nybooks.config.caching;
+
+import com.ing.nybooks.model.dto.BookDto;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Unmodifiable set of the books of an author, indexed by publication year when it is built so year queries are
+ * bucket lookups instead of scans. Years are kept in an open-addressing map of primitive int keys; books without
+ * a year are not indexed.
+ */
+public final class IndexedBookSet extends AbstractSet<BookDto> {
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final BookDto[] NO_BOOKS = new BookDto[0];
+    private final Set<BookDto> books;
+    private final int[] years;
+    private final BookDto[][] buckets;
+    private final int mask;
+
+    /**
+     * Constructor for IndexedBookSet.
+     *
+     * @param books The books to index, which must not be modified afterwards.
+     */
+    private IndexedBookSet(Set<BookDto> books) {
+        this.books = Collections.unmodifiableSet(books);
+        int capacity = Integer.highestOneBit(Math.max(8, books.size() * 2 - 1)) << 1;
+        this.years = new int[capacity];
+        this.buckets = new BookDto[capacity][];
+        this.mask = capacity - 1;
+        Arrays.fill(years, EMPTY);
+
+        // Counting first sizes every bucket exactly
+        int[] counts = new int[capacity];
+        for (BookDto book : books) {
+            if (book.getYear() != null) {
+                counts[claimSlot(book.getYear())]++;
+            }
+        }
+        int[] filled = new int[capacity];
+        for (BookDto book : books) {
+            if (book.getYear() != null) {
+                int slot = slot(book.getYear());
+                if (buckets[slot] == null) {
+                    buckets[slot] = new BookDto[counts[slot]];
+                }
+                buckets[slot][filled[slot]++] = book;
+            }
+        }
+    }
+
+    /**
+     * Indexes the books of an author.
+     *
+     * @param books The books to index, which must not be modified afterwards.
+     * @return The indexed books, or the books themselves if they are indexed already.
+     */
+    public static IndexedBookSet of(Set<BookDto> books) {
+        return books instanceof IndexedBookSet ? (IndexedBookSet) books : new IndexedBookSet(books);
+    }
+
+    /**
+     * Returns the books published in one of the given years, merging the bucket of each year.
+     *
+     * @param publicationYears The publication years.
+     * @return The matching books, in year order and in the original order within a year.
+     */
+    public Set<BookDto> getBooksByYears(Collection<Integer> publicationYears) {
+        if (publicationYears.size() == 1) {
+            Integer publicationYear = publicationYears.iterator().next();
+            return new BookBucket(publicationYear != null ? bucket(publicationYear) : NO_BOOKS);
+        }
+
+        // A book is in a single bucket, so merging distinct years needs no de-duplication
+        BookDto[][] matchedBuckets = new BookDto[publicationYears.size()][];
+        int matchedBooks = 0;
+        int matchedCount = 0;
+        for (Integer publicationYear : new LinkedHashSet<>(publicationYears)) {
+            BookDto[] bucket = publicationYear != null ? bucket(publicationYear) : NO_BOOKS;
+            if (bucket.length > 0) {
+                matchedBuckets[matchedCount++] = bucket;
+                matchedBooks += bucket.length;
+            }
+        }
+        BookDto[] merged = new BookDto[matchedBooks];
+        int position = 0;
+        for (int i = 0; i < matchedCount; i++) {
+            System.arraycopy(matchedBuckets[i], 0, merged, position, matchedBuckets[i].length);
+            position += matchedBuckets[i].length;
+        }
+        return new BookBucket(merged);
+    }
+
+    @Override
+    public Iterator<BookDto> iterator() {
+        return books.iterator();
+    }
+
+    @Override
+    public int size() {
+        return books.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return books.contains(o);
+    }
+
+    /**
+     * Looks up the bucket of a year.
+     *
+     * @param publicationYear The publication year.
+     * @return The books of the year, empty if there are none.
+     */
+    private BookDto[] bucket(int publicationYear) {
+        if (publicationYear == EMPTY) {
+            return NO_BOOKS;
+        }
+        int slot = slot(publicationYear);
+        return years[slot] == publicationYear ? buckets[slot] : NO_BOOKS;
+    }
+
+    /**
+     * Finds the slot of a year, claiming an empty slot for it if the year is not indexed yet.
+     *
+     * @param publicationYear The publication year.
+     * @return The slot of the year.
+     */
+    private int claimSlot(int publicationYear) {
+        int slot = slot(publicationYear);
+        if (years[slot] == EMPTY) {
+            years[slot] = publicationYear;
+        }
+        return slot;
+    }
+
+    /**
+     * Finds the slot holding a year, or the empty slot ending its probe sequence.
+     *
+     * @param publicationYear The publication year.
+     * @return The slot.
+     */
+    private int slot(int publicationYear) {
+        int slot = (publicationYear * 0x9E3779B9) >>> 16 & mask;
+        while (years[slot] != EMPTY && years[slot] != publicationYear) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Unmodifiable set view of the books of one or more buckets, which hold each book once.
+     */
+    private static final class BookBucket extends AbstractSet<BookDto> {
+        private final BookDto[] books;
+
+        private BookBucket(BookDto[] books) {
+            this.books = books;
+        }
+
+        @Override
+        public Iterator<BookDto> iterator() {
+            return Collections.unmodifiableList(Arrays.asList(books)).iterator();
+        }
+
+        @Override
+        public int size() {
+            return books.length;
+        }
+    }
+}
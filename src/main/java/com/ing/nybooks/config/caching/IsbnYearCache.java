@@ -0,0 +1,142 @@
+package com.ing.nybooks.config.caching;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+import static com.ing.nybooks.model.Const.PUBLISH_YEAR_BY_ISBN;
+import static com.ing.nybooks.model.Const.UNRESOLVABLE_ISBN;
+
+/**
+ * ISBN-level cache of publication years, shared by every book, author and request. Lookups missing the memory
+ * tier fall back to the persistent disk tier when it is enabled.
+ * <p>
+ * ISBNs OpenLibrary does not know, or knows without a publication year, are remembered in a separate negative
+ * cache with its own, shorter expiry, so they are not looked up again for every book referencing them. Negative
+ * caching is disabled when that cache is not configured.
+ */
+@Component
+public class IsbnYearCache {
+    private static final String MEMORY_TIER = "memory";
+    private static final String DISK_TIER = "disk";
+    private final Cache cache;
+    private final Cache unresolvableCache;
+    private final IsbnYearStore isbnYearStore;
+    private final Counter memoryHits;
+    private final Counter memoryMisses;
+    private final Counter diskHits;
+    private final Counter diskMisses;
+    private final Counter avoidedLookups;
+
+    /**
+     * Constructor for IsbnYearCache without a disk tier.
+     *
+     * @param cacheManager  The cache manager holding the ISBN cache.
+     * @param meterRegistry Registry for recording hit/miss counters.
+     */
+    public IsbnYearCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this(cacheManager, meterRegistry, Optional.empty());
+    }
+
+    /**
+     * Constructor for IsbnYearCache.
+     *
+     * @param cacheManager  The cache manager holding the ISBN cache.
+     * @param meterRegistry Registry for recording hit/miss counters.
+     * @param isbnYearStore The persistent disk tier, if enabled.
+     */
+    @Autowired
+    public IsbnYearCache(CacheManager cacheManager, MeterRegistry meterRegistry, Optional<IsbnYearStore> isbnYearStore) {
+        this.cache = cacheManager.getCache(PUBLISH_YEAR_BY_ISBN);
+        this.unresolvableCache = cacheManager.getCache(UNRESOLVABLE_ISBN);
+        this.isbnYearStore = isbnYearStore.orElse(null);
+        this.memoryHits = lookupCounter(meterRegistry, MEMORY_TIER, "hit");
+        this.memoryMisses = lookupCounter(meterRegistry, MEMORY_TIER, "miss");
+        this.diskHits = lookupCounter(meterRegistry, DISK_TIER, "hit");
+        this.diskMisses = lookupCounter(meterRegistry, DISK_TIER, "miss");
+        this.avoidedLookups = Counter.builder("isbnYear.cache.lookups.avoided")
+                .description("OpenLibrary lookups skipped because the ISBN is known to have no publication year")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Looks up the publication year of a single ISBN.
+     *
+     * @param isbn The ISBN to look up.
+     * @return The cached publication year, or null if the ISBN was never resolved.
+     */
+    public Integer get(String isbn) {
+        Integer publicationYear = cache.get(isbn, Integer.class);
+        if (publicationYear != null) {
+            memoryHits.increment();
+            return publicationYear;
+        }
+        memoryMisses.increment();
+        if (isbnYearStore == null) {
+            return null;
+        }
+
+        publicationYear = isbnYearStore.get(isbn);
+        if (publicationYear != null) {
+            diskHits.increment();
+            cache.put(isbn, publicationYear);
+        } else {
+            diskMisses.increment();
+        }
+        return publicationYear;
+    }
+
+    /**
+     * Stores the publication year of a single ISBN in every tier; only valid years are cached.
+     *
+     * @param isbn            The resolved ISBN.
+     * @param publicationYear The publication year of the ISBN.
+     */
+    public void put(String isbn, int publicationYear) {
+        if (publicationYear > 0) {
+            cache.put(isbn, publicationYear);
+            if (isbnYearStore != null) {
+                isbnYearStore.put(isbn, publicationYear);
+            }
+        }
+    }
+
+    /**
+     * Checks whether an ISBN is known to have no resolvable publication year, counting the lookup it avoids.
+     *
+     * @param isbn The ISBN about to be looked up.
+     * @return True if the ISBN should not be looked up again.
+     */
+    public boolean isUnresolvable(String isbn) {
+        if (unresolvableCache == null || unresolvableCache.get(isbn) == null) {
+            return false;
+        }
+        avoidedLookups.increment();
+        return true;
+    }
+
+    /**
+     * Remembers that OpenLibrary does not know an ISBN or has no publication year for it. Transient failures must
+     * not be recorded here, since the ISBN would not be retried until the entry expires.
+     *
+     * @param isbn The unresolvable ISBN.
+     */
+    public void putUnresolvable(String isbn) {
+        if (unresolvableCache != null) {
+            unresolvableCache.put(isbn, Boolean.TRUE);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("isbnYear.cache.lookups")
+                .description("Publication year lookups per ISBN cache tier")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
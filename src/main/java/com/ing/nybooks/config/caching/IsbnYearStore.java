@@ -0,0 +1,239 @@
+package com.ing.nybooks.config.caching;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persistent ISBN to publication year store surviving restarts. Entries are appended as fixed-size records to a
+ * memory-mapped file and indexed in memory; the file is replayed into the index on startup.
+ * <p>
+ * Each record holds the ISBN-13 as a long, the year and a checksum written last, so a record torn by a crash
+ * fails its checksum. When the file is opened again, the replay stops at the first record failing its checksum and
+ * new records are written from there on, over the torn one. Only ISBN-13 values are stored, other ISBNs are left
+ * to the memory tier.
+ */
+public class IsbnYearStore implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(IsbnYearStore.class);
+    private static final int MAGIC = 0x49595331; // "IYS1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 16;
+    private static final int ISBN_13_LENGTH = 13;
+    private final Path path;
+    private final FileChannel channel;
+    private final LongIntIndex index;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MappedByteBuffer buffer;
+    private int position;
+
+    private IsbnYearStore(Path path, FileChannel channel, int initialCapacity) {
+        this.path = path;
+        this.channel = channel;
+        this.index = new LongIntIndex(initialCapacity);
+    }
+
+    /**
+     * Opens the store, creating the file if it does not exist and replaying its records otherwise.
+     *
+     * @param path            The store file.
+     * @param initialCapacity The number of records the file is sized for up front.
+     * @return The opened store.
+     * @throws IOException If the file cannot be opened or is not an ISBN year store.
+     */
+    public static IsbnYearStore open(Path path, int initialCapacity) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        IsbnYearStore store = new IsbnYearStore(path, channel, initialCapacity);
+        try {
+            store.load(initialCapacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Looks up the publication year of an ISBN.
+     *
+     * @param isbn The ISBN to look up.
+     * @return The stored publication year, or null if the ISBN is not stored.
+     */
+    public Integer get(String isbn) {
+        long key = encode(isbn);
+        if (key <= 0) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int publicationYear = index.get(key);
+            return publicationYear > 0 ? publicationYear : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the publication year of an ISBN, unless it is already stored with the same year.
+     *
+     * @param isbn            The ISBN.
+     * @param publicationYear The publication year, only valid years are stored.
+     */
+    public void put(String isbn, int publicationYear) {
+        long key = encode(isbn);
+        if (key <= 0 || publicationYear <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (index.get(key) == publicationYear) {
+                return;
+            }
+            ensureCapacity();
+            buffer.putLong(position, key);
+            buffer.putInt(position + 8, publicationYear);
+            buffer.putInt(position + 12, checksum(key, publicationYear));
+            position += RECORD_BYTES;
+            index.put(key, publicationYear);
+        } catch (IOException e) {
+            logger.warn("[put] Error while growing ISBN year store {}", path, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of ISBNs in the store.
+     *
+     * @return The number of stored ISBNs.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes the mapped records to disk and closes the file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Maps the file, writes the header of a new file and replays the records of an existing one into the index.
+     *
+     * @param initialCapacity The number of records the file is sized for up front.
+     * @throws IOException If the file cannot be mapped or is not an ISBN year store.
+     */
+    private void load(int initialCapacity) throws IOException {
+        long startTime = System.nanoTime();
+        long fileSize = channel.size();
+        map(Math.max(fileSize, HEADER_BYTES + (long) initialCapacity * RECORD_BYTES));
+
+        int magic = buffer.getInt(0);
+        if (magic == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+        } else if (magic != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not an ISBN year store: " + path);
+        }
+
+        position = HEADER_BYTES;
+        while (position + RECORD_BYTES <= buffer.capacity()) {
+            long key = buffer.getLong(position);
+            int publicationYear = buffer.getInt(position + 8);
+            if (key <= 0 || buffer.getInt(position + 12) != checksum(key, publicationYear)) {
+                break;
+            }
+            index.put(key, publicationYear);
+            position += RECORD_BYTES;
+        }
+
+        logger.info("[load] Loaded {} ISBNs from {} in {} ms", index.size(), path, (System.nanoTime() - startTime) / 1000000);
+    }
+
+    /**
+     * Grows the mapping when the next record does not fit in it anymore.
+     *
+     * @throws IOException If the file cannot be grown.
+     */
+    private void ensureCapacity() throws IOException {
+        if (position + RECORD_BYTES > buffer.capacity()) {
+            long newSize = Math.min(Integer.MAX_VALUE, (long) buffer.capacity() * 2);
+            if (position + RECORD_BYTES > newSize) {
+                throw new IOException("ISBN year store is full: " + path);
+            }
+            buffer.force();
+            map(newSize);
+        }
+    }
+
+    /**
+     * Maps the file with the given size, extending the file if it is smaller.
+     *
+     * @param size The size of the mapping in bytes.
+     * @throws IOException If the file cannot be mapped.
+     */
+    private void map(long size) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    /**
+     * Encodes an ISBN-13 as a long.
+     *
+     * @param isbn The ISBN.
+     * @return The encoded ISBN, or -1 if it is not an ISBN-13.
+     */
+    private static long encode(String isbn) {
+        if (isbn == null || isbn.length() != ISBN_13_LENGTH) {
+            return -1;
+        }
+        long key = 0;
+        for (int i = 0; i < ISBN_13_LENGTH; i++) {
+            char digit = isbn.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            key = key * 10 + (digit - '0');
+        }
+        return key;
+    }
+
+    /**
+     * Computes the checksum of a record; it never matches a zeroed record.
+     *
+     * @param key             The encoded ISBN.
+     * @param publicationYear The publication year.
+     * @return The checksum.
+     */
+    private static int checksum(long key, int publicationYear) {
+        long hash = (key ^ ((long) publicationYear << 48)) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) ^ MAGIC;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ing.nybooks.config.caching;
+
+import com.ing.nybooks.config.properties.IsbnStoreProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Configuration class for defining the persistent ISBN year store when the property "isbn-store.enabled" is set
+ * to "true". The store is only a cache tier, so the application starts without it when its file cannot be opened.
+ */
+@Configuration
+@ConditionalOnProperty(name = "isbn-store.enabled", havingValue = "true")
+public class IsbnYearStoreConfig {
+    private static final Logger logger = LoggerFactory.getLogger(IsbnYearStoreConfig.class);
+
+    /**
+     * Opens the persistent ISBN year store, which is flushed and closed with the application context.
+     *
+     * @param isbnStoreProperties The store location and sizing.
+     * @param meterRegistry       Registry for recording the store size.
+     * @return The opened IsbnYearStore, or null if its file cannot be opened, leaving the ISBN years to the memory tier.
+     */
+    @Bean(destroyMethod = "close")
+    public IsbnYearStore isbnYearStore(IsbnStoreProperties isbnStoreProperties, MeterRegistry meterRegistry) {
+        IsbnYearStore isbnYearStore;
+        try {
+            isbnYearStore = IsbnYearStore.open(Paths.get(isbnStoreProperties.getPath()), isbnStoreProperties.getInitialCapacity());
+        } catch (IOException e) {
+            logger.warn("[isbnYearStore] Cannot open the ISBN year store {}, running without it", isbnStoreProperties.getPath(), e);
+            return null;
+        }
+        Gauge.builder("isbnYear.store.entries", isbnYearStore, IsbnYearStore::size)
+                .description("ISBNs persisted in the ISBN year store")
+                .register(meterRegistry);
+        return isbnYearStore;
+    }
+}
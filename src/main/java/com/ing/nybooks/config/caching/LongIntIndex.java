@@ -0,0 +1,96 @@
+package com.ing.nybooks.config.caching;
+
+/**
+ * Open-addressing hash map from positive long keys to int values, avoiding the boxing and per-entry objects of a
+ * HashMap so millions of entries stay compact. Not thread-safe.
+ */
+class LongIntIndex {
+    private static final long EMPTY = 0L;
+    private static final int NO_VALUE = 0;
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Constructor for LongIntIndex.
+     *
+     * @param expectedSize The number of entries the index holds without resizing.
+     */
+    LongIntIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Looks up the value of a key.
+     *
+     * @param key The key, greater than zero.
+     * @return The value, or 0 if the key is absent.
+     */
+    int get(long key) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Stores the value of a key, replacing any previous value.
+     *
+     * @param key   The key, greater than zero.
+     * @param value The value.
+     */
+    void put(long key, int value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    /**
+     * Returns the number of keys in the index.
+     *
+     * @return The number of keys.
+     */
+    int size() {
+        return size;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,134 @@
+package com.ing.nybooks.config.caching;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caffeine loader refreshing hot entries in the background before they expire, while readers keep getting the
+ * previous value. Misses are not loaded here: they are left to the caller, so only refreshes go through the
+ * registered {@link CacheRefreshLoader}.
+ */
+public class RefreshAheadCacheLoader implements CacheLoader<Object, Object> {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshAheadCacheLoader.class);
+    private final String cacheName;
+    private final ObjectProvider<CacheRefreshLoader> refreshLoaders;
+    private final Executor refreshExecutor;
+    private final Semaphore refreshPermits;
+    private final Timer refreshTimer;
+    private final Counter refreshFailures;
+    private final Counter refreshesSkipped;
+
+    /**
+     * Constructor for RefreshAheadCacheLoader.
+     *
+     * @param cacheName              The name of the refreshed cache.
+     * @param refreshLoaders         The loaders, resolved lazily as they depend on the cache manager themselves.
+     * @param refreshExecutor        Executor running the refreshes.
+     * @param maxConcurrentRefreshes Maximum number of refreshes of this cache running at the same time.
+     * @param meterRegistry          Registry for recording refresh metrics.
+     */
+    public RefreshAheadCacheLoader(String cacheName, ObjectProvider<CacheRefreshLoader> refreshLoaders,
+                                   Executor refreshExecutor, int maxConcurrentRefreshes, MeterRegistry meterRegistry) {
+        this.cacheName = cacheName;
+        this.refreshLoaders = refreshLoaders;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshPermits = new Semaphore(Math.max(1, maxConcurrentRefreshes));
+        this.refreshTimer = Timer.builder("cache.refresh.duration")
+                .description("Duration of background cache refreshes")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("cache.refresh.failures")
+                .description("Background cache refreshes that failed and kept the previous value")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.refreshesSkipped = Counter.builder("cache.refresh.skipped")
+                .description("Background cache refreshes skipped because too many were running")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Misses are loaded by the caller: {@link RefreshAheadCaffeineCache} looks entries up without loading them,
+     * so this is only reached by direct {@code get} calls on the native cache, which report the key as absent.
+     *
+     * @param key The missing key.
+     * @return Always null.
+     */
+    @Override
+    public Object load(Object key) {
+        return null;
+    }
+
+    /**
+     * Rebuilds an entry in the background. When the refresh is skipped or fails, the returned future is cancelled
+     * so the cache keeps serving the previous value until it expires.
+     *
+     * @param key      The key of the entry.
+     * @param oldValue The value currently cached.
+     * @param executor The cache's executor, unused as refreshes run on the dedicated refresh executor.
+     * @return A future completing with the fresh value.
+     */
+    @Override
+    public CompletableFuture<Object> asyncReload(Object key, Object oldValue, Executor executor) {
+        CompletableFuture<Object> refreshed = new CompletableFuture<>();
+        CacheRefreshLoader refreshLoader = findRefreshLoader();
+        if (refreshLoader == null || !refreshPermits.tryAcquire()) {
+            refreshesSkipped.increment();
+            refreshed.cancel(false);
+            return refreshed;
+        }
+
+        try {
+            refreshExecutor.execute(() -> refresh(refreshLoader, key, refreshed));
+        } catch (RuntimeException e) {
+            refreshPermits.release();
+            refreshesSkipped.increment();
+            refreshed.cancel(false);
+        }
+        return refreshed;
+    }
+
+    /**
+     * Runs a refresh and completes its future.
+     *
+     * @param refreshLoader The loader rebuilding the entry.
+     * @param key           The key of the entry.
+     * @param refreshed     The future to complete with the fresh value.
+     */
+    private void refresh(CacheRefreshLoader refreshLoader, Object key, CompletableFuture<Object> refreshed) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Object value = refreshLoader.reload(key);
+            logger.debug("[refresh] Refreshed entry {} of cache {}", key, cacheName);
+            refreshed.complete(value);
+        } catch (Exception e) {
+            logger.warn("[refresh] Error while refreshing entry {} of cache {}", key, cacheName, e);
+            refreshFailures.increment();
+            refreshed.cancel(false);
+        } finally {
+            sample.stop(refreshTimer);
+            refreshPermits.release();
+        }
+    }
+
+    /**
+     * Finds the loader registered for this cache.
+     *
+     * @return The loader, or null if none is registered.
+     */
+    private CacheRefreshLoader findRefreshLoader() {
+        return refreshLoaders.orderedStream()
+                .filter(refreshLoader -> cacheName.equals(refreshLoader.getCacheName()))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ing.nybooks.config.caching;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * CaffeineCache over a refresh-ahead cache. Spring looks entries up through {@link LoadingCache#get(Object)},
+ * which runs the loader on every miss; the {@link RefreshAheadCacheLoader} does not load misses, so each of
+ * them would be recorded as a load failure. Lookups read the present value instead, which still triggers the
+ * refresh of stale entries, so only refreshes go through the loader and misses are recorded as misses.
+ */
+public class RefreshAheadCaffeineCache extends CaffeineCache {
+
+    /**
+     * Constructor for RefreshAheadCaffeineCache.
+     *
+     * @param name  The name of the cache.
+     * @param cache The refresh-ahead Caffeine cache.
+     */
+    public RefreshAheadCaffeineCache(String name, LoadingCache<Object, Object> cache) {
+        super(name, cache);
+    }
+
+    /**
+     * Returns the cached value without loading it on a miss.
+     *
+     * @param key The key to look up.
+     * @return The cached value, or null if the key is not cached.
+     */
+    @Override
+    protected Object lookup(Object key) {
+        return getNativeCache().getIfPresent(key);
+    }
+}
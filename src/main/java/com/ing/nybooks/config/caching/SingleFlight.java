@@ -0,0 +1,237 @@
+package com.ing.nybooks.config.caching;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load, callers arriving while it is in
+ * flight wait for and share its result instead of loading the key again. Results are not retained once the load
+ * completes; caching them is left to the caller.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the loaded values.
+ */
+public class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedWaiters;
+
+    /**
+     * Constructor for SingleFlight.
+     *
+     * @param name          Name tagging the metrics of this instance.
+     * @param meterRegistry Registry for recording the coalesced waiters.
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.coalescedWaiters = Counter.builder("singleFlight.coalesced.waiters")
+                .description("Callers that shared an in-flight load instead of starting their own")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads a key, or waits for the load already in flight for it.
+     *
+     * @param key    The key to load.
+     * @param loader The load to run if no load of the key is in flight.
+     * @return The loaded value.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedWaiters.increment();
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            land(key, flight, value, null);
+            return value;
+        } catch (RuntimeException | Error e) {
+            land(key, flight, null, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Loads a key without blocking, or joins the load already in flight for it. The load is subscribed to
+     * independently of the returned Mono, so a cancelled caller does not cancel the load shared with others.
+     *
+     * @param key    The key to load.
+     * @param loader The load to run if no load of the key is in flight.
+     * @return A Mono emitting the loaded value, or completing empty if the load completed empty.
+     */
+    public Mono<V> executeAsync(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                coalescedWaiters.increment();
+                return join(existing);
+            }
+
+            try {
+                loader.get().toFuture().whenComplete((value, error) -> land(key, flight, value, error));
+            } catch (RuntimeException e) {
+                land(key, flight, null, e);
+            }
+            return join(flight);
+        });
+    }
+
+    /**
+     * Loads several keys at once. Keys already in flight are waited for, the remaining keys are loaded together
+     * with a single call of the loader.
+     *
+     * @param keys   The keys to load.
+     * @param loader The load of the keys that are not in flight; keys missing from its result load as null.
+     * @return The non-null value of every key.
+     */
+    public Map<K, V> executeAll(List<K> keys, Function<List<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> led = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> flights = claim(keys, led);
+
+        if (!led.isEmpty()) {
+            try {
+                Map<K, V> values = loader.apply(new ArrayList<>(led.keySet()));
+                led.forEach((key, flight) -> land(key, flight, values != null ? values.get(key) : null, null));
+            } catch (RuntimeException | Error e) {
+                led.forEach((key, flight) -> land(key, flight, null, e));
+                throw e;
+            }
+        }
+
+        Map<K, V> values = new HashMap<>();
+        flights.forEach((key, flight) -> {
+            V value = await(flight);
+            if (value != null) {
+                values.put(key, value);
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Loads several keys at once without blocking. Keys already in flight are joined, the remaining keys are
+     * loaded together with a single subscription to the loader.
+     *
+     * @param keys   The keys to load.
+     * @param loader The load of the keys that are not in flight; keys missing from its result load as null.
+     * @return A Mono emitting the non-null value of every key.
+     */
+    public Mono<Map<K, V>> executeAllAsync(List<K> keys, Function<List<K>, Mono<Map<K, V>>> loader) {
+        return Mono.defer(() -> {
+            Map<K, CompletableFuture<V>> led = new LinkedHashMap<>();
+            Map<K, CompletableFuture<V>> flights = claim(keys, led);
+
+            if (!led.isEmpty()) {
+                try {
+                    loader.apply(new ArrayList<>(led.keySet())).toFuture().whenComplete((values, error) ->
+                            led.forEach((key, flight) -> land(key, flight, values != null ? values.get(key) : null, error)));
+                } catch (RuntimeException e) {
+                    led.forEach((key, flight) -> land(key, flight, null, e));
+                }
+            }
+
+            // Waiting on a copy keeps a cancelled caller from cancelling flights shared with others
+            return Mono.fromFuture(CompletableFuture.allOf(flights.values().toArray(new CompletableFuture<?>[0]))
+                            .thenApply(done -> {
+                                Map<K, V> values = new HashMap<>();
+                                flights.forEach((key, flight) -> {
+                                    V value = flight.join();
+                                    if (value != null) {
+                                        values.put(key, value);
+                                    }
+                                });
+                                return values;
+                            }));
+        });
+    }
+
+    /**
+     * Registers a flight for every key not in flight yet.
+     *
+     * @param keys The keys to load.
+     * @param led  Receives the flights registered by this caller, which it has to land.
+     * @return The flight of every key, in key order.
+     */
+    private Map<K, CompletableFuture<V>> claim(List<K> keys, Map<K, CompletableFuture<V>> led) {
+        Map<K, CompletableFuture<V>> flights = new LinkedHashMap<>();
+        for (K key : keys) {
+            if (flights.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                coalescedWaiters.increment();
+                flights.put(key, existing);
+            } else {
+                led.put(key, flight);
+                flights.put(key, flight);
+            }
+        }
+        return flights;
+    }
+
+    /**
+     * Completes a flight. It is removed first, so callers arriving afterwards start a new load.
+     *
+     * @param key    The loaded key.
+     * @param flight The flight of the key.
+     * @param value  The loaded value.
+     * @param error  The load failure, or null if the load succeeded.
+     */
+    private void land(K key, CompletableFuture<V> flight, V value, Throwable error) {
+        inFlight.remove(key, flight);
+        if (error != null) {
+            flight.completeExceptionally(error);
+        } else {
+            flight.complete(value);
+        }
+    }
+
+    /**
+     * Waits for a flight, rethrowing its failure as it was thrown by the load.
+     *
+     * @param flight The flight to wait for.
+     * @return The loaded value.
+     */
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Joins a flight without blocking.
+     *
+     * @param flight The flight to join.
+     * @return A Mono emitting the loaded value.
+     */
+    private Mono<V> join(CompletableFuture<V> flight) {
+        // Waiting on a copy keeps a cancelled caller from cancelling the flight shared with others
+        return Mono.fromFuture(flight.whenComplete((value, error) -> { }));
+    }
+}
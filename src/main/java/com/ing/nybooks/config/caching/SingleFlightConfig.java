@@ -0,0 +1,40 @@
+package com.ing.nybooks.config.caching;
+
+import com.ing.nybooks.model.dto.BookDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+import static com.ing.nybooks.model.Const.GET_BOOKS_BY_AUTHOR;
+import static com.ing.nybooks.model.Const.PUBLISH_YEAR_BY_ISBN;
+
+/**
+ * Configuration class for defining the SingleFlight instances coalescing concurrent cache misses.
+ */
+@Configuration
+public class SingleFlightConfig {
+
+    /**
+     * Creates the SingleFlight coalescing concurrent searches of the same author.
+     *
+     * @param meterRegistry Registry for recording coalesced waiters.
+     * @return The SingleFlight keyed by author.
+     */
+    @Bean
+    public SingleFlight<String, Set<BookDto>> booksByAuthorSingleFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight<>(GET_BOOKS_BY_AUTHOR, meterRegistry);
+    }
+
+    /**
+     * Creates the SingleFlight coalescing concurrent OpenLibrary lookups of the same ISBN.
+     *
+     * @param meterRegistry Registry for recording coalesced waiters.
+     * @return The SingleFlight keyed by ISBN.
+     */
+    @Bean
+    public SingleFlight<String, Integer> publishYearSingleFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight<>(PUBLISH_YEAR_BY_ISBN, meterRegistry);
+    }
+}
@@ -1,5 +1,8 @@
 package com.ing.nybooks.config.exception;
 
+import com.ing.nybooks.config.resilience.UpstreamQuotaExceededException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -14,6 +17,8 @@ import org.springframework.web.client.RestClientException;
 
 import javax.validation.UnexpectedTypeException;
 
+import static com.ing.nybooks.model.Const.UPSTREAM_UNAVAILABLE;
+
 @ConditionalOnProperty(name = "exception-handling-strategy", havingValue = "detailed", matchIfMissing = true)
 public class DetailedExceptionHandlingStrategy implements ExceptionHandlingStrategy {
     private static final Logger logger = LoggerFactory.getLogger(DetailedExceptionHandlingStrategy.class);
@@ -34,6 +39,14 @@ public class DetailedExceptionHandlingStrategy implements ExceptionHandlingStrat
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class, UpstreamQuotaExceededException.class})
+    public ResponseEntity<ErrorResponse> handleUpstreamUnavailable(RuntimeException ex) {
+        logger.error(UPSTREAM_UNAVAILABLE, ex);
+
+        ErrorResponse errorResponse = new ErrorResponse(UPSTREAM_UNAVAILABLE, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     @ExceptionHandler(RestClientException.class)
     public ResponseEntity<ErrorResponse> handleRestClientException(RestClientException ex) {
         logger.error("Error while making REST request", ex);
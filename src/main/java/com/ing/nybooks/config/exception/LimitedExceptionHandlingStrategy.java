@@ -1,5 +1,8 @@
 package com.ing.nybooks.config.exception;
 
+import com.ing.nybooks.config.resilience.UpstreamQuotaExceededException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -15,6 +18,8 @@ import org.springframework.web.client.RestClientException;
 
 import javax.validation.UnexpectedTypeException;
 
+import static com.ing.nybooks.model.Const.UPSTREAM_UNAVAILABLE;
+
 /**
  * Exception handling strategy that provides specific error responses based on exception types.
  */
@@ -38,6 +43,14 @@ public class LimitedExceptionHandlingStrategy implements ExceptionHandlingStrate
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class, UpstreamQuotaExceededException.class})
+    public ResponseEntity<ErrorResponse> handleUpstreamUnavailable(RuntimeException ex) {
+        logger.error(UPSTREAM_UNAVAILABLE, ex);
+
+        ErrorResponse errorResponse = new ErrorResponse(UPSTREAM_UNAVAILABLE, null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     @ExceptionHandler(RestClientException.class)
     public ResponseEntity<ErrorResponse> handleRestClientException(RestClientException ex) {
         logger.error("Error while making REST request", ex);
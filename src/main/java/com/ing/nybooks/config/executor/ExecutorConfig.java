@@ -0,0 +1,125 @@
+package com.ing.nybooks.config.executor;
+
+import com.ing.nybooks.config.properties.ExecutorProperties;
+import com.ing.nybooks.config.properties.HedgingProperties;
+import com.ing.nybooks.config.resilience.RequestHedger;
+import com.ing.nybooks.config.resilience.RequestPriority;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration class for defining the bounded executors used to fan out upstream calls. In the virtual-thread mode
+ * every task gets its own virtual thread instead.
+ */
+@Configuration
+public class ExecutorConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorConfig.class);
+    private final ExecutorProperties executorProperties;
+    private final boolean virtualThreads;
+
+    // Constructor-based dependency injection for ExecutorProperties
+    public ExecutorConfig(ExecutorProperties executorProperties) {
+        this.executorProperties = executorProperties;
+        this.virtualThreads = executorProperties.isVirtualThreads() && VirtualThreads.isSupported();
+        if (executorProperties.isVirtualThreads() && !virtualThreads) {
+            logger.warn("[ExecutorConfig] Virtual threads need Java 21, running on Java {}; keeping the platform thread pools",
+                    Runtime.version().feature());
+        }
+    }
+
+    /**
+     * Creates the executor fetching NYT history pages concurrently.
+     *
+     * @param meterRegistry Registry for recording fan-out metrics.
+     * @return The configured FanOutExecutor.
+     */
+    @Bean
+    public FanOutExecutor nytPageFanOutExecutor(MeterRegistry meterRegistry) {
+        ExecutorProperties.Pool pool = executorProperties.getNytPages();
+        return new FanOutExecutor("nytPages", buildExecutor("nyt-page-", pool), pool.getParallelism(), meterRegistry);
+    }
+
+    /**
+     * Creates the executor fetching the NYT history pages of a batch of authors concurrently. Its parallelism
+     * bounds the pages in flight for a whole batch, however many authors it holds.
+     *
+     * @param meterRegistry Registry for recording fan-out metrics.
+     * @return The configured FanOutExecutor.
+     */
+    @Bean
+    public FanOutExecutor nytBatchFanOutExecutor(MeterRegistry meterRegistry) {
+        ExecutorProperties.Pool pool = executorProperties.getNytBatch();
+        return new FanOutExecutor("nytBatch", buildExecutor("nyt-batch-", pool), pool.getParallelism(), meterRegistry);
+    }
+
+    /**
+     * Creates the executor resolving publication years against OpenLibrary concurrently.
+     *
+     * @param meterRegistry Registry for recording fan-out metrics.
+     * @return The configured FanOutExecutor.
+     */
+    @Bean
+    public FanOutExecutor openLibraryFanOutExecutor(MeterRegistry meterRegistry) {
+        ExecutorProperties.Pool pool = executorProperties.getOpenLibrary();
+        return new FanOutExecutor("openLibrary", buildExecutor("open-library-", pool), pool.getParallelism(), meterRegistry);
+    }
+
+    /**
+     * Creates the hedger of the OpenLibrary ISBN lookups. Its pool runs the lookups and their hedges, so the
+     * caller can take whichever finishes first.
+     *
+     * @param hedgingProperties The hedging delay and budget.
+     * @param meterRegistry     Registry for recording the hedges sent and won.
+     * @return The configured RequestHedger.
+     */
+    @Bean
+    public RequestHedger openLibraryRequestHedger(HedgingProperties hedgingProperties, MeterRegistry meterRegistry) {
+        return new RequestHedger("openLibrary", hedgingProperties,
+                buildExecutor("open-library-hedge-", executorProperties.getOpenLibraryHedge()), meterRegistry);
+    }
+
+    /**
+     * Builds the executor of a fan-out: a new virtual thread per task in the virtual-thread mode, the bounded pool
+     * otherwise. Tasks run with the request priority of the thread submitting them.
+     *
+     * @param threadNamePrefix Prefix of the executor's thread names.
+     * @param pool             The pool sizing, unused by virtual threads.
+     * @return The executor.
+     */
+    private Executor buildExecutor(String threadNamePrefix, ExecutorProperties.Pool pool) {
+        if (!virtualThreads) {
+            return buildTaskExecutor(threadNamePrefix, pool);
+        }
+        SimpleAsyncTaskExecutor executor = VirtualThreads.taskExecutor(threadNamePrefix);
+        executor.setTaskDecorator(RequestPriority::propagate);
+        return executor;
+    }
+
+    /**
+     * Builds a bounded pool; when the pool and its queue are full the caller runs the task itself. Tasks run with
+     * the request priority of the thread submitting them.
+     *
+     * @param threadNamePrefix Prefix of the pool's thread names.
+     * @param pool             The pool sizing.
+     * @return The initialized ThreadPoolTaskExecutor.
+     */
+    private ThreadPoolTaskExecutor buildTaskExecutor(String threadNamePrefix, ExecutorProperties.Pool pool) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(pool.getMaxSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(RequestPriority::propagate);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ing.nybooks.config.executor;
+
+import com.ing.nybooks.config.properties.ExecutorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the virtual-thread mode, enabled with {@code executors.virtual-threads}. Tomcat serves
+ * every request on its own virtual thread, so a request waiting for upstream calls no longer holds one of a few
+ * hundred platform threads. Nothing is changed when the runtime does not support virtual threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "executors.virtual-threads", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Hands the request processing of Tomcat to virtual threads. The number of requests served concurrently is then
+     * bounded by {@code server.tomcat.max-connections} rather than {@code server.tomcat.threads.max}.
+     *
+     * @return The protocol handler customizer.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (VirtualThreads.isSupported()) {
+                protocolHandler.setExecutor(VirtualThreads.taskExecutor("http-virtual-"));
+            }
+        };
+    }
+
+    /**
+     * Creates the monitor reporting the virtual threads pinned to their carrier thread.
+     *
+     * @param executorProperties The pinning threshold.
+     * @param meterRegistry      Registry for recording the pinned time.
+     * @return The monitor.
+     */
+    @Bean(destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(ExecutorProperties executorProperties, MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(executorProperties.getPinnedThresholdMillis()), meterRegistry);
+    }
+}
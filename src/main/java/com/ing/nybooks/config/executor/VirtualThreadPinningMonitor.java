@@ -0,0 +1,87 @@
+package com.ing.nybooks.config.executor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reports the virtual threads pinned to their carrier thread for longer than a threshold, typically by blocking
+ * inside a {@code synchronized} section. A pinned virtual thread holds its carrier while it waits, so pinning in
+ * the upstream calls brings the concurrency of the virtual-thread mode back down to the number of carriers.
+ * Listens to the {@code jdk.VirtualThreadPinned} events of the running JVM through a JFR stream; does nothing on
+ * runtimes without virtual threads.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.ing.nybooks.";
+    private final Timer pinned;
+    private final RecordingStream stream;
+
+    /**
+     * Constructor for VirtualThreadPinningMonitor, starting to listen right away if the runtime supports virtual
+     * threads.
+     *
+     * @param threshold     Minimum time a virtual thread must stay pinned to be reported.
+     * @param meterRegistry Registry for recording the pinned time.
+     */
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.pinned = Timer.builder("virtualThreads.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(meterRegistry);
+        if (!VirtualThreads.isSupported()) {
+            this.stream = null;
+            return;
+        }
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        logger.info("[VirtualThreadPinningMonitor] Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    /**
+     * Records a pinned virtual thread.
+     *
+     * @param event The pinning event.
+     */
+    private void record(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        logger.warn("[record] Virtual thread {} pinned for {} ms at {}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(), pinningFrame(event.getStackTrace()));
+    }
+
+    /**
+     * Returns the innermost application frame of the pinned stack, or its top frame if it has none.
+     *
+     * @param stackTrace The stack of the pinned thread.
+     * @return The frame, formatted as class, method and line.
+     */
+    private static String pinningFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown location";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        RecordedFrame frame = frames.stream()
+                .filter(candidate -> candidate.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.get(0));
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
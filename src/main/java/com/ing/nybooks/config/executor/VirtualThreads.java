@@ -0,0 +1,81 @@
+package com.ing.nybooks.config.executor;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads when the runtime supports them. The project is compiled for Java 17, so the virtual
+ * thread builder of Java 21 is looked up reflectively; on older runtimes {@link #isSupported()} is false and the
+ * callers keep their platform threads.
+ */
+public final class VirtualThreads {
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle FACTORY;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(Class.forName("java.lang.Thread$Builder$OfVirtual")));
+            name = lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class, long.class));
+            factory = lookup.findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class));
+            // Fails on the runtimes where virtual threads are still a preview feature
+            ofVirtual.invoke();
+        } catch (Throwable e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether the runtime can create virtual threads.
+     *
+     * @return True on Java 21 and later.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a factory of virtual threads named after a prefix and a counter.
+     *
+     * @param threadNamePrefix Prefix of the thread names.
+     * @return The thread factory.
+     * @throws IllegalStateException If the runtime does not support virtual threads.
+     */
+    public static ThreadFactory threadFactory(String threadNamePrefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on Java " + Runtime.version().feature());
+        }
+        try {
+            return (ThreadFactory) FACTORY.invoke(NAME.invoke(OF_VIRTUAL.invoke(), threadNamePrefix, 0L));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create a virtual thread factory", e);
+        }
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread for every task. Virtual threads are cheap to create and
+     * must not be pooled, so the executor has no pool or queue to size.
+     *
+     * @param threadNamePrefix Prefix of the thread names.
+     * @return The executor.
+     * @throws IllegalStateException If the runtime does not support virtual threads.
+     */
+    public static SimpleAsyncTaskExecutor taskExecutor(String threadNamePrefix) {
+        return new SimpleAsyncTaskExecutor(threadFactory(threadNamePrefix));
+    }
+}
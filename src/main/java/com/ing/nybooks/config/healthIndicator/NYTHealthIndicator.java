@@ -1,30 +1,53 @@
 package com.ing.nybooks.config.healthIndicator;
 
 import com.ing.nybooks.config.properties.NYTProperties;
+import com.ing.nybooks.config.properties.NYTRateLimitProperties;
+import com.ing.nybooks.config.resilience.PriorityRateLimiter;
+import com.ing.nybooks.config.resilience.RequestPriority;
 import com.ing.nybooks.config.restClient.RestClient;
-import com.ing.nybooks.model.external.NYTApiResponse;
-import lombok.AllArgsConstructor;
+import com.ing.nybooks.model.external.NYTHistoryPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import static com.ing.nybooks.model.Const.*;
 
 /**
- * Custom health indicator for checking the availability of the NYTimes API.
+ * Custom health indicator for checking the availability of the NYTimes API. Its test request counts against the
+ * NYTimes quotas like any other call, so it is only sent when a background permit is available right away: the
+ * check never waits in the rate limiter's queue, and reports an unknown status instead of probing when the quotas
+ * are spent or the searches need the permits.
  */
-@AllArgsConstructor
 @Component
 public class NYTHealthIndicator implements HealthIndicator {
 
     private final NYTProperties nytProperties;
     private final RestClient restClient;
+    private final PriorityRateLimiter rateLimiter;
+    private final NYTRateLimitProperties rateLimitProperties;
     private static final Logger logger = LoggerFactory.getLogger(NYTHealthIndicator.class);
 
+    /**
+     * Constructor for NYTHealthIndicator.
+     *
+     * @param nytProperties       The NYTimes API properties.
+     * @param restClient          The RestClient calling the NYTimes API without waiting for a permit.
+     * @param rateLimiter         The rate limiter of the NYTimes API calls.
+     * @param rateLimitProperties Whether the calls are rate limited.
+     */
+    public NYTHealthIndicator(NYTProperties nytProperties, @Qualifier("nytResilientRestClient") RestClient restClient,
+                              PriorityRateLimiter rateLimiter, NYTRateLimitProperties rateLimitProperties) {
+        this.nytProperties = nytProperties;
+        this.restClient = restClient;
+        this.rateLimiter = rateLimiter;
+        this.rateLimitProperties = rateLimitProperties;
+    }
+
     /**
      * Checks the availability of the NYTimes API.
      *
@@ -32,6 +55,12 @@ public class NYTHealthIndicator implements HealthIndicator {
      */
     @Override
     public Health health() {
+        if (rateLimitProperties.isEnabled() && !rateLimiter.tryAcquire(RequestPriority.BACKGROUND)) {
+            logger.info("No NYTimes permit available for the health check");
+
+            return Health.unknown().withDetail("message", "No NYTimes permit available, the API was not probed").build();
+        }
+
         // Check if the NYTimes API is available
         boolean isApiAvailable = checkNYTApiAvailability();
         if (isApiAvailable) {
@@ -46,22 +75,30 @@ public class NYTHealthIndicator implements HealthIndicator {
     }
 
     /**
-     * Checks if the NYTimes API is available by making a test request.
+     * Checks if the NYTimes API is available by making a test request. A throttled request shows the API is
+     * reachable; it lowers the rate of the limiter like any throttled call.
      *
      * @return True if the API is available, false otherwise.
      */
     private boolean checkNYTApiAvailability() {
         try {
-            String apiUri = buildApiUri();
-            NYTApiResponse nytApiResponse = restClient.getForObject(apiUri, NYTApiResponse.class);
-            return nytApiResponse != null;
-        } catch (RestClientException e) {
+            NYTHistoryPage historyPage = restClient.getForObject(buildApiUri(), NYTHistoryPage.class);
+            if (rateLimitProperties.isEnabled()) {
+                rateLimiter.onSuccess();
+            }
+            return historyPage != null;
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            logger.warn("NYTimes API throttled the health check");
+            if (rateLimitProperties.isEnabled()) {
+                rateLimiter.onThrottled();
+            }
+            return true;
+        } catch (RuntimeException e) {
             logger.error("Error while checking NYTimes API availability", e);
 
             return false;
         }
     }
-
     /**
      * Builds the URI for testing NYTimes API request.
      *
@@ -71,6 +108,7 @@ public class NYTHealthIndicator implements HealthIndicator {
         return UriComponentsBuilder.newInstance()
                 .scheme(nytProperties.getScheme())
                 .host(nytProperties.getHost())
+                .port(nytProperties.getPort() > 0 ? nytProperties.getPort() : -1)
                 .path(nytProperties.getPath())
                 .queryParam(AUTHOR, "James Carville")
                 .queryParam(API_KEY, nytProperties.getKey())
@@ -2,7 +2,7 @@ package com.ing.nybooks.config.healthIndicator;
 
 import com.ing.nybooks.config.properties.OpenLibraryProperties;
 import com.ing.nybooks.config.restClient.RestClient;
-import com.ing.nybooks.model.external.OpenLibraryApiResponse;
+import com.ing.nybooks.model.external.OpenLibraryPublishDate;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,7 +52,7 @@ public class OpenLibraryHealthIndicator implements HealthIndicator {
             // Build the API request URI
             String uri = buildApiUri();
             // Make a request to the OpenLibrary API
-            OpenLibraryApiResponse response = restClient.getForObject(uri, OpenLibraryApiResponse.class);
+            OpenLibraryPublishDate response = restClient.getForObject(uri, OpenLibraryPublishDate.class);
             // If the response is not null, the API is available
             return response != null;
         } catch (Exception e) {
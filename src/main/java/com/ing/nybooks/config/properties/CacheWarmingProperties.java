@@ -0,0 +1,62 @@
+package com.ing.nybooks.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for warming the caches of the most searched authors in the background.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "cache-warming")
+public class CacheWarmingProperties {
+
+    /**
+     * Whether the most searched authors are warmed periodically.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The delay between two warming runs.
+     */
+    private int intervalSeconds = 60;
+
+    /**
+     * The number of most searched authors considered by a run.
+     */
+    private int topAuthors = 20;
+
+    /**
+     * Authors whose cached books expire within this window are warmed again.
+     */
+    private int warmAheadSeconds = 60;
+
+    /**
+     * The maximum number of OpenLibrary calls a single run may spend. The NYTimes calls of a run are bounded by the
+     * background share of the NYTimes per-minute quota over the run interval.
+     */
+    private int maxOpenLibraryCallsPerRun = 100;
+
+    /**
+     * The percentage of the NYTimes daily quota the runs of a UTC day may spend together.
+     */
+    private int nytDailyQuotaPercent = 10;
+
+    /**
+     * A run is skipped when more upstream calls than this were made by searches since the previous run.
+     */
+    private int lowLoadMaxUpstreamCalls = 50;
+
+    /**
+     * The factor the popularity of every author is multiplied with after each run.
+     */
+    private double decayFactor = 0.5;
+
+    /**
+     * The maximum number of authors whose popularity is tracked.
+     */
+    private int maxTrackedAuthors = 10000;
+}
@@ -0,0 +1,75 @@
+package com.ing.nybooks.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the thread pools used to fan out upstream calls.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "executors")
+public class ExecutorProperties {
+
+    /**
+     * Whether requests and their upstream calls run on virtual threads instead of the bounded pools. Needs a Java 21
+     * runtime; on older runtimes the pools are kept. The parallelism of each pool still bounds a single fan-out.
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * Minimum time in milliseconds a virtual thread must stay pinned to its carrier thread to be reported.
+     */
+    private long pinnedThresholdMillis = 20;
+
+    /**
+     * Pool used to fetch the pages of a NYT history search concurrently.
+     */
+    private Pool nytPages = new Pool();
+
+    /**
+     * Pool used to fetch the pages of the NYT history searches of a batch of authors concurrently.
+     */
+    private Pool nytBatch = new Pool();
+
+    /**
+     * Pool used to resolve the publication years of a page concurrently.
+     */
+    private Pool openLibrary = new Pool();
+
+    /**
+     * Pool running the OpenLibrary lookups raced against their hedges.
+     */
+    private Pool openLibraryHedge = new Pool();
+
+    /**
+     * Inner class to represent the sizing of a single bounded pool.
+     */
+    @Getter
+    @Setter
+    public static class Pool {
+
+        /**
+         * Number of threads kept alive in the pool.
+         */
+        private int coreSize = 4;
+
+        /**
+         * Maximum number of threads in the pool.
+         */
+        private int maxSize = 8;
+
+        /**
+         * Number of tasks that may wait for a thread before the caller runs the task itself.
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * Maximum number of tasks a single request runs concurrently on the pool.
+         */
+        private int parallelism = 4;
+    }
+}
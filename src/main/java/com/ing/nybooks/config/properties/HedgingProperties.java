@@ -0,0 +1,42 @@
+package com.ing.nybooks.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for hedging the OpenLibrary ISBN lookups stuck in the latency tail.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "openlibrary.hedging")
+public class HedgingProperties {
+
+    /**
+     * Whether slow lookups are hedged with a duplicate request.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The percentile of the recent latencies after which a lookup still running is hedged.
+     */
+    private double percentile = 95;
+
+    /**
+     * The maximum extra traffic caused by hedges, as a percentage of the lookups.
+     */
+    private double budgetPercent = 5;
+
+    /**
+     * The minimum delay before a lookup is hedged, however fast the recent lookups were.
+     */
+    private int minDelayMillis = 50;
+
+    /**
+     * The number of recent latencies the percentile is computed over; lookups are not hedged before a tenth of
+     * them is recorded.
+     */
+    private int latencyWindow = 200;
+}
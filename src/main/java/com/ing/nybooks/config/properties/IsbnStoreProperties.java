@@ -0,0 +1,31 @@
+package com.ing.nybooks.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the persistent ISBN to publication year store.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "isbn-store")
+public class IsbnStoreProperties {
+
+    /**
+     * Whether resolved publication years are persisted and reloaded on startup.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The file holding the persisted publication years.
+     */
+    private String path = "data/isbn-years.db";
+
+    /**
+     * The number of ISBNs the store is sized for up front; it grows beyond as needed.
+     */
+    private int initialCapacity = 1 << 20;
+}
@@ -22,6 +22,10 @@ public class NYTProperties {
      * The base Host of the New York Times (NYT) API.
      */
     private String host;
+    /**
+     * The port of the New York Times (NYT) API, 0 for the default port of the scheme.
+     */
+    private int port;
     /**
      * The base Path of the New York Times (NYT) API.
      */
@@ -0,0 +1,49 @@
+package com.ing.nybooks.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the client-side rate limiter keeping the calls to the New York Times (NYT) API
+ * within its quotas.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "nytimes.rate-limit")
+public class NYTRateLimitProperties {
+
+    /**
+     * Whether the calls to the NYTimes API are rate limited.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The number of calls per minute allowed by the NYTimes API quota.
+     */
+    private int requestsPerMinute = 5;
+
+    /**
+     * The number of calls that may be made back to back after the limiter was idle.
+     */
+    private int burst = 5;
+
+    /**
+     * The number of calls per day allowed by the NYTimes API quota; calls beyond it are rejected until the next
+     * UTC day.
+     */
+    private int requestsPerDay = 500;
+
+    /**
+     * The percentage of the daily quota and of the burst only interactive searches may use; background work such
+     * as refresh-ahead, cache warming and health checks is rejected or waits rather than spend it.
+     */
+    private int interactiveReservePercent = 20;
+
+    /**
+     * The maximum time a call waits in the queue for a permit before it is rejected.
+     */
+    private int maxWaitSeconds = 60;
+}
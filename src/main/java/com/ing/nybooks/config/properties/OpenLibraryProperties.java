@@ -18,4 +18,19 @@ public class OpenLibraryProperties {
      * The base URL of the Open Library API.
      */
     private String url;
+
+    /**
+     * The URL of the Open Library Books API resolving several bibkeys in one call.
+     */
+    private String bulkUrl;
+
+    /**
+     * The maximum number of ISBNs resolved per Open Library Books API call.
+     */
+    private int batchSize = 50;
+
+    /**
+     * The maximum number of OpenLibrary calls in flight across all requests.
+     */
+    private int maxInFlight = 16;
 }
@@ -0,0 +1,56 @@
+package com.ing.nybooks.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the pooled HTTP client used when "rest.client" is set to "pooled".
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "rest.pool")
+public class RestPoolProperties {
+
+    /**
+     * Maximum number of connections kept across all upstream hosts.
+     */
+    private int maxTotal = 64;
+
+    /**
+     * Maximum number of connections kept per upstream host.
+     */
+    private int maxPerRoute = 32;
+
+    /**
+     * Timeout in milliseconds for establishing a connection.
+     */
+    private long connectTimeoutMillis = 5000;
+
+    /**
+     * Timeout in milliseconds for receiving a response once the request is sent.
+     */
+    private long responseTimeoutMillis = 5000;
+
+    /**
+     * Timeout in milliseconds for leasing a connection from the pool.
+     */
+    private long leaseTimeoutMillis = 2000;
+
+    /**
+     * Idle connections are closed after this many seconds.
+     */
+    private long idleEvictionSeconds = 30;
+
+    /**
+     * Connections are never reused after this many seconds.
+     */
+    private long timeToLiveSeconds = 300;
+
+    /**
+     * Whether HTTP/2 is negotiated with upstreams supporting it; HTTP/1.1 is used otherwise.
+     */
+    private boolean http2 = true;
+}
@@ -0,0 +1,445 @@
+package com.ing.nybooks.config.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket keeping the calls to an upstream API within its per-minute and per-day quotas. Calls finding the
+ * bucket empty are queued instead of being sent to receive a 429, and queued calls are granted their permits in
+ * priority order, so interactive searches overtake background work waiting for the same permits.
+ * <p>
+ * A share of the quotas is reserved for interactive calls: background calls are rejected once only the reserved
+ * share of the daily quota is left, and are granted a permit only while the bucket keeps the reserved share of the
+ * burst for interactive calls. Background work therefore cannot spend the quota searches need.
+ * <p>
+ * The rate adapts to the quota actually enforced upstream: every throttled call halves it and empties the bucket,
+ * every successful call raises it again by a tenth of the configured rate until the configured rate is reached.
+ */
+public class PriorityRateLimiter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PriorityRateLimiter.class);
+    private static final double RECOVERY_STEP = 0.1;
+    private static final double MIN_RATE_FRACTION = 1.0 / 16;
+    private final String name;
+    private final double maxPermitsPerSecond;
+    private final double minPermitsPerSecond;
+    private final int burst;
+    private final int permitsPerDay;
+    private final int backgroundPermitsPerDay;
+    private final double reservedTokens;
+    private final Duration maxWait;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+    private final ScheduledExecutorService dispatcher;
+    private final Map<RequestPriority, Timer> waitTimers = new EnumMap<>(RequestPriority.class);
+    private final Counter throttledCalls;
+    private final Counter timedOutCalls;
+    private final Counter overQuotaCalls;
+    private final Counter overReserveCalls;
+    private double permitsPerSecond;
+    private double tokens;
+    private long lastRefillNanos;
+    private LocalDate day;
+    private int dayPermits;
+    private long sequence;
+    private boolean dispatchScheduled;
+    private long dispatchAtNanos;
+
+    /**
+     * Constructor for PriorityRateLimiter.
+     *
+     * @param name                      Name of the upstream, used as metric tag.
+     * @param permitsPerMinute          The number of calls allowed per minute.
+     * @param burst                     The number of calls that may be made back to back after the limiter was idle.
+     * @param permitsPerDay             The number of calls allowed per UTC day.
+     * @param interactiveReservePercent The share of the daily quota and of the burst only interactive calls may use.
+     * @param maxWait                   The maximum time a call waits in the queue for a permit.
+     * @param meterRegistry             Registry for recording the queue depth, wait times and rejected calls.
+     */
+    public PriorityRateLimiter(String name, int permitsPerMinute, int burst, int permitsPerDay, int interactiveReservePercent,
+                               Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxPermitsPerSecond = Math.max(1, permitsPerMinute) / 60.0;
+        this.minPermitsPerSecond = maxPermitsPerSecond * MIN_RATE_FRACTION;
+        this.permitsPerSecond = maxPermitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.permitsPerDay = permitsPerDay;
+        double reserve = Math.min(100, Math.max(0, interactiveReservePercent)) / 100.0;
+        this.backgroundPermitsPerDay = permitsPerDay - (int) Math.ceil(permitsPerDay * reserve);
+        // Background calls always find at least the permit they take, however small the burst
+        this.reservedTokens = Math.min(this.burst - 1, this.burst * reserve);
+        this.maxWait = maxWait;
+        this.tokens = this.burst;
+        this.lastRefillNanos = System.nanoTime();
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "rate-limiter-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            waitTimers.put(priority, Timer.builder("rateLimiter.wait")
+                    .description("Time calls waited in the queue for an upstream permit")
+                    .tag("name", name)
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("rateLimiter.queue.depth", this, PriorityRateLimiter::getQueueDepth)
+                .description("Calls waiting for an upstream permit")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("rateLimiter.permits.per.minute", this, PriorityRateLimiter::getPermitsPerMinute)
+                .description("Current rate of the upstream permits after adapting to throttling")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.throttledCalls = Counter.builder("rateLimiter.throttled")
+                .description("Calls throttled by the upstream with a 429 despite the rate limiter")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.timedOutCalls = buildRejectedCounter("timeout", meterRegistry);
+        this.overQuotaCalls = buildRejectedCounter("dailyQuota", meterRegistry);
+        this.overReserveCalls = buildRejectedCounter("interactiveReserve", meterRegistry);
+    }
+
+    /**
+     * Waits for a permit to call the upstream.
+     *
+     * @param priority The priority of the call.
+     * @throws UpstreamQuotaExceededException If the daily quota is spent or no permit was granted in time.
+     */
+    public void acquire(RequestPriority priority) {
+        CompletableFuture<Void> permit = reserve(priority);
+        try {
+            permit.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A permit granted while timing out is used rather than lost, a rejection is reported as it is
+            if (permit.cancel(false)) {
+                throw timedOut(priority);
+            }
+            if (permit.isCompletedExceptionally()) {
+                throw (RuntimeException) permit.handle((granted, error) -> error).join();
+            }
+        } catch (InterruptedException e) {
+            permit.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new UpstreamQuotaExceededException("Interrupted while waiting for a " + name + " permit");
+        } catch (ExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Waits for a permit to call the upstream without blocking. Cancelling the returned Mono gives up the place in
+     * the queue.
+     *
+     * @param priority The priority of the call.
+     * @return A Mono completing once the permit is granted, or failing with an {@link UpstreamQuotaExceededException}
+     * if the daily quota is spent or no permit was granted in time.
+     */
+    public Mono<Void> acquireAsync(RequestPriority priority) {
+        return Mono.defer(() -> Mono.fromFuture(reserve(priority)))
+                .timeout(maxWait, Mono.defer(() -> Mono.error(timedOut(priority))));
+    }
+
+    /**
+     * Takes a permit only if one is available to the call right away. The call is never queued and a refused permit
+     * is not counted as a rejected call, so callers such as health checks can probe the upstream without waiting
+     * or delaying the queued calls.
+     *
+     * @param priority The priority of the call.
+     * @return True if the permit was taken.
+     */
+    public boolean tryAcquire(RequestPriority priority) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            refill(now);
+            Waiter head = waiters.peek();
+            if (dailyPermitsLeft(priority) > 0 && (head == null || priority.compareTo(head.priority) < 0)
+                    && tokens >= tokensNeeded(priority)) {
+                grant(priority, now, now);
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a call the upstream accepted, raising the rate back towards the configured rate.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            if (permitsPerSecond < maxPermitsPerSecond) {
+                refill(System.nanoTime());
+                permitsPerSecond = Math.min(maxPermitsPerSecond, permitsPerSecond + maxPermitsPerSecond * RECOVERY_STEP);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a call the upstream throttled, halving the rate and emptying the bucket.
+     */
+    public void onThrottled() {
+        throttledCalls.increment();
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            permitsPerSecond = Math.max(minPermitsPerSecond, permitsPerSecond / 2);
+            tokens = Math.min(tokens, 0);
+            logger.warn("[onThrottled] {} throttled a call, lowering the rate to {} calls per minute", name, permitsPerSecond * 60);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of calls waiting for a permit.
+     *
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current rate of the permits.
+     *
+     * @return The number of permits granted per minute.
+     */
+    public double getPermitsPerMinute() {
+        lock.lock();
+        try {
+            return permitsPerSecond * 60;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops granting permits to the queued calls.
+     */
+    @Override
+    public void close() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Takes a permit if one is available to the call and no call of the same or a higher priority is queued,
+     * queues the call otherwise.
+     *
+     * @param priority The priority of the call.
+     * @return A future completing once the permit is granted.
+     */
+    private CompletableFuture<Void> reserve(RequestPriority priority) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            refill(now);
+            UpstreamQuotaExceededException rejection = checkDailyQuota(priority);
+            if (rejection != null) {
+                return CompletableFuture.failedFuture(rejection);
+            }
+            Waiter head = waiters.peek();
+            if ((head == null || priority.compareTo(head.priority) < 0) && tokens >= tokensNeeded(priority)) {
+                grant(priority, now, now);
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> permit = new CompletableFuture<>();
+            waiters.add(new Waiter(priority, sequence++, now, permit));
+            scheduleDispatch(now);
+            return permit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grants the available permits to the queued calls in priority order. The permits are completed outside the
+     * lock, since completing them resumes the calls.
+     */
+    private void dispatch() {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        List<Map.Entry<CompletableFuture<Void>, UpstreamQuotaExceededException>> rejected = new ArrayList<>();
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            dispatchScheduled = false;
+            refill(now);
+            UpstreamQuotaExceededException rejection;
+            while (!waiters.isEmpty()) {
+                Waiter waiter = waiters.peek();
+                if (waiter.permit.isDone()) {
+                    // Timed out or cancelled while queued
+                    waiters.poll();
+                } else if ((rejection = checkDailyQuota(waiter.priority)) != null) {
+                    waiters.poll();
+                    rejected.add(Map.entry(waiter.permit, rejection));
+                } else if (tokens >= tokensNeeded(waiter.priority)) {
+                    waiters.poll();
+                    grant(waiter.priority, waiter.enqueuedNanos, now);
+                    granted.add(waiter.permit);
+                } else {
+                    break;
+                }
+            }
+            if (!waiters.isEmpty()) {
+                scheduleDispatch(now);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        granted.forEach(permit -> permit.complete(null));
+        rejected.forEach(permit -> permit.getKey().completeExceptionally(permit.getValue()));
+    }
+
+    /**
+     * Schedules the next dispatch for the moment the bucket holds a permit for the first queued call. A call
+     * queued ahead of the background calls waiting for their reserve brings the dispatch forward. Must hold the lock.
+     *
+     * @param now The current nano time.
+     */
+    private void scheduleDispatch(long now) {
+        long delayNanos = (long) Math.ceil(Math.max(0, tokensNeeded(waiters.peek().priority) - tokens) / permitsPerSecond * 1_000_000_000L);
+        if (dispatchScheduled && dispatchAtNanos - (now + delayNanos) <= 0) {
+            return;
+        }
+        dispatchScheduled = true;
+        dispatchAtNanos = now + delayNanos;
+        dispatcher.schedule(this::dispatch, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the tokens the bucket must hold to grant a permit to a call, keeping the reserved share of the burst
+     * for interactive calls.
+     *
+     * @param priority The priority of the call.
+     * @return The tokens needed.
+     */
+    private double tokensNeeded(RequestPriority priority) {
+        return priority == RequestPriority.INTERACTIVE ? 1 : 1 + reservedTokens;
+    }
+
+    /**
+     * Adds the permits accrued since the last refill, up to the burst size. Must hold the lock.
+     *
+     * @param now The current nano time.
+     */
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+
+    /**
+     * Takes a permit and records the time the call waited for it. Must hold the lock.
+     *
+     * @param priority      The priority of the call.
+     * @param enqueuedNanos The nano time the call asked for the permit.
+     * @param now           The current nano time.
+     */
+    private void grant(RequestPriority priority, long enqueuedNanos, long now) {
+        tokens -= 1;
+        dayPermits++;
+        waitTimers.get(priority).record(now - enqueuedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Checks the daily quota left to a call, starting a new quota when the UTC day changed. Must hold the lock.
+     *
+     * @param priority The priority of the call.
+     * @return The rejection of the call, or null if permits are left to it today.
+     */
+    private UpstreamQuotaExceededException checkDailyQuota(RequestPriority priority) {
+        if (dailyPermitsLeft(priority) > 0) {
+            return null;
+        }
+        if (dayPermits >= permitsPerDay) {
+            overQuotaCalls.increment();
+            return new UpstreamQuotaExceededException("Daily quota of " + permitsPerDay + " " + name + " calls is spent");
+        }
+        overReserveCalls.increment();
+        return new UpstreamQuotaExceededException("The " + (permitsPerDay - dayPermits) + " " + name
+                + " calls left today are reserved for interactive calls");
+    }
+
+    /**
+     * Returns the permits left today to a call, starting a new quota when the UTC day changed. Must hold the lock.
+     *
+     * @param priority The priority of the call.
+     * @return The permits left, background calls leaving the reserved share to interactive calls.
+     */
+    private int dailyPermitsLeft(RequestPriority priority) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (!today.equals(day)) {
+            day = today;
+            dayPermits = 0;
+        }
+        return (priority == RequestPriority.INTERACTIVE ? permitsPerDay : backgroundPermitsPerDay) - dayPermits;
+    }
+
+    private UpstreamQuotaExceededException timedOut(RequestPriority priority) {
+        timedOutCalls.increment();
+        return new UpstreamQuotaExceededException("No " + name + " permit granted to a " + priority + " call within " + maxWait.toMillis() + " ms");
+    }
+
+    private Counter buildRejectedCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("rateLimiter.rejected")
+                .description("Calls rejected without a permit")
+                .tag("name", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A call queued for a permit, ordered by priority and then by arrival.
+     */
+    private static final class Waiter implements Comparable<Waiter> {
+        private final RequestPriority priority;
+        private final long sequence;
+        private final long enqueuedNanos;
+        private final CompletableFuture<Void> permit;
+
+        private Waiter(RequestPriority priority, long sequence, long enqueuedNanos, CompletableFuture<Void> permit) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.enqueuedNanos = enqueuedNanos;
+            this.permit = permit;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.ing.nybooks.config.resilience;
+
+import com.ing.nybooks.config.properties.HedgingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Hedges calls stuck in the latency tail: a call still running after the configured percentile of the recent
+ * latencies is duplicated, and whichever attempt succeeds first is taken. The loser is left to finish, its latency
+ * still counts towards the percentile.
+ * <p>
+ * Hedges are capped by a budget: every call earns a fraction of a hedge, so hedges never add more than the
+ * configured percentage of extra calls, with at most {@value #MAX_BURST_HEDGES} hedges saved up while the latency
+ * is low.
+ */
+public class RequestHedger {
+    private static final int MAX_BURST_HEDGES = 10;
+    private static final long NO_HEDGE = -1;
+    private final boolean enabled;
+    private final double percentile;
+    private final double budgetFraction;
+    private final long minDelayNanos;
+    private final long[] latencies;
+    private final int minSamples;
+    private final Executor executor;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int nextLatency;
+    private int recordedLatencies;
+    private long hedgeDelayNanos = NO_HEDGE;
+    private double budget;
+
+    /**
+     * Constructor for RequestHedger.
+     *
+     * @param name              Name of the hedged calls, used as metric tag.
+     * @param hedgingProperties The hedging delay and budget.
+     * @param executor          Executor running the blocking calls and their hedges.
+     * @param meterRegistry     Registry for recording the hedges sent and won.
+     */
+    public RequestHedger(String name, HedgingProperties hedgingProperties, Executor executor, MeterRegistry meterRegistry) {
+        this.enabled = hedgingProperties.isEnabled();
+        this.percentile = Math.min(100, Math.max(0, hedgingProperties.getPercentile()));
+        this.budgetFraction = Math.max(0, hedgingProperties.getBudgetPercent()) / 100;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgingProperties.getMinDelayMillis());
+        this.latencies = new long[Math.max(10, hedgingProperties.getLatencyWindow())];
+        this.minSamples = latencies.length / 10;
+        this.executor = executor;
+        this.hedgesSent = Counter.builder("hedging.sent")
+                .description("Duplicate requests sent for calls slower than the hedge delay")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.hedgesWon = Counter.builder("hedging.won")
+                .description("Hedges that returned before the call they duplicated")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("hedging.delay", this, hedger -> hedger.getHedgeDelayNanos() / 1_000_000.0)
+                .description("Delay after which a call still running is hedged")
+                .tag("name", name)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a blocking call, hedging it if it is still running after the hedge delay.
+     *
+     * @param call The call, which must be safe to run twice.
+     * @param <T>  The type of the result.
+     * @return The result of the first attempt to succeed.
+     */
+    public <T> T execute(Supplier<T> call) {
+        long delayNanos = earnBudget();
+        if (delayNanos == NO_HEDGE) {
+            return timed(call);
+        }
+
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(() -> timed(call), executor);
+        try {
+            return primary.get(delayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!spendBudget()) {
+                return await(primary);
+            }
+            hedgesSent.increment();
+            CompletableFuture<T> hedge = CompletableFuture.supplyAsync(() -> timed(call), executor);
+            return await(firstSuccessful(primary, hedge));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a hedged call", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Subscribes to a non-blocking call, hedging it if it has not emitted after the hedge delay. A call failing
+     * before the hedge delay is not hedged.
+     *
+     * @param call Supplies the call, which must be safe to subscribe to twice.
+     * @param <T>  The type of the result.
+     * @return A Mono emitting the result of the first attempt to succeed.
+     */
+    public <T> Mono<T> executeAsync(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long delayNanos = earnBudget();
+            if (delayNanos == NO_HEDGE) {
+                return timedAsync(call);
+            }
+
+            Sinks.One<Boolean> primaryFailed = Sinks.one();
+            Mono<T> primary = timedAsync(call).doOnError(e -> primaryFailed.tryEmitValue(true));
+            Mono<T> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+                    .takeUntilOther(primaryFailed.asMono())
+                    .filter(tick -> spendBudget())
+                    .flatMap(tick -> {
+                        hedgesSent.increment();
+                        return timedAsync(call).doOnNext(result -> hedgesWon.increment());
+                    });
+            // With no value from either attempt, the failure of the primary attempt is reported
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorMap(NoSuchElementException.class, e -> e.getCause() != null ? Exceptions.unwrapMultiple(e.getCause()).get(0) : e);
+        });
+    }
+
+    /**
+     * Returns the delay after which a call still running is hedged.
+     *
+     * @return The hedge delay in nanoseconds, or -1 while too few latencies are recorded.
+     */
+    public long getHedgeDelayNanos() {
+        lock.lock();
+        try {
+            return hedgeDelayNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Credits the budget with the share of a hedge earned by a call.
+     *
+     * @return The hedge delay, or -1 if the call is not to be hedged.
+     */
+    private long earnBudget() {
+        if (!enabled) {
+            return NO_HEDGE;
+        }
+        lock.lock();
+        try {
+            budget = Math.min(MAX_BURST_HEDGES, budget + budgetFraction);
+            return hedgeDelayNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a hedge from the budget.
+     *
+     * @return True if the budget allowed the hedge.
+     */
+    private boolean spendBudget() {
+        lock.lock();
+        try {
+            if (budget < 1) {
+                return false;
+            }
+            budget -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the latency of a successful attempt, recomputing the hedge delay every tenth of the window.
+     *
+     * @param latencyNanos The latency of the attempt.
+     */
+    private void recordLatency(long latencyNanos) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            latencies[nextLatency] = latencyNanos;
+            nextLatency = (nextLatency + 1) % latencies.length;
+            recordedLatencies++;
+            if (recordedLatencies >= minSamples && recordedLatencies % minSamples == 0) {
+                long[] window = Arrays.copyOf(latencies, Math.min(recordedLatencies, latencies.length));
+                Arrays.sort(window);
+                int rank = (int) Math.ceil(percentile / 100 * window.length) - 1;
+                hedgeDelayNanos = Math.max(minDelayNanos, window[Math.max(0, rank)]);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> T timed(Supplier<T> call) {
+        long startTime = System.nanoTime();
+        T result = call.get();
+        recordLatency(System.nanoTime() - startTime);
+        return result;
+    }
+
+    private <T> Mono<T> timedAsync(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long startTime = System.nanoTime();
+            return call.get().doOnSuccess(result -> recordLatency(System.nanoTime() - startTime));
+        });
+    }
+
+    /**
+     * Completes with the first attempt to succeed, or with the failure of the primary attempt if both fail.
+     *
+     * @param primary The primary attempt.
+     * @param hedge   The hedge.
+     * @param <T>     The type of the result.
+     * @return The winning result.
+     */
+    private <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> primary, CompletableFuture<T> hedge) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        // The win is claimed before completing, so it is counted by the time the caller sees the result
+        AtomicBoolean claimed = new AtomicBoolean();
+        primary.thenAccept(result -> {
+            if (claimed.compareAndSet(false, true)) {
+                winner.complete(result);
+            }
+        });
+        hedge.thenAccept(result -> {
+            if (claimed.compareAndSet(false, true)) {
+                hedgesWon.increment();
+                winner.complete(result);
+            }
+        });
+        CompletableFuture.allOf(primary, hedge).whenComplete((done, error) -> {
+            if (error != null) {
+                primary.whenComplete((result, primaryError) -> winner.completeExceptionally(primaryError != null ? primaryError : error));
+            }
+        });
+        return winner;
+    }
+
+    /**
+     * Waits for an attempt, rethrowing its failure as it was thrown by the call.
+     *
+     * @param attempt The attempt to wait for.
+     * @param <T>     The type of the result.
+     * @return The result of the attempt.
+     */
+    private <T> T await(CompletableFuture<T> attempt) {
+        try {
+            return attempt.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,66 @@
+package com.ing.nybooks.config.resilience;
+
+import java.util.function.Supplier;
+
+/**
+ * Priority of the upstream calls made by the current thread. Calls made while serving a search are interactive;
+ * background work such as cache warming, refresh-ahead and health checks marks its calls as background so they
+ * yield to the searches when upstream permits are scarce.
+ */
+public enum RequestPriority {
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<RequestPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    /**
+     * Returns the priority of the calls made by the current thread.
+     *
+     * @return The current priority, interactive unless set otherwise.
+     */
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs a call with the given priority, restoring the previous priority afterwards.
+     *
+     * @param priority The priority of the upstream calls made by the call.
+     * @param call     The call to run.
+     * @param <T>      The type of the result.
+     * @return The result of the call.
+     */
+    public static <T> T callAs(RequestPriority priority, Supplier<T> call) {
+        RequestPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Runs a task with the given priority, restoring the previous priority afterwards.
+     *
+     * @param priority The priority of the upstream calls made by the task.
+     * @param task     The task to run.
+     */
+    public static void runAs(RequestPriority priority, Runnable task) {
+        callAs(priority, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Wraps a task handed to another thread so it runs with the priority of the submitting thread.
+     *
+     * @param task The task to wrap.
+     * @return The wrapped task.
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestPriority priority = current();
+        return () -> runAs(priority, task);
+    }
+}
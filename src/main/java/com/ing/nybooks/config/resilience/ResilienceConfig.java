@@ -0,0 +1,119 @@
+package com.ing.nybooks.config.resilience;
+
+import com.ing.nybooks.config.properties.NYTRateLimitProperties;
+import com.ing.nybooks.config.restClient.RateLimitedRestClient;
+import com.ing.nybooks.config.restClient.ResilientRestClient;
+import com.ing.nybooks.config.restClient.RestClient;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+import static com.ing.nybooks.model.Const.NYT_UPSTREAM;
+import static com.ing.nybooks.model.Const.OPEN_LIBRARY_UPSTREAM;
+
+/**
+ * Configuration class for defining the RestClient of each upstream API, guarded by the circuit breaker and the
+ * bulkhead configured for it under "resilience4j". Circuit breaker states and bulkhead usage are exported as
+ * metrics and circuit breaker states reported in health by the Resilience4j auto-configuration. The NYTimes API
+ * calls additionally take a permit from a rate limiter keeping them within the NYTimes quotas.
+ */
+@Configuration
+public class ResilienceConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ResilienceConfig.class);
+
+    /**
+     * Creates the rate limiter of the NYTimes API calls.
+     *
+     * @param rateLimitProperties The NYTimes quotas.
+     * @param meterRegistry       Registry for recording the queue depth and wait times.
+     * @return The rate limiter.
+     */
+    @Bean
+    public PriorityRateLimiter nytRateLimiter(NYTRateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+        return new PriorityRateLimiter(NYT_UPSTREAM, rateLimitProperties.getRequestsPerMinute(), rateLimitProperties.getBurst(),
+                rateLimitProperties.getRequestsPerDay(), rateLimitProperties.getInteractiveReservePercent(), Duration.ofSeconds(rateLimitProperties.getMaxWaitSeconds()), meterRegistry);
+    }
+
+    /**
+     * Creates the RestClient calling the NYTimes API through its circuit breaker and bulkhead, without waiting for
+     * a permit of the rate limiter. Callers taking their permits themselves, such as the health check, use it.
+     *
+     * @param restClient              The primary RestClient performing the calls.
+     * @param circuitBreakerRegistry Registry of the configured circuit breakers.
+     * @param bulkheadRegistry       Registry of the configured bulkheads.
+     * @param meterRegistry          Registry for recording the circuit breaker state transitions.
+     * @return The guarded RestClient.
+     */
+    @Bean
+    public RestClient nytResilientRestClient(RestClient restClient, CircuitBreakerRegistry circuitBreakerRegistry,
+                                             BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        return buildResilientRestClient(NYT_UPSTREAM, restClient, circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+
+    /**
+     * Creates the RestClient calling the NYTimes API. The rate limiter is applied outside the circuit breaker and
+     * the bulkhead, so calls queued for a permit hold no bulkhead permit while they wait.
+     *
+     * @param nytResilientRestClient The RestClient guarded by the NYTimes circuit breaker and bulkhead.
+     * @param rateLimiter            The rate limiter of the NYTimes API calls.
+     * @param rateLimitProperties    Whether the calls are rate limited.
+     * @return The guarded RestClient.
+     */
+    @Bean
+    public RestClient nytRestClient(@Qualifier("nytResilientRestClient") RestClient nytResilientRestClient,
+                                    PriorityRateLimiter rateLimiter, NYTRateLimitProperties rateLimitProperties) {
+        return rateLimitProperties.isEnabled() ? new RateLimitedRestClient(nytResilientRestClient, rateLimiter) : nytResilientRestClient;
+    }
+
+    /**
+     * Creates the RestClient calling the OpenLibrary API.
+     *
+     * @param restClient              The primary RestClient performing the calls.
+     * @param circuitBreakerRegistry Registry of the configured circuit breakers.
+     * @param bulkheadRegistry       Registry of the configured bulkheads.
+     * @param meterRegistry          Registry for recording the circuit breaker state transitions.
+     * @return The guarded RestClient.
+     */
+    @Bean
+    public RestClient openLibraryRestClient(RestClient restClient, CircuitBreakerRegistry circuitBreakerRegistry,
+                                            BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        return buildResilientRestClient(OPEN_LIBRARY_UPSTREAM, restClient, circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+
+    /**
+     * Wraps the RestClient with the circuit breaker and the bulkhead of an upstream, logging and counting every
+     * state transition of its circuit breaker.
+     *
+     * @param upstream               The name of the upstream, naming its circuit breaker and bulkhead.
+     * @param restClient             The RestClient performing the calls.
+     * @param circuitBreakerRegistry Registry of the configured circuit breakers.
+     * @param bulkheadRegistry       Registry of the configured bulkheads.
+     * @param meterRegistry          Registry for recording the circuit breaker state transitions.
+     * @return The guarded RestClient.
+     */
+    private RestClient buildResilientRestClient(String upstream, RestClient restClient, CircuitBreakerRegistry circuitBreakerRegistry,
+                                                BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(upstream);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition transition = event.getStateTransition();
+            logger.warn("[circuitBreaker] {} circuit breaker went from {} to {}", upstream, transition.getFromState(), transition.getToState());
+            Counter.builder("circuitBreaker.state.transitions")
+                    .description("State transitions of the upstream circuit breakers")
+                    .tag("name", upstream)
+                    .tag("from", transition.getFromState().name())
+                    .tag("to", transition.getToState().name())
+                    .register(meterRegistry)
+                    .increment();
+        });
+        return new ResilientRestClient(restClient, circuitBreaker, bulkheadRegistry.bulkhead(upstream));
+    }
+}
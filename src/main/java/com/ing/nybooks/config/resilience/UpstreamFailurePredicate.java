@@ -0,0 +1,32 @@
+package com.ing.nybooks.config.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.function.Predicate;
+
+/**
+ * Decides which upstream call failures count against a circuit breaker. Client errors describe the request
+ * rather than the health of the upstream, e.g. OpenLibrary answers 404 for unknown ISBNs, so they are not
+ * recorded; 429 Too Many Requests is, as it signals an overloaded upstream. Calls rejected by a full bulkhead
+ * never reached the upstream and are not recorded either.
+ */
+public class UpstreamFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        if (throwable instanceof BulkheadFullException) {
+            return false;
+        }
+        if (throwable instanceof HttpClientErrorException) {
+            return ((HttpClientErrorException) throwable).getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+        }
+        if (throwable instanceof WebClientResponseException) {
+            HttpStatus status = HttpStatus.resolve(((WebClientResponseException) throwable).getRawStatusCode());
+            return status == null || !status.is4xxClientError() || status == HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ing.nybooks.config.resilience;
+
+/**
+ * Thrown when a call to an upstream API gets no permit from its rate limiter, because the daily quota is spent or
+ * the call waited too long in the queue.
+ */
+public class UpstreamQuotaExceededException extends RuntimeException {
+
+    /**
+     * Constructor for UpstreamQuotaExceededException.
+     *
+     * @param message The reason the call was rejected.
+     */
+    public UpstreamQuotaExceededException(String message) {
+        super(message);
+    }
+}
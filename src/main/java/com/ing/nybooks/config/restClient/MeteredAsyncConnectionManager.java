@@ -0,0 +1,95 @@
+package com.ing.nybooks.config.restClient;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.nio.AsyncConnectionEndpoint;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.Future;
+import java.util.function.ToIntFunction;
+
+/**
+ * Pooling connection manager publishing pool utilization and the time requests wait for a connection.
+ */
+public class MeteredAsyncConnectionManager extends PoolingAsyncClientConnectionManager {
+
+    private final Timer leaseTimer;
+
+    /**
+     * Creates the connection manager and registers its metrics.
+     *
+     * @param timeToLive    Maximum lifetime of a pooled connection.
+     * @param meterRegistry Registry for recording pool metrics.
+     */
+    public MeteredAsyncConnectionManager(TimeValue timeToLive, MeterRegistry meterRegistry) {
+        super(RegistryBuilder.<TlsStrategy>create()
+                        .register(URIScheme.HTTPS.id, DefaultClientTlsStrategy.getDefault())
+                        .build(),
+                PoolConcurrencyPolicy.STRICT, timeToLive);
+        this.leaseTimer = Timer.builder("http.client.pool.lease.wait")
+                .description("Time spent waiting for a pooled upstream connection")
+                .register(meterRegistry);
+        registerGauge(meterRegistry, "http.client.pool.leased", "Connections currently in use", PoolStats::getLeased);
+        registerGauge(meterRegistry, "http.client.pool.available", "Idle connections ready for reuse", PoolStats::getAvailable);
+        registerGauge(meterRegistry, "http.client.pool.pending", "Requests waiting for a connection", PoolStats::getPending);
+        registerGauge(meterRegistry, "http.client.pool.max", "Maximum number of pooled connections", PoolStats::getMax);
+    }
+
+    /**
+     * Leases a connection and records how long the caller waited for it.
+     */
+    @Override
+    public Future<AsyncConnectionEndpoint> lease(String id, HttpRoute route, Object state, Timeout requestTimeout,
+                                                 FutureCallback<AsyncConnectionEndpoint> callback) {
+        Timer.Sample sample = Timer.start();
+        return super.lease(id, route, state, requestTimeout, new FutureCallback<AsyncConnectionEndpoint>() {
+            @Override
+            public void completed(AsyncConnectionEndpoint result) {
+                sample.stop(leaseTimer);
+                if (callback != null) {
+                    callback.completed(result);
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                sample.stop(leaseTimer);
+                if (callback != null) {
+                    callback.failed(ex);
+                }
+            }
+
+            @Override
+            public void cancelled() {
+                if (callback != null) {
+                    callback.cancelled();
+                }
+            }
+        });
+    }
+
+    /**
+     * Registers a gauge reading one figure of the pool's total statistics.
+     *
+     * @param meterRegistry Registry for recording pool metrics.
+     * @param name          The gauge name.
+     * @param description   The gauge description.
+     * @param statistic     Function extracting the figure from the pool statistics.
+     */
+    private void registerGauge(MeterRegistry meterRegistry, String name, String description, ToIntFunction<PoolStats> statistic) {
+        Gauge.builder(name, this, manager -> statistic.applyAsInt(manager.getTotalStats()))
+                .description(description)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,97 @@
+package com.ing.nybooks.config.restClient;
+
+import com.ing.nybooks.config.resilience.PriorityRateLimiter;
+import com.ing.nybooks.config.resilience.RequestPriority;
+import org.springframework.web.client.HttpClientErrorException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.util.function.Supplier;
+
+/**
+ * RestClient decorator taking a permit from the rate limiter of an upstream API before every call, with the
+ * priority of the calling thread.
+ * <p>
+ * A call the upstream throttles anyway lowers the rate of the limiter and is queued once more for a permit before
+ * its failure is given up on.
+ */
+public class RateLimitedRestClient implements RestClient {
+    private static final int MAX_ATTEMPTS = 2;
+    private final RestClient delegate;
+    private final PriorityRateLimiter rateLimiter;
+
+    /**
+     * Constructor for RateLimitedRestClient.
+     *
+     * @param delegate    The RestClient performing the calls.
+     * @param rateLimiter The rate limiter of the upstream.
+     */
+    public RateLimitedRestClient(RestClient delegate, PriorityRateLimiter rateLimiter) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public <T> T getForObject(String url, Class<T> responseType) {
+        return call(() -> delegate.getForObject(url, responseType));
+    }
+
+    @Override
+    public <T> T getForObject(URI uri, Class<T> responseType) {
+        return call(() -> delegate.getForObject(uri, responseType));
+    }
+
+    @Override
+    public <T> Mono<T> getForMono(String url, Class<T> responseType) {
+        return callAsync(Mono.defer(() -> delegate.getForMono(url, responseType)));
+    }
+
+    @Override
+    public <T> Mono<T> getForMono(URI uri, Class<T> responseType) {
+        return callAsync(Mono.defer(() -> delegate.getForMono(uri, responseType)));
+    }
+
+    /**
+     * Runs a blocking call once a permit is granted.
+     *
+     * @param call The call to the upstream.
+     * @param <T>  The type of the response.
+     * @return The response object.
+     */
+    private <T> T call(Supplier<T> call) {
+        RequestPriority priority = RequestPriority.current();
+        for (int attempt = 1; ; attempt++) {
+            rateLimiter.acquire(priority);
+            try {
+                T response = call.get();
+                rateLimiter.onSuccess();
+                return response;
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                rateLimiter.onThrottled();
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Subscribes to a non-blocking call once a permit is granted. The priority is the one of the thread
+     * assembling the call.
+     *
+     * @param call The call to the upstream.
+     * @param <T>  The type of the response.
+     * @return A Mono emitting the response object.
+     */
+    private <T> Mono<T> callAsync(Mono<T> call) {
+        RequestPriority priority = RequestPriority.current();
+        return rateLimiter.acquireAsync(priority)
+                .then(call)
+                .doOnSuccess(response -> rateLimiter.onSuccess())
+                .doOnError(HttpClientErrorException.TooManyRequests.class, e -> rateLimiter.onThrottled())
+                .retryWhen(Retry.max(MAX_ATTEMPTS - 1)
+                        .filter(HttpClientErrorException.TooManyRequests.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.ing.nybooks.config.restClient;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.function.Supplier;
+
+/**
+ * RestClient decorator guarding the calls to a single upstream API with a circuit breaker and a bulkhead.
+ * <p>
+ * The circuit breaker is applied outside the bulkhead, so an open circuit rejects calls without taking a
+ * bulkhead permit. The bulkhead bounds the concurrent calls to the upstream, so a degraded upstream cannot hold
+ * every request thread.
+ */
+public class ResilientRestClient implements RestClient {
+    private final RestClient delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    /**
+     * Constructor for ResilientRestClient.
+     *
+     * @param delegate       The RestClient performing the calls.
+     * @param circuitBreaker The circuit breaker of the upstream.
+     * @param bulkhead       The bulkhead of the upstream.
+     */
+    public ResilientRestClient(RestClient delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public <T> T getForObject(String url, Class<T> responseType) {
+        return call(() -> delegate.getForObject(url, responseType));
+    }
+
+    @Override
+    public <T> T getForObject(URI uri, Class<T> responseType) {
+        return call(() -> delegate.getForObject(uri, responseType));
+    }
+
+    @Override
+    public <T> Mono<T> getForMono(String url, Class<T> responseType) {
+        return callAsync(Mono.defer(() -> delegate.getForMono(url, responseType)));
+    }
+
+    @Override
+    public <T> Mono<T> getForMono(URI uri, Class<T> responseType) {
+        return callAsync(Mono.defer(() -> delegate.getForMono(uri, responseType)));
+    }
+
+    /**
+     * Runs a blocking call through the bulkhead and the circuit breaker.
+     *
+     * @param call The call to the upstream.
+     * @param <T>  The type of the response.
+     * @return The response object.
+     */
+    private <T> T call(Supplier<T> call) {
+        return CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, call)).get();
+    }
+
+    /**
+     * Subscribes to a non-blocking call through the bulkhead and the circuit breaker. The bulkhead does not wait
+     * for a permit, a call finding it full fails immediately.
+     *
+     * @param call The call to the upstream.
+     * @param <T>  The type of the response.
+     * @return A Mono emitting the response object.
+     */
+    private <T> Mono<T> callAsync(Mono<T> call) {
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+}
@@ -1,5 +1,7 @@
 package com.ing.nybooks.config.restClient;
 
+import reactor.core.publisher.Mono;
+
 import java.net.URI;
 
 /**
@@ -28,4 +30,26 @@ public interface RestClient {
      * @return The response object of the specified type.
      */
     <T> T getForObject(URI uri, Class<T> responseType);
+
+    /**
+     * Performs a non-blocking HTTP GET request to the specified URL and emits the response
+     * converted to the specified response type.
+     *
+     * @param url          The URL to send the GET request to.
+     * @param responseType The class type to which the response should be converted.
+     * @param <T>          The type of the response.
+     * @return A Mono emitting the response object, or completing empty if there is no body.
+     */
+    <T> Mono<T> getForMono(String url, Class<T> responseType);
+
+    /**
+     * Performs a non-blocking HTTP GET request to the specified URL and emits the response
+     * converted to the specified response type.
+     *
+     * @param uri          The URL to send the GET request to.
+     * @param responseType The class type to which the response should be converted.
+     * @param <T>          The type of the response.
+     * @return A Mono emitting the response object, or completing empty if there is no body.
+     */
+    <T> Mono<T> getForMono(URI uri, Class<T> responseType);
 }
@@ -1,14 +1,29 @@
 package com.ing.nybooks.config.restClient;
 
+import com.ing.nybooks.config.properties.RestPoolProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.reactive.HttpComponentsClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
 
 import java.time.Duration;
 
 /**
- * Configuration class for defining the RestClient bean based on the specified property.
+ * Configuration class for defining the RestClient bean based on the specified property. It is the primary
+ * RestClient, the services call the upstream APIs through the guarded clients of ResilienceConfig.
  */
 @Configuration
 public class RestClientConfig {
@@ -21,6 +36,7 @@ public class RestClientConfig {
      */
     @Bean
     @ConditionalOnProperty(name = "rest.client", havingValue = "restTemplate", matchIfMissing = true)
+    @Primary
     public RestClient restTemplateClient() {
         return new RestTemplateClient(
                 new RestTemplateBuilder()
@@ -28,4 +44,76 @@ public class RestClientConfig {
                         .setReadTimeout(Duration.ofSeconds(5))
                         .build());
     }
+
+    /**
+     * Creates a non-blocking RestClient bean using WebClientRestClient when the property "rest.client" is set to
+     * "webClient".
+     *
+     * @param webClientBuilder The WebClient builder configured by Spring Boot.
+     * @return An instance of the RestClient.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "rest.client", havingValue = "webClient")
+    @Primary
+    public RestClient webClientRestClient(WebClient.Builder webClientBuilder) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) Duration.ofSeconds(5).toMillis())
+                .responseTimeout(Duration.ofSeconds(5));
+        return new WebClientRestClient(
+                webClientBuilder
+                        .clientConnector(new ReactorClientHttpConnector(httpClient))
+                        .build());
+    }
+
+    /**
+     * Creates the pooled HTTP client used when the property "rest.client" is set to "pooled".
+     * Connections are kept alive and reused per upstream host, idle ones are evicted, and HTTP/2 is
+     * negotiated where the upstream supports it.
+     *
+     * @param restPoolProperties The pool sizing and timeouts.
+     * @param meterRegistry      Registry for recording pool metrics.
+     * @return The started HTTP client; it is closed with the application context.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "rest.client", havingValue = "pooled")
+    public CloseableHttpAsyncClient pooledHttpAsyncClient(RestPoolProperties restPoolProperties, MeterRegistry meterRegistry) {
+        MeteredAsyncConnectionManager connectionManager = new MeteredAsyncConnectionManager(
+                TimeValue.ofSeconds(restPoolProperties.getTimeToLiveSeconds()), meterRegistry);
+        connectionManager.setMaxTotal(restPoolProperties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(restPoolProperties.getMaxPerRoute());
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(restPoolProperties.getConnectTimeoutMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(restPoolProperties.getResponseTimeoutMillis()))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(restPoolProperties.getLeaseTimeoutMillis()))
+                .build();
+
+        CloseableHttpAsyncClient httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setVersionPolicy(restPoolProperties.isHttp2() ? HttpVersionPolicy.NEGOTIATE : HttpVersionPolicy.FORCE_HTTP_1)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(restPoolProperties.getIdleEvictionSeconds()))
+                .build();
+        httpClient.start();
+        return httpClient;
+    }
+
+    /**
+     * Creates a RestClient bean on top of the pooled HTTP client when the property "rest.client" is set to
+     * "pooled".
+     *
+     * @param webClientBuilder      The WebClient builder configured by Spring Boot.
+     * @param pooledHttpAsyncClient The pooled HTTP client.
+     * @return An instance of the RestClient.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "rest.client", havingValue = "pooled")
+    @Primary
+    public RestClient pooledRestClient(WebClient.Builder webClientBuilder, CloseableHttpAsyncClient pooledHttpAsyncClient) {
+        return new WebClientRestClient(
+                webClientBuilder
+                        .clientConnector(new HttpComponentsClientHttpConnector(pooledHttpAsyncClient))
+                        .build());
+    }
 }
@@ -2,6 +2,8 @@ package com.ing.nybooks.config.restClient;
 
 import lombok.AllArgsConstructor;
 import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.net.URI;
 
@@ -31,4 +33,24 @@ public class RestTemplateClient implements RestClient {
     public <T> T getForObject(URI url, Class<T> responseType) {
         return restTemplate.getForObject(url, responseType);
     }
+
+    /**
+     * RestTemplate is blocking, so the request runs on the bounded elastic scheduler.
+     *
+     * @param url          The URL to send the GET request to.
+     * @param responseType The class type to which the response should be converted.
+     * @param <T>          The type of the response.
+     * @return A Mono emitting the response object.
+     */
+    @Override
+    public <T> Mono<T> getForMono(String url, Class<T> responseType) {
+        return Mono.fromCallable(() -> getForObject(url, responseType))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public <T> Mono<T> getForMono(URI url, Class<T> responseType) {
+        return Mono.fromCallable(() -> getForObject(url, responseType))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 }
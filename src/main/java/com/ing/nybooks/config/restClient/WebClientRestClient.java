@@ -0,0 +1,83 @@
+package com.ing.nybooks.config.restClient;
+
+import lombok.AllArgsConstructor;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Non-blocking implementation of the RestClient interface using Spring's WebClient.
+ * Errors are translated to the RestClientException hierarchy thrown by RestTemplateClient,
+ * so callers and exception handlers behave the same whichever client is configured.
+ */
+@AllArgsConstructor
+public class WebClientRestClient implements RestClient {
+
+    private final WebClient webClient;
+
+    /**
+     * Performs an HTTP GET request using WebClient and blocks until the response is converted.
+     *
+     * @param url          The URL to send the GET request to.
+     * @param responseType The class type to which the response should be converted.
+     * @param <T>          The type of the response.
+     * @return The response object of the specified type.
+     */
+    @Override
+    public <T> T getForObject(String url, Class<T> responseType) {
+        return getForMono(url, responseType).block();
+    }
+
+    @Override
+    public <T> T getForObject(URI uri, Class<T> responseType) {
+        return getForMono(uri, responseType).block();
+    }
+
+    @Override
+    public <T> Mono<T> getForMono(String url, Class<T> responseType) {
+        return webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToMono(responseType)
+                .onErrorMap(this::translateException);
+    }
+
+    @Override
+    public <T> Mono<T> getForMono(URI uri, Class<T> responseType) {
+        return webClient.get()
+                .uri(uri)
+                .retrieve()
+                .bodyToMono(responseType)
+                .onErrorMap(this::translateException);
+    }
+
+    /**
+     * Translates WebClient exceptions to their RestTemplate counterparts.
+     *
+     * @param ex The exception raised by WebClient.
+     * @return The translated exception.
+     */
+    private Throwable translateException(Throwable ex) {
+        if (ex instanceof WebClientResponseException) {
+            WebClientResponseException responseException = (WebClientResponseException) ex;
+            if (responseException.getStatusCode().is4xxClientError()) {
+                return HttpClientErrorException.create(responseException.getStatusCode(), responseException.getStatusText(),
+                        responseException.getHeaders(), responseException.getResponseBodyAsByteArray(), null);
+            }
+            return HttpServerErrorException.create(responseException.getStatusCode(), responseException.getStatusText(),
+                    responseException.getHeaders(), responseException.getResponseBodyAsByteArray(), null);
+        }
+        if (ex instanceof WebClientRequestException) {
+            Throwable cause = ex.getCause();
+            return new ResourceAccessException(ex.getMessage(), cause instanceof IOException ? (IOException) cause : null);
+        }
+        return ex;
+    }
+}
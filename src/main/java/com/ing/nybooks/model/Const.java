@@ -6,10 +6,27 @@ public class Const {
     public static final String AUTHOR = "author";
     public static final String API_KEY = "api-key";
     public static final String ME_BOOKS_LIST = "/me/books/list";
+    public static final String ME_BOOKS_LIST_ASYNC = "/me/books/list/async";
+    public static final String ME_BOOKS_BATCH = "/me/books/batch";
+    public static final int BATCH_MAX_AUTHORS = 25;
+    public static final String AUTHORS_MUST_BE_BETWEEN = "Authors must hold between 1 and 25 names";
+    public static final String NYT_UPSTREAM = "nyt";
+    public static final String OPEN_LIBRARY_UPSTREAM = "openLibrary";
+    public static final String UPSTREAM_UNAVAILABLE = "Upstream API unavailable";
     public static final String NYTIMES_API_CALL_DURATION = "nytimes.api.call.duration";
     public static final String DURATION_OF_NY_TIMES_API_CALLS = "Duration of NYTimes API calls";
     public static final String GET_BOOKS_BY_AUTHOR = "getBooksByAuthor";
+    public static final String PUBLISH_YEAR_BY_ISBN = "publishYearByIsbn";
+    public static final String UNRESOLVABLE_ISBN = "unresolvableIsbn";
+    public static final String GET_BOOK_PAGE_BY_AUTHOR = "getBookPageByAuthor";
+    public static final String PAGE_SIZE = "pageSize";
+    public static final String INVALID_CURSOR = "Invalid cursor";
+    public static final String INVALID_FIELD = "Invalid field: ";
+    public static final String GET_BOOKS_BY_AUTHOR_WITHOUT_YEARS = "getBooksByAuthorWithoutYears";
+    public static final String PAGE_SIZE_MUST_BE_BETWEEN = "Page size must be between 1 and 100";
     public static final String OFFSET = "offset";
     public static final String TITLE = "title";
     public static final int UNKNOWN_YEAR = -2;
+    public static final int NYT_PAGE_SIZE = 20;
+    public static final String ISBN_BIB_KEY_PREFIX = "ISBN:";
 }
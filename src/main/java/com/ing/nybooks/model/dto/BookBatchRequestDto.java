@@ -0,0 +1,33 @@
+package com.ing.nybooks.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static com.ing.nybooks.model.Const.AUTHORS_MUST_BE_BETWEEN;
+import static com.ing.nybooks.model.Const.AUTHOR_NAME_MUST_NOT_BE_EMPTY;
+import static com.ing.nybooks.model.Const.BATCH_MAX_AUTHORS;
+
+/**
+ * Data Transfer Object (DTO) for batch book request information.
+ */
+@Getter
+@Setter
+public class BookBatchRequestDto {
+
+    /**
+     * The authors' names. Must hold between 1 and 25 names, none of them empty.
+     */
+    @NotNull(message = AUTHORS_MUST_BE_BETWEEN)
+    @Size(min = 1, max = BATCH_MAX_AUTHORS, message = AUTHORS_MUST_BE_BETWEEN)
+    private List<@NotBlank(message = AUTHOR_NAME_MUST_NOT_BE_EMPTY) String> authors;
+
+    /**
+     * The list of publication years, applied to every author.
+     */
+    private List<Integer> year;
+}
@@ -1,15 +1,19 @@
 package com.ing.nybooks.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.*;
 
 /**
- * Data Transfer Object (DTO) for book response information.
+ * Data Transfer Object (DTO) for book response information. Fields left out of a projection are null and not
+ * serialized.
  */
 @Getter
 @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class BookDto {
     /**
      * The name of the book.
@@ -27,20 +31,44 @@ public class BookDto {
     private String author;
 
     /**
-     * The publication year of the book.
+     * The publication year of the book, or null if it was not resolved.
      */
-    private int year;
+    private Integer year;
+
+    /**
+     * The ISBN-13 values of a book whose year was not resolved yet, kept to resolve it later.
+     */
+    @JsonIgnore
+    private Set<String> isbns;
+
+    /**
+     * Copies the selected fields of the book into a new BookDto.
+     *
+     * @param fields The fields to keep.
+     * @return This book if every field is selected, otherwise a copy holding only the selected fields.
+     */
+    public BookDto project(Set<BookField> fields) {
+        if (fields.containsAll(BookField.ALL)) {
+            return this;
+        }
+        BookDto book = new BookDto();
+        book.setName(fields.contains(BookField.NAME) ? name : null);
+        book.setPublisher(fields.contains(BookField.PUBLISHER) ? publisher : null);
+        book.setAuthor(fields.contains(BookField.AUTHOR) ? author : null);
+        book.setYear(fields.contains(BookField.YEAR) ? year : null);
+        return book;
+    }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         BookDto book = (BookDto) o;
-        return year == book.year && Objects.equals(name, book.name) && Objects.equals(publisher, book.publisher);
+        return Objects.equals(year, book.year) && Objects.equals(name, book.name) && Objects.equals(publisher, book.publisher);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(name, publisher, year);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.ing.nybooks.model.dto;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static com.ing.nybooks.model.Const.INVALID_FIELD;
+
+/**
+ * Fields of a BookDto that can be selected with the fields request parameter.
+ */
+public enum BookField {
+    NAME, PUBLISHER, AUTHOR, YEAR;
+
+    /**
+     * Every field, selected when no fields are requested.
+     */
+    public static final Set<BookField> ALL = Collections.unmodifiableSet(EnumSet.allOf(BookField.class));
+
+    /**
+     * Parses the requested field names, ignoring case.
+     *
+     * @param fields The requested field names, or null or empty to select every field.
+     * @return The selected fields.
+     * @throws IllegalArgumentException If a field name is unknown.
+     */
+    public static Set<BookField> parse(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return ALL;
+        }
+        Set<BookField> selected = EnumSet.noneOf(BookField.class);
+        for (String field : fields) {
+            try {
+                selected.add(valueOf(field.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(INVALID_FIELD + field, e);
+            }
+        }
+        return selected;
+    }
+}
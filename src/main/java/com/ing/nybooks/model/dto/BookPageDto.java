@@ -0,0 +1,23 @@
+package com.ing.nybooks.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a page of book response information.
+ */
+@Getter
+@Setter
+public class BookPageDto {
+    /**
+     * The books of the page, in stable order.
+     */
+    private List<BookDto> books;
+
+    /**
+     * The opaque cursor of the next page, or null if this is the last page.
+     */
+    private String nextCursor;
+}
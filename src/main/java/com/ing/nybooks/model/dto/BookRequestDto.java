@@ -3,11 +3,14 @@ package com.ing.nybooks.model.dto;
 import lombok.Getter;
 import lombok.Setter;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import java.util.List;
 
 import static com.ing.nybooks.model.Const.AUTHOR_NAME_MUST_NOT_BE_EMPTY;
+import static com.ing.nybooks.model.Const.PAGE_SIZE_MUST_BE_BETWEEN;
 
 /**
  * Data Transfer Object (DTO) for book request information.
@@ -27,4 +30,22 @@ public class BookRequestDto {
      * The list of publication years.
      */
     private List<Integer> year;
+
+    /**
+     * The number of books per page. When provided, results are returned one page at a time.
+     */
+    @Min(value = 1, message = PAGE_SIZE_MUST_BE_BETWEEN)
+    @Max(value = 100, message = PAGE_SIZE_MUST_BE_BETWEEN)
+    private Integer pageSize;
+
+    /**
+     * The opaque cursor returned with the previous page, or empty for the first page.
+     */
+    private String cursor;
+
+    /**
+     * The BookDto fields to return, or empty to return every field. Leaving out year without filtering by year
+     * skips resolving the publication years.
+     */
+    private List<String> fields;
 }
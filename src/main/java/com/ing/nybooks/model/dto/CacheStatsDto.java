@@ -0,0 +1,60 @@
+package com.ing.nybooks.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the size and statistics of a cache.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CacheStatsDto {
+    /**
+     * The name of the cache.
+     */
+    private String name;
+
+    /**
+     * The approximate number of entries.
+     */
+    private long estimatedSize;
+
+    /**
+     * The total weight of the entries, for caches bounded by weight.
+     */
+    private Long weightedSize;
+
+    /**
+     * The maximum size or weight, for bounded caches.
+     */
+    private Long maximum;
+
+    /**
+     * The number of lookups that found an entry.
+     */
+    private long hitCount;
+
+    /**
+     * The number of lookups that found no entry.
+     */
+    private long missCount;
+
+    /**
+     * The ratio of lookups that found an entry.
+     */
+    private double hitRatio;
+
+    /**
+     * The number of entries evicted by the size or weight bound or by expiry.
+     */
+    private long evictionCount;
+
+    /**
+     * The most frequently used keys, hottest first, for bounded caches.
+     */
+    private List<String> hottestKeys;
+}
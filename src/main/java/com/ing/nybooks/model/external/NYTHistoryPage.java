@@ -0,0 +1,39 @@
+package com.ing.nybooks.model.external;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Projection of a New York Times (NYT) best-sellers history page on the fields the search uses. Parsed by
+ * {@link NYTHistoryPageDeserializer} straight from the token stream, every other field of the response is skipped.
+ */
+@Getter
+@Setter
+@JsonDeserialize(using = NYTHistoryPageDeserializer.class)
+public class NYTHistoryPage {
+    private String status;
+    /**
+     * The number of books in the whole history of the author.
+     */
+    private int numResults;
+    private List<Book> books;
+
+    /**
+     * A book of the history page.
+     */
+    @Getter
+    @Setter
+    public static class Book {
+        private String title;
+        private String author;
+        private String publisher;
+        /**
+         * The unique ISBN-13 values of the book's ISBNs and rank history.
+         */
+        private Set<String> isbns;
+    }
+}
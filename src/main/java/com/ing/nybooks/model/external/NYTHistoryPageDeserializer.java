@@ -0,0 +1,164 @@
+package com.ing.nybooks.model.external;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming parser of a New York Times (NYT) best-sellers history page. Walks the tokens once, reading the
+ * status, {@code num_results}, and the title, author, publisher and ISBN-13 values of each result; descriptions,
+ * prices, reviews and the rest of the rank history are skipped without being materialized. The author and
+ * publisher, usually the same for every book of a page, are shared between the books instead of copied.
+ */
+public class NYTHistoryPageDeserializer extends StdDeserializer<NYTHistoryPage> {
+
+    /**
+     * Constructor for NYTHistoryPageDeserializer.
+     */
+    public NYTHistoryPageDeserializer() {
+        super(NYTHistoryPage.class);
+    }
+
+    @Override
+    public NYTHistoryPage deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            return (NYTHistoryPage) context.handleUnexpectedToken(NYTHistoryPage.class, parser);
+        }
+        NYTHistoryPage page = new NYTHistoryPage();
+        page.setBooks(Collections.emptyList());
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "status":
+                    page.setStatus(parser.getValueAsString());
+                    break;
+                case "num_results":
+                    page.setNumResults(parser.getValueAsInt());
+                    break;
+                case "results":
+                    if (token == JsonToken.START_ARRAY) {
+                        page.setBooks(readBooks(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Reads the results array, positioned on its start.
+     *
+     * @param parser The parser.
+     * @return The books of the page.
+     * @throws IOException If the payload cannot be read.
+     */
+    private List<NYTHistoryPage.Book> readBooks(JsonParser parser) throws IOException {
+        List<NYTHistoryPage.Book> books = new ArrayList<>(20);
+        String previousAuthor = null;
+        String previousPublisher = null;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            NYTHistoryPage.Book book = new NYTHistoryPage.Book();
+            Set<String> isbns = new HashSet<>(4);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                token = parser.nextToken();
+                switch (field) {
+                    case "title":
+                        book.setTitle(parser.getValueAsString());
+                        break;
+                    case "author":
+                        previousAuthor = reuse(parser, previousAuthor);
+                        book.setAuthor(previousAuthor);
+                        break;
+                    case "publisher":
+                        previousPublisher = reuse(parser, previousPublisher);
+                        book.setPublisher(previousPublisher);
+                        break;
+                    case "isbns":
+                        readIsbns(parser, token, "isbn13", isbns);
+                        break;
+                    case "ranks_history":
+                        readIsbns(parser, token, "primary_isbn13", isbns);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            book.setIsbns(isbns);
+            books.add(book);
+        }
+        return books;
+    }
+
+    /**
+     * Collects one field of every object of an array, skipping the other fields.
+     *
+     * @param parser    The parser, positioned on the value of the array field.
+     * @param token     The current token.
+     * @param isbnField The field holding the ISBN-13.
+     * @param isbns     The ISBNs collected so far.
+     * @throws IOException If the payload cannot be read.
+     */
+    private static void readIsbns(JsonParser parser, JsonToken token, String isbnField, Set<String> isbns) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean isbn = isbnField.equals(parser.getCurrentName());
+                parser.nextToken();
+                if (isbn && parser.currentToken() == JsonToken.VALUE_STRING) {
+                    isbns.add(parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a string value, returning the previous value instead of a copy when the text is the same.
+     *
+     * @param parser   The parser, positioned on the value.
+     * @param previous The value read for the previous book.
+     * @return The value.
+     * @throws IOException If the payload cannot be read.
+     */
+    private static String reuse(JsonParser parser, String previous) throws IOException {
+        if (previous != null && parser.currentToken() == JsonToken.VALUE_STRING && parser.getTextLength() == previous.length()) {
+            char[] text = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            boolean same = true;
+            for (int i = 0; i < previous.length() && same; i++) {
+                same = text[offset + i] == previous.charAt(i);
+            }
+            if (same) {
+                return previous;
+            }
+        }
+        return parser.getValueAsString();
+    }
+}
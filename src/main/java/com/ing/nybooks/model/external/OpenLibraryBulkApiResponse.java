@@ -0,0 +1,10 @@
+package com.ing.nybooks.model.external;
+
+import java.util.HashMap;
+
+/**
+ * Represents the response from the Open Library Books API, keyed by the requested bibkey (e.g. "ISBN:9780399178573").
+ * Each book is read as its publish date only.
+ */
+public class OpenLibraryBulkApiResponse extends HashMap<String, OpenLibraryPublishDate> {
+}
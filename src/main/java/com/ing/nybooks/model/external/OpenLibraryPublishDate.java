@@ -0,0 +1,16 @@
+package com.ing.nybooks.model.external;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Projection of an OpenLibrary edition on its publish date, the only field the year lookup uses. Parsed by
+ * {@link OpenLibraryPublishDateDeserializer}, which skips every other field of the record.
+ */
+@Getter
+@Setter
+@JsonDeserialize(using = OpenLibraryPublishDateDeserializer.class)
+public class OpenLibraryPublishDate {
+    private String publish_date;
+}
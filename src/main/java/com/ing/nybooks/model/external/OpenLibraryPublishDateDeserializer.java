@@ -0,0 +1,41 @@
+package com.ing.nybooks.model.external;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Streaming parser of an OpenLibrary edition record keeping only {@code publish_date}. Publishers, languages,
+ * identifiers and the other fields are skipped on the token stream without being materialized.
+ */
+public class OpenLibraryPublishDateDeserializer extends StdDeserializer<OpenLibraryPublishDate> {
+    private static final String PUBLISH_DATE = "publish_date";
+
+    /**
+     * Constructor for OpenLibraryPublishDateDeserializer.
+     */
+    public OpenLibraryPublishDateDeserializer() {
+        super(OpenLibraryPublishDate.class);
+    }
+
+    @Override
+    public OpenLibraryPublishDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            return (OpenLibraryPublishDate) context.handleUnexpectedToken(OpenLibraryPublishDate.class, parser);
+        }
+        OpenLibraryPublishDate publishDate = new OpenLibraryPublishDate();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean isPublishDate = PUBLISH_DATE.equals(parser.getCurrentName());
+            JsonToken token = parser.nextToken();
+            if (isPublishDate && token == JsonToken.VALUE_STRING) {
+                publishDate.setPublish_date(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return publishDate;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ing.nybooks.service;
+
+import com.ing.nybooks.config.properties.CacheWarmingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks how often each author is searched with counters that decay over time, so recent searches weigh more
+ * than old ones. The number of tracked authors is bounded; authors whose counter decayed away make room for new
+ * ones.
+ */
+@Component
+public class AuthorPopularityTracker {
+    private static final double MIN_SCORE = 0.3;
+    private final Map<String, DoubleAdder> scores = new ConcurrentHashMap<>();
+    private final int maxTrackedAuthors;
+
+    /**
+     * Constructor for AuthorPopularityTracker.
+     *
+     * @param cacheWarmingProperties Configuration properties bounding the tracked authors.
+     * @param meterRegistry          Registry for recording the number of tracked authors.
+     */
+    public AuthorPopularityTracker(CacheWarmingProperties cacheWarmingProperties, MeterRegistry meterRegistry) {
+        this.maxTrackedAuthors = Math.max(1, cacheWarmingProperties.getMaxTrackedAuthors());
+        Gauge.builder("cache.warming.tracked.authors", scores, Map::size)
+                .description("Authors whose search popularity is tracked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a search of an author. Authors that are not tracked yet are ignored while the tracker is full.
+     *
+     * @param author The author's name.
+     */
+    public void record(String author) {
+        if (author == null || author.trim().isEmpty()) {
+            return;
+        }
+        DoubleAdder score = scores.get(author);
+        if (score == null) {
+            if (scores.size() >= maxTrackedAuthors) {
+                return;
+            }
+            score = scores.computeIfAbsent(author, key -> new DoubleAdder());
+        }
+        score.add(1);
+    }
+
+    /**
+     * Records a search of several authors.
+     *
+     * @param authors The authors' names.
+     */
+    public void recordAll(List<String> authors) {
+        authors.forEach(this::record);
+    }
+
+    /**
+     * Returns the most searched authors.
+     *
+     * @param limit The maximum number of authors to return.
+     * @return The authors, most searched first.
+     */
+    public List<String> getTopAuthors(int limit) {
+        return scores.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, DoubleAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Multiplies the counter of every author with the decay factor and stops tracking authors whose counter
+     * decayed away.
+     *
+     * @param decayFactor The factor between 0 and 1.
+     */
+    public void decay(double decayFactor) {
+        scores.forEach((author, score) -> {
+            double decayedScore = score.sumThenReset() * decayFactor;
+            if (decayedScore < MIN_SCORE) {
+                scores.remove(author, score);
+            } else {
+                score.add(decayedScore);
+            }
+        });
+    }
+}
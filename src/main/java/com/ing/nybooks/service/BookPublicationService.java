@@ -1,5 +1,8 @@
 package com.ing.nybooks.service;
 
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -13,4 +16,28 @@ public interface BookPublicationService {
      * @return The publication year of the book.
      */
     int getPublishYearByIsbn(Set<String> isbnList);
+
+    /**
+     * Retrieves the publication year of a book based on its ISBN without blocking.
+     *
+     * @param isbnList The ISBN List of the book.
+     * @return A Mono emitting the publication year of the book.
+     */
+    Mono<Integer> getPublishYearByIsbnAsync(Set<String> isbnList);
+
+    /**
+     * Retrieves the publication years of several books at once.
+     *
+     * @param isbnLists The ISBN List of each book.
+     * @return The publication year of each book, in the same order as the ISBN lists.
+     */
+    List<Integer> getPublishYearsByIsbn(List<Set<String>> isbnLists);
+
+    /**
+     * Retrieves the publication years of several books at once without blocking.
+     *
+     * @param isbnLists The ISBN List of each book.
+     * @return A Mono emitting the publication year of each book, in the same order as the ISBN lists.
+     */
+    Mono<List<Integer>> getPublishYearsByIsbnAsync(List<Set<String>> isbnLists);
 }
@@ -0,0 +1,242 @@
+package com.ing.nybooks.service;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.ing.nybooks.config.properties.CacheWarmingProperties;
+import com.ing.nybooks.config.properties.NYTRateLimitProperties;
+import com.ing.nybooks.config.resilience.RequestPriority;
+import com.ing.nybooks.config.resilience.UpstreamQuotaExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.ing.nybooks.model.Const.GET_BOOKS_BY_AUTHOR;
+import static com.ing.nybooks.model.Const.GET_BOOKS_BY_AUTHOR_WITHOUT_YEARS;
+import static com.ing.nybooks.model.Const.NYT_PAGE_SIZE;
+
+/**
+ * Service warming the cached books of the most searched authors in the background, so they are neither missing
+ * after a deploy nor rebuilt on user time when they expire. Loading the books also warms the ISBN publication
+ * years of the author.
+ * <p>
+ * A run only starts when searches made few upstream calls since the previous run, and stops once it spent its
+ * NYTimes or OpenLibrary call budget, or once the NYTimes rate limiter turns its calls away. The NYTimes budget of a
+ * run is the background share of the per-minute quota over the run interval, so a run does not queue behind its own
+ * calls for minutes; the runs of a day together spend at most a share of the daily quota. An author is only warmed
+ * when the history pages its load is estimated to fetch fit the NYTimes budget left to the run, so a long history
+ * neither overspends the budget nor times out queued behind its own calls. Upstream calls are counted with the
+ * NYTimes and OpenLibrary call timers.
+ */
+@Service
+@ConditionalOnProperty(prefix = "cache-warming", name = "enabled", havingValue = "true")
+public class CacheWarmingService {
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmingService.class);
+    private final CacheWarmingProperties cacheWarmingProperties;
+    private final AuthorPopularityTracker authorPopularityTracker;
+    private final NYTBookService nytBookService;
+    private final CacheManager cacheManager;
+    private final Timer nytTimer;
+    private final Timer openLibraryTimer;
+    private final Counter warmedAuthors;
+    private final Counter skippedRuns;
+    private final long nytCallsPerRun;
+    private final long nytCallsPerDay;
+    private long lastUpstreamCalls = -1;
+    private LocalDate day;
+    private long nytCallsToday;
+
+    /**
+     * Constructor for CacheWarmingService.
+     *
+     * @param cacheWarmingProperties  Configuration properties for cache warming.
+     * @param rateLimitProperties     The NYTimes quotas the warming budget is derived from.
+     * @param authorPopularityTracker Tracker of the most searched authors.
+     * @param nytBookService          Service loading the books of an author.
+     * @param cacheManager            Cache manager holding the books by author.
+     * @param nytTimer                Timer of the NYTimes API calls.
+     * @param openLibraryTimer        Timer of the OpenLibrary API calls.
+     * @param meterRegistry           Registry for recording warming metrics.
+     */
+    public CacheWarmingService(CacheWarmingProperties cacheWarmingProperties, NYTRateLimitProperties rateLimitProperties,
+                               AuthorPopularityTracker authorPopularityTracker, NYTBookService nytBookService, CacheManager cacheManager,
+                               @Qualifier("nytBookApiCallTimer") Timer nytTimer,
+                               @Qualifier("openLibraryApiCallTimer") Timer openLibraryTimer, MeterRegistry meterRegistry) {
+        this.cacheWarmingProperties = cacheWarmingProperties;
+        this.authorPopularityTracker = authorPopularityTracker;
+        this.nytBookService = nytBookService;
+        this.cacheManager = cacheManager;
+        this.nytTimer = nytTimer;
+        this.openLibraryTimer = openLibraryTimer;
+        this.warmedAuthors = Counter.builder("cache.warming.warmed")
+                .description("Authors whose books were warmed in the background")
+                .register(meterRegistry);
+        this.skippedRuns = Counter.builder("cache.warming.skipped")
+                .description("Warming runs skipped because searches kept the upstream APIs busy")
+                .register(meterRegistry);
+        double backgroundShare = 1 - Math.min(100, Math.max(0, rateLimitProperties.getInteractiveReservePercent())) / 100.0;
+        this.nytCallsPerRun = (long) (rateLimitProperties.getRequestsPerMinute() * cacheWarmingProperties.getIntervalSeconds() / 60.0 * backgroundShare);
+        this.nytCallsPerDay = (long) rateLimitProperties.getRequestsPerDay() * cacheWarmingProperties.getNytDailyQuotaPercent() / 100;
+        logger.info("[CacheWarmingService] Warming with at most {} NYTimes calls per run and {} per day", nytCallsPerRun, nytCallsPerDay);
+    }
+
+    /**
+     * Warms the most searched authors whose books are missing or about to expire, within the upstream call budget,
+     * then decays the popularity of every author.
+     */
+    @Scheduled(initialDelayString = "${cache-warming.interval-seconds:60}",
+            fixedDelayString = "${cache-warming.interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void warmPopularAuthors() {
+        long upstreamCalls = countUpstreamCalls();
+        long searchCalls = lastUpstreamCalls < 0 ? 0 : upstreamCalls - lastUpstreamCalls;
+        List<String> authors = authorPopularityTracker.getTopAuthors(cacheWarmingProperties.getTopAuthors());
+        authorPopularityTracker.decay(cacheWarmingProperties.getDecayFactor());
+
+        if (searchCalls > cacheWarmingProperties.getLowLoadMaxUpstreamCalls()) {
+            logger.info("[warmPopularAuthors] Skipping warming, searches made {} upstream calls since the last run", searchCalls);
+            skippedRuns.increment();
+            lastUpstreamCalls = upstreamCalls;
+            return;
+        }
+
+        Cache cache = cacheManager.getCache(GET_BOOKS_BY_AUTHOR);
+        Duration warmAhead = Duration.ofSeconds(cacheWarmingProperties.getWarmAheadSeconds());
+        long nytBudget = Math.min(nytCallsPerRun, nytCallsPerDay - nytCallsSpentToday());
+        long spentNytCalls = 0;
+        long spentOpenLibraryCalls = 0;
+        int warmed = 0;
+        for (String author : authors) {
+            if (spentNytCalls >= nytBudget || spentOpenLibraryCalls >= cacheWarmingProperties.getMaxOpenLibraryCallsPerRun()) {
+                logger.info("[warmPopularAuthors] Upstream call budget spent after warming {} authors", warmed);
+                break;
+            }
+            if (cache == null || !needsWarming(cache, author, warmAhead)) {
+                continue;
+            }
+            long estimatedNytCalls = estimateNytCalls(cache, author);
+            if (spentNytCalls + estimatedNytCalls > nytBudget) {
+                logger.debug("[warmPopularAuthors] Skipping author: {}, its {} estimated NYTimes calls exceed the budget left",
+                        author, estimatedNytCalls);
+                continue;
+            }
+
+            long nytCallsBefore = nytTimer.count();
+            long openLibraryCallsBefore = openLibraryTimer.count();
+            try {
+                RequestPriority.runAs(RequestPriority.BACKGROUND, () -> nytBookService.warmBooksByAuthor(author));
+                warmedAuthors.increment();
+                warmed++;
+            } catch (UpstreamQuotaExceededException e) {
+                logger.info("[warmPopularAuthors] Stopping warming, no NYTimes permit left for background calls: {}", e.getMessage());
+                break;
+            } catch (RuntimeException e) {
+                logger.warn("[warmPopularAuthors] Error while warming books by author: {}", author, e);
+            } finally {
+                spentNytCalls += nytTimer.count() - nytCallsBefore;
+                spentOpenLibraryCalls += openLibraryTimer.count() - openLibraryCallsBefore;
+            }
+        }
+        nytCallsToday += spentNytCalls;
+        logger.info("[warmPopularAuthors] Warmed {} of the {} most searched authors with {} NYTimes and {} OpenLibrary calls",
+                warmed, authors.size(), spentNytCalls, spentOpenLibraryCalls);
+
+        // The calls made by this run are not counted as search load of the next run
+        lastUpstreamCalls = countUpstreamCalls();
+    }
+
+    /**
+     * Checks whether the cached books of an author are missing or expire within the warm-ahead window.
+     *
+     * @param cache     The cache of books by author.
+     * @param author    The author's name.
+     * @param warmAhead The warm-ahead window.
+     * @return True if the books of the author should be warmed.
+     */
+    private boolean needsWarming(Cache cache, String author, Duration warmAhead) {
+        if (!(cache instanceof CaffeineCache)) {
+            return cache.get(author) == null;
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+        Optional<Policy.FixedExpiration<Object, Object>> expiration = nativeCache.policy().expireAfterWrite();
+        if (expiration.isEmpty()) {
+            return nativeCache.getIfPresent(author) == null;
+        }
+        return expiration.get().ageOf(author)
+                .map(age -> expiration.get().getExpiresAfter().minus(age).compareTo(warmAhead) <= 0)
+                .orElse(true);
+    }
+
+    /**
+     * Estimates the NYTimes calls warming an author makes: one per history page of its books still cached, none if
+     * its books are cached without years, as only their years are resolved then, and a single page for an author
+     * never loaded. The caches are read without counting as an access, so no refresh is started.
+     *
+     * @param cache  The cache of books by author.
+     * @param author The author's name.
+     * @return The estimated number of NYTimes calls.
+     */
+    private long estimateNytCalls(Cache cache, String author) {
+        if (peek(cacheManager.getCache(GET_BOOKS_BY_AUTHOR_WITHOUT_YEARS), author) != null) {
+            return 0;
+        }
+        Object books = peek(cache, author);
+        int numBooks = books instanceof Collection ? ((Collection<?>) books).size() : 0;
+        return Math.max(1, (numBooks + NYT_PAGE_SIZE - 1) / NYT_PAGE_SIZE);
+    }
+
+    /**
+     * Reads a cached value without recording an access.
+     *
+     * @param cache The cache, or null if it is not configured.
+     * @param key   The key to read.
+     * @return The cached value, or null if the key is not cached.
+     */
+    private Object peek(Cache cache, String key) {
+        if (cache == null) {
+            return null;
+        }
+        if (cache instanceof CaffeineCache) {
+            return ((CaffeineCache) cache).getNativeCache().policy().getIfPresentQuietly(key);
+        }
+        Cache.ValueWrapper value = cache.get(key);
+        return value != null ? value.get() : null;
+    }
+
+    /**
+     * Returns the NYTimes calls spent by the runs of the current UTC day, starting a new day when it changed.
+     *
+     * @return The number of NYTimes calls spent today.
+     */
+    private long nytCallsSpentToday() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (!today.equals(day)) {
+            day = today;
+            nytCallsToday = 0;
+        }
+        return nytCallsToday;
+    }
+
+    /**
+     * Counts the NYTimes and OpenLibrary calls made so far.
+     *
+     * @return The number of upstream calls.
+     */
+    private long countUpstreamCalls() {
+        return nytTimer.count() + openLibraryTimer.count();
+    }
+}
@@ -1,22 +1,48 @@
 package com.ing.nybooks.service;
 
+import com.ing.nybooks.config.caching.CacheRefreshLoader;
+import com.ing.nybooks.config.caching.IndexedBookSet;
+import com.ing.nybooks.config.caching.SingleFlight;
+import com.ing.nybooks.config.executor.FanOutExecutor;
 import com.ing.nybooks.config.properties.NYTProperties;
+import com.ing.nybooks.config.resilience.RequestPriority;
 import com.ing.nybooks.config.restClient.RestClient;
 import com.ing.nybooks.model.dto.BookDto;
-import com.ing.nybooks.model.external.NYTApiResponse;
+import com.ing.nybooks.model.dto.BookPageDto;
+import com.ing.nybooks.model.external.NYTHistoryPage;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.concurrent.Queues;
 
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,31 +53,50 @@ import static com.ing.nybooks.model.Const.*;
  * Service class for interacting with the NYTimes API to retrieve books by author.
  */
 @Service
-public class NYTBookService {
+public class NYTBookService implements CacheRefreshLoader {
     private static final Logger logger = LoggerFactory.getLogger(NYTBookService.class);
     private final NYTProperties nytProperties;
     private final RestClient restClient;
     private final BookPublicationService bookPublicationService;
     private final Timer timer;
+    private final FanOutExecutor pageFanOutExecutor;
+    private final FanOutExecutor batchFanOutExecutor;
+    private final CacheManager cacheManager;
+    private final SingleFlight<String, Set<BookDto>> booksByAuthorFlight;
+    private final SingleFlight<String, EnrichedPage> bookPageFlight;
 
     /**
      * Constructor for NYTimesBookService.
      *
      * @param nytProperties         Configuration properties for NYTimes API.
-     * @param restClient            REST client for making API calls.
+     * @param restClient            REST client for making API calls, guarded by the NYTimes circuit breaker.
      * @param bookPublicationService Service for retrieving book publication year.
      * @param timer                 Timer recording metrics.
+     * @param pageFanOutExecutor    Executor fetching the history pages concurrently.
+     * @param batchFanOutExecutor   Executor fetching the history pages of a batch of authors concurrently.
+     * @param cacheManager          Cache manager shared with the blocking, annotation-cached path.
+     * @param booksByAuthorFlight   Coalesces concurrent searches of the same author.
+     * @param meterRegistry         Registry for recording the coalesced loads of history pages.
      */
-    public NYTBookService(NYTProperties nytProperties, RestClient restClient,
-                          BookPublicationService bookPublicationService, @Qualifier("nytBookApiCallTimer") Timer timer) {
+    public NYTBookService(NYTProperties nytProperties, @Qualifier("nytRestClient") RestClient restClient,
+                          BookPublicationService bookPublicationService, @Qualifier("nytBookApiCallTimer") Timer timer,
+                          @Qualifier("nytPageFanOutExecutor") FanOutExecutor pageFanOutExecutor,
+                          @Qualifier("nytBatchFanOutExecutor") FanOutExecutor batchFanOutExecutor, CacheManager cacheManager,
+                          SingleFlight<String, Set<BookDto>> booksByAuthorFlight, MeterRegistry meterRegistry) {
         this.nytProperties = nytProperties;
         this.restClient = restClient;
         this.bookPublicationService = bookPublicationService;
         this.timer = timer;
+        this.pageFanOutExecutor = pageFanOutExecutor;
+        this.batchFanOutExecutor = batchFanOutExecutor;
+        this.cacheManager = cacheManager;
+        this.booksByAuthorFlight = booksByAuthorFlight;
+        this.bookPageFlight = new SingleFlight<>(GET_BOOK_PAGE_BY_AUTHOR, meterRegistry);
     }
 
     /**
-     * Retrieve books by author and cache the result.
+     * Retrieve books by author and cache the result, indexed by publication year. Concurrent cache misses for the
+     * same author share a single load.
      *
      * @param author The author's name.
      * @return A BookResponseDto containing book information.
@@ -60,86 +105,658 @@ public class NYTBookService {
     public Set<BookDto> getBooksByAuthor(String author) {
         logger.info("[getBooksByAuthor] Retrieving books by author: {}", author);
 
-        // Validating and encoding the author name, then creating Uri
         validateAuthorName(author);
+        return booksByAuthorFlight.execute(author, () -> loadBooksByAuthor(author));
+    }
+
+    /**
+     * Loads the books of an author into the cache ahead of the searches, sharing the load with concurrent cache
+     * misses.
+     *
+     * @param author The author's name.
+     */
+    public void warmBooksByAuthor(String author) {
+        logger.info("[warmBooksByAuthor] Warming books by author: {}", author);
+
+        validateAuthorName(author);
+        booksByAuthorFlight.execute(author, () -> loadBooksByAuthor(author));
+    }
+
+    /**
+     * Returns the name of the cache of books by author, refreshed ahead of expiry by {@link #reload(Object)}.
+     *
+     * @return The cache name.
+     */
+    @Override
+    public String getCacheName() {
+        return GET_BOOKS_BY_AUTHOR;
+    }
+
+    /**
+     * Rebuilds the cached books of an author in the background, sharing the load with concurrent cache misses.
+     * Its upstream calls yield to the searches when upstream permits are scarce.
+     *
+     * @param author The author's name.
+     * @return The books of the author.
+     */
+    @Override
+    public Object reload(Object author) {
+        logger.info("[reload] Refreshing books by author: {}", author);
+        return RequestPriority.callAs(RequestPriority.BACKGROUND,
+                () -> booksByAuthorFlight.execute((String) author, () -> loadBooksByAuthor((String) author)));
+    }
+
+    /**
+     * Retrieve books by author without resolving their publication years, for callers not selecting the year.
+     * A cached result with years is reused as is; otherwise only the NYTimes API is called and the result is cached
+     * with the ISBNs of each book, so a later search needing the years resolves them without calling NYTimes again.
+     * Books without years are kept as a list: editions differing only in their year are told apart once it is
+     * resolved.
+     *
+     * @param author The author's name.
+     * @return The books of the author, with a null year unless it was already resolved.
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<BookDto> getBooksByAuthorWithoutYears(String author) {
+        logger.info("[getBooksByAuthorWithoutYears] Retrieving books by author: {}", author);
+
+        validateAuthorName(author);
+        Cache cache = cacheManager.getCache(GET_BOOKS_BY_AUTHOR);
+        Cache.ValueWrapper cachedBooks = cache != null ? cache.get(author) : null;
+        if (cachedBooks != null) {
+            return (Set<BookDto>) cachedBooks.get();
+        }
+
+        Cache cacheWithoutYears = cacheManager.getCache(GET_BOOKS_BY_AUTHOR_WITHOUT_YEARS);
+        Cache.ValueWrapper cachedBooksWithoutYears = cacheWithoutYears != null ? cacheWithoutYears.get(author) : null;
+        if (cachedBooksWithoutYears != null) {
+            return (List<BookDto>) cachedBooksWithoutYears.get();
+        }
+
+        List<BookDto> allBooks = fetchAllPages(author, this::mapToBooksWithoutYears, new ArrayList<>());
+        if (cacheWithoutYears != null) {
+            cacheWithoutYears.put(author, allBooks);
+        }
+        return allBooks;
+    }
+
+    /**
+     * Loads the books of an author from the NYTimes and OpenLibrary APIs and caches them. Books cached without years
+     * are upgraded by resolving their years only. The books are cached before the load is shared, so a search
+     * arriving once it completes finds them in the cache instead of starting another load.
+     *
+     * @param author The author's name.
+     * @return The books of the author, indexed by publication year.
+     */
+    @SuppressWarnings("unchecked")
+    private IndexedBookSet loadBooksByAuthor(String author) {
+        Cache cacheWithoutYears = cacheManager.getCache(GET_BOOKS_BY_AUTHOR_WITHOUT_YEARS);
+        Cache.ValueWrapper cachedBooksWithoutYears = cacheWithoutYears != null ? cacheWithoutYears.get(author) : null;
+        IndexedBookSet books;
+        if (cachedBooksWithoutYears != null) {
+            books = IndexedBookSet.of(new LinkedHashSet<>(resolveYears((List<BookDto>) cachedBooksWithoutYears.get())));
+            logger.info("[loadBooksByAuthor] Resolved the years of {} cached books for author: {}", books.size(), author);
+        } else {
+            books = IndexedBookSet.of(fetchAllPages(author, this::mapToBookResponseDto, new LinkedHashSet<>()));
+        }
+
+        Cache cache = cacheManager.getCache(GET_BOOKS_BY_AUTHOR);
+        if (cache != null) {
+            cache.put(author, books);
+        }
+        if (cachedBooksWithoutYears != null) {
+            // The books with years supersede the ones without
+            cacheWithoutYears.evict(author);
+        }
+        return books;
+    }
+
+    /**
+     * Fetches every page of the NYTimes history for the author, concurrently, and maps the books of each page.
+     *
+     * @param author   The author's name.
+     * @param mapper   Maps the books of a page.
+     * @param allBooks Receives the books of every page; a set drops the books repeated across pages.
+     * @param <C>      The type of the collection receiving the books.
+     * @return The books of the author, in history order.
+     */
+    private <C extends Collection<BookDto>> C fetchAllPages(String author,
+                                                           Function<NYTHistoryPage, ? extends Collection<BookDto>> mapper,
+                                                           C allBooks) {
+        // Encoding the author name, then creating Uri
         String sanitizedAuthorName = sanitizeAndEncode(author);
-        Set<BookDto> allBooks = new HashSet<>();
-        int recordsPerPage = 20;
-        URI uri = buildApiUri(sanitizedAuthorName, 0);
-        NYTApiResponse firstResponse = restClient.getForObject(uri, NYTApiResponse.class);
+        NYTHistoryPage firstResponse = fetchPage(sanitizedAuthorName, 0);
 
-        if (firstResponse != null && firstResponse.getNum_results() > 0) {
-            int numPages = (int) Math.ceil((double) firstResponse.getNum_results() / recordsPerPage);
+        if (firstResponse != null && firstResponse.getNumResults() > 0) {
+            int numPages = (int) Math.ceil((double) firstResponse.getNumResults() / NYT_PAGE_SIZE);
+            List<Integer> offsets = IntStream.range(0, numPages)
+                    .mapToObj(page -> page * NYT_PAGE_SIZE)
+                    .collect(Collectors.toList());
 
-            for (int page = 0; page < numPages; page++) {
-                uri = buildApiUri(sanitizedAuthorName, page * recordsPerPage);
+            // The first response is reused, the remaining offsets are fetched concurrently
+            List<Collection<BookDto>> pages = pageFanOutExecutor.invokeAll(offsets, offset ->
+                    mapper.apply(offset == 0 ? firstResponse : fetchPage(sanitizedAuthorName, offset)));
+            logger.info("[fetchAllPages] Fetched {} pages concurrently for author: {}", numPages, author);
 
-                Timer.Sample sample = Timer.start();
-                NYTApiResponse response = restClient.getForObject(uri, NYTApiResponse.class);
-                timer.record(() -> sample.stop(timer) / 1000000);
+            // Merging in offset order keeps the result deterministic
+            pages.forEach(allBooks::addAll);
+        }
+        logger.info("[fetchAllPages] Retrieved {} books for author: {}", allBooks.size(), author);
+
+        return allBooks;
+    }
+
+    /**
+     * Retrieve the books of several authors at once. Cached authors are served from the cache and authors loaded
+     * by concurrent searches are waited for. The history pages of the remaining authors are fetched together on
+     * the batch executor, and the publication years of all their books are resolved with a single lookup, so ISBNs
+     * shared between authors are resolved once.
+     *
+     * @param authors The authors' names.
+     * @return The books of each distinct author, in request order.
+     * @throws IllegalArgumentException If an author name is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Set<BookDto>> getBooksByAuthors(List<String> authors) {
+        logger.info("[getBooksByAuthors] Retrieving books by {} authors", authors.size());
+
+        authors.forEach(this::validateAuthorName);
+        Cache cache = cacheManager.getCache(GET_BOOKS_BY_AUTHOR);
+        Map<String, Set<BookDto>> booksByAuthor = new LinkedHashMap<>();
+        List<String> missingAuthors = new ArrayList<>();
+        for (String author : new LinkedHashSet<>(authors)) {
+            Cache.ValueWrapper cachedBooks = cache != null ? cache.get(author) : null;
+            // Inserting every author up front keeps the result in request order
+            booksByAuthor.put(author, cachedBooks != null ? (Set<BookDto>) cachedBooks.get() : null);
+            if (cachedBooks == null) {
+                missingAuthors.add(author);
+            }
+        }
+
+        if (!missingAuthors.isEmpty()) {
+            Map<String, Set<BookDto>> loadedBooks = booksByAuthorFlight.executeAll(missingAuthors, this::loadBooksByAuthors);
+            missingAuthors.forEach(author -> booksByAuthor.put(author, loadedBooks.getOrDefault(author, Collections.emptySet())));
+        }
+        logger.info("[getBooksByAuthors] Retrieved books by {} authors, {} of them from the cache",
+                booksByAuthor.size(), booksByAuthor.size() - missingAuthors.size());
 
-                if (response != null && response.getResults() != null) {
-                    allBooks.addAll(mapToBookResponseDto(response));
+        return booksByAuthor;
+    }
+
+    /**
+     * Loads the books of several authors and caches them. Books cached without years are reused, the first
+     * history pages of the other authors are fetched together, then all their remaining pages. The books of each
+     * author are kept as a list until their years are resolved, and deduplicated only then, like a single load.
+     *
+     * @param authors The authors' names.
+     * @return The books of each author, indexed by publication year.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Set<BookDto>> loadBooksByAuthors(List<String> authors) {
+        Cache cacheWithoutYears = cacheManager.getCache(GET_BOOKS_BY_AUTHOR_WITHOUT_YEARS);
+        Map<String, List<BookDto>> booksWithoutYears = new LinkedHashMap<>();
+        List<String> authorsToFetch = new ArrayList<>();
+        for (String author : authors) {
+            Cache.ValueWrapper cachedBooks = cacheWithoutYears != null ? cacheWithoutYears.get(author) : null;
+            if (cachedBooks != null) {
+                booksWithoutYears.put(author, new ArrayList<>((List<BookDto>) cachedBooks.get()));
+            } else {
+                authorsToFetch.add(author);
+            }
+        }
+
+        List<NYTHistoryPage> firstResponses = batchFanOutExecutor.invokeAll(authorsToFetch, author ->
+                fetchPage(sanitizeAndEncode(author), 0));
+        List<int[]> remainingPages = new ArrayList<>();
+        for (int i = 0; i < authorsToFetch.size(); i++) {
+            NYTHistoryPage firstResponse = firstResponses.get(i);
+            booksWithoutYears.put(authorsToFetch.get(i), mapToBooksWithoutYears(firstResponse));
+            int numResults = firstResponse != null ? firstResponse.getNumResults() : 0;
+            for (int offset = NYT_PAGE_SIZE; offset < numResults; offset += NYT_PAGE_SIZE) {
+                remainingPages.add(new int[]{i, offset});
+            }
+        }
+
+        // The pages of all authors share the batch executor; appending them in offset order keeps each result deterministic
+        List<NYTHistoryPage> remainingResponses = batchFanOutExecutor.invokeAll(remainingPages, page ->
+                fetchPage(sanitizeAndEncode(authorsToFetch.get(page[0])), page[1]));
+        for (int i = 0; i < remainingPages.size(); i++) {
+            booksWithoutYears.get(authorsToFetch.get(remainingPages.get(i)[0]))
+                    .addAll(mapToBooksWithoutYears(remainingResponses.get(i)));
+        }
+        logger.info("[loadBooksByAuthors] Fetched {} pages for {} authors", authorsToFetch.size() + remainingPages.size(), authorsToFetch.size());
+
+        List<BookDto> allBooks = booksWithoutYears.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        List<BookDto> allBooksWithYears = resolveYears(allBooks);
+
+        Cache cache = cacheManager.getCache(GET_BOOKS_BY_AUTHOR);
+        Map<String, Set<BookDto>> booksByAuthor = new HashMap<>();
+        int position = 0;
+        for (Map.Entry<String, List<BookDto>> entry : booksWithoutYears.entrySet()) {
+            int numBooks = entry.getValue().size();
+            IndexedBookSet books = IndexedBookSet.of(new LinkedHashSet<>(allBooksWithYears.subList(position, position + numBooks)));
+            position += numBooks;
+            booksByAuthor.put(entry.getKey(), books);
+            if (cache != null) {
+                cache.put(entry.getKey(), books);
+            }
+            if (cacheWithoutYears != null) {
+                cacheWithoutYears.evict(entry.getKey());
+            }
+        }
+        return booksByAuthor;
+    }
+
+    /**
+     * Resolves the publication years of books retrieved without them, from the ISBNs kept with each book.
+     *
+     * @param booksWithoutYears The books without years.
+     * @return Copies of the books with their years, in the same order.
+     */
+    private List<BookDto> resolveYears(Collection<BookDto> booksWithoutYears) {
+        List<BookDto> books = new ArrayList<>(booksWithoutYears);
+        List<Set<String>> isbnLists = books.stream()
+                .map(book -> book.getIsbns() != null ? book.getIsbns() : Collections.<String>emptySet())
+                .collect(Collectors.toList());
+        List<Integer> publishYears = isbnLists.stream().allMatch(Set::isEmpty)
+                ? Collections.nCopies(books.size(), UNKNOWN_YEAR)
+                : bookPublicationService.getPublishYearsByIsbn(isbnLists);
+
+        List<BookDto> booksWithYears = new ArrayList<>(books.size());
+        for (int i = 0; i < books.size(); i++) {
+            BookDto book = new BookDto();
+            book.setName(books.get(i).getName());
+            book.setPublisher(books.get(i).getPublisher());
+            book.setAuthor(books.get(i).getAuthor());
+            book.setYear(publishYears.get(i));
+            booksWithYears.add(book);
+        }
+        return booksWithYears;
+    }
+
+    /**
+     * Retrieve books by author without blocking. Pages and publication year lookups flow as a non-blocking
+     * pipeline; the result shares the cache and the in-flight loads of {@link #getBooksByAuthor(String)}.
+     *
+     * @param author The author's name.
+     * @return A Mono emitting the books of the author.
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<Set<BookDto>> getBooksByAuthorAsync(String author) {
+        return Mono.defer(() -> {
+            logger.info("[getBooksByAuthorAsync] Retrieving books by author: {}", author);
+
+            validateAuthorName(author);
+            Cache cache = cacheManager.getCache(GET_BOOKS_BY_AUTHOR);
+            Cache.ValueWrapper cachedBooks = cache != null ? cache.get(author) : null;
+            if (cachedBooks != null) {
+                return Mono.just((Set<BookDto>) cachedBooks.get());
+            }
+
+            return booksByAuthorFlight.executeAsync(author,
+                    () -> loadBooksByAuthorAsync(author, fetchEnrichedPagesAsync(author), cache));
+        });
+    }
+
+    /**
+     * Loads the books of an author from the NYTimes and OpenLibrary APIs without blocking and caches them.
+     *
+     * @param author The author's name.
+     * @param pages  The enriched pages of the author.
+     * @param cache  The cache of books by author, or null if it is not configured.
+     * @return A Mono emitting the books of the author, indexed by publication year.
+     */
+    private Mono<Set<BookDto>> loadBooksByAuthorAsync(String author, Flux<Set<BookDto>> pages, Cache cache) {
+        return pages
+                .collect(LinkedHashSet<BookDto>::new, Set::addAll)
+                .map(allBooks -> (Set<BookDto>) IndexedBookSet.of(allBooks))
+                .doOnNext(allBooks -> {
+                    logger.info("[loadBooksByAuthorAsync] Retrieved {} books for author: {}", allBooks.size(), author);
+                    if (cache != null) {
+                        cache.put(author, allBooks);
+                    }
+                });
+    }
+
+    /**
+     * Retrieve one page of the books of an author. Books come in the order of {@link #getBooksByAuthor(String)}, and
+     * the cursor is the position of the next book in that order. A cached result of that method is paged directly;
+     * otherwise only the history pages needed to fill the requested page are fetched and enriched. Each history page
+     * drops the books of the pages before it, as the full result does, and is cached so the following pages reuse it.
+     *
+     * @param author   The author's name.
+     * @param filter   The books to include in the page.
+     * @param pageSize The maximum number of books in the page.
+     * @param cursor   The cursor returned with the previous page, or null or empty for the first page.
+     * @return The page of books with the cursor of the next page.
+     * @throws IllegalArgumentException If the author name is empty or the cursor is invalid.
+     */
+    @SuppressWarnings("unchecked")
+    public BookPageDto getBookPageByAuthor(String author, Predicate<BookDto> filter, int pageSize, String cursor) {
+        logger.info("[getBookPageByAuthor] Retrieving {} books by author: {} from cursor: {}", pageSize, author, cursor);
+
+        validateAuthorName(author);
+        int position = decodeCursor(cursor);
+        Cache cache = cacheManager.getCache(GET_BOOKS_BY_AUTHOR);
+        Cache.ValueWrapper cachedBooks = cache != null ? cache.get(author) : null;
+        List<BookDto> books = new ArrayList<>(pageSize);
+        String nextCursor = null;
+
+        if (cachedBooks != null) {
+            Iterator<BookDto> allBooks = ((Set<BookDto>) cachedBooks.get()).iterator();
+            for (int skipped = 0; skipped < position && allBooks.hasNext(); skipped++) {
+                allBooks.next();
+            }
+            while (allBooks.hasNext() && books.size() < pageSize) {
+                BookDto book = allBooks.next();
+                position++;
+                if (filter.test(book)) {
+                    books.add(book);
                 }
-                logger.info("[getBooksByAuthor] Retrieved {} books for author: {} offset {}", allBooks.size(), author, page);
+            }
+            if (books.size() == pageSize && allBooks.hasNext()) {
+                nextCursor = encodeCursor(position);
+            }
+        } else {
+            String sanitizedAuthorName = sanitizeAndEncode(author);
+            Set<BookDto> previousBooks = new HashSet<>();
+            int pageStart = 0;
+            for (int offset = 0; ; offset += NYT_PAGE_SIZE) {
+                EnrichedPage page = getEnrichedPage(author, sanitizedAuthorName, offset, previousBooks);
+                int index = Math.max(0, position - pageStart);
+                while (index < page.books.size() && books.size() < pageSize) {
+                    BookDto book = page.books.get(index++);
+                    if (filter.test(book)) {
+                        books.add(book);
+                    }
+                }
+
+                boolean morePages = offset + NYT_PAGE_SIZE < page.numResults;
+                if (books.size() == pageSize) {
+                    if (index < page.books.size() || morePages) {
+                        nextCursor = encodeCursor(pageStart + index);
+                    }
+                    break;
+                }
+                if (!morePages) {
+                    break;
+                }
+                pageStart += page.books.size();
             }
         }
-        logger.info("[getBooksByAuthor] Retrieved {} books for author: {}", allBooks.size(), author);
 
-        return allBooks;
+        BookPageDto bookPage = new BookPageDto();
+        bookPage.setBooks(books);
+        bookPage.setNextCursor(nextCursor);
+        logger.info("[getBookPageByAuthor] Retrieved {} books for author: {}", books.size(), author);
+        return bookPage;
     }
 
     /**
-     * Map NYTimesApiResponse to BookResponseDto.
+     * Streams the books of an author as soon as the page holding them is enriched with publication years, in
+     * page order. A miss leads the load of {@link #getBooksByAuthorAsync(String)}: its pages are replayed to the
+     * stream as they arrive, and concurrent callers of either method join it instead of loading the author again.
+     * A stream started while another load of the author is in flight emits once that load completed; a cached
+     * result is streamed directly.
      *
-     * @param NYTApiResponse The API response to map.
-     * @return A mapped BookResponseDto.
+     * @param author The author's name.
+     * @return A Flux emitting the books of the author.
      */
-    private Set<BookDto> mapToBookResponseDto(NYTApiResponse NYTApiResponse) {
-        Set<BookDto> books = new HashSet<>();
-        if (NYTApiResponse != null && NYTApiResponse.getResults() != null) {
-            for (NYTApiResponse.BookResult bookResult : NYTApiResponse.getResults()) {
-                BookDto book = new BookDto();
-                book.setName(bookResult.getTitle());
-                book.setPublisher(bookResult.getPublisher());
-                book.setYear(getPublishYear(bookResult));
-                book.setAuthor(bookResult.getAuthor());
-                books.add(book);
+    @SuppressWarnings("unchecked")
+    public Flux<BookDto> streamBooksByAuthor(String author) {
+        return Flux.defer(() -> {
+            logger.info("[streamBooksByAuthor] Streaming books by author: {}", author);
+
+            validateAuthorName(author);
+            Cache cache = cacheManager.getCache(GET_BOOKS_BY_AUTHOR);
+            Cache.ValueWrapper cachedBooks = cache != null ? cache.get(author) : null;
+            if (cachedBooks != null) {
+                return Flux.fromIterable((Set<BookDto>) cachedBooks.get());
             }
+
+            // The shared load runs to completion and caches the result even if this stream is cancelled
+            Flux<Set<BookDto>> pages = fetchEnrichedPagesAsync(author).cache();
+            AtomicBoolean leading = new AtomicBoolean();
+            CompletableFuture<Set<BookDto>> load = booksByAuthorFlight.executeAsync(author, () -> {
+                leading.set(true);
+                return loadBooksByAuthorAsync(author, pages, cache);
+            }).toFuture();
+            if (!leading.get()) {
+                return Mono.fromFuture(load).flatMapIterable(books -> books);
+            }
+
+            Set<BookDto> allBooks = new LinkedHashSet<>();
+            return pages
+                    .concatMapIterable(books -> books.stream()
+                            .filter(allBooks::add)
+                            .collect(Collectors.toList()))
+                    .doOnComplete(() ->
+                            logger.info("[streamBooksByAuthor] Streamed {} books for author: {}", allBooks.size(), author));
+        });
+    }
+
+    /**
+     * Fetches the pages of the NYTimes history for the author and enriches them with publication years, without
+     * blocking. Up to the fan-out parallelism pages are in flight at once; they are emitted in offset order.
+     *
+     * @param author The author's name.
+     * @return A Flux emitting the books of each page.
+     */
+    private Flux<Set<BookDto>> fetchEnrichedPagesAsync(String author) {
+        int prefetch = Queues.SMALL_BUFFER_SIZE;
+        String sanitizedAuthorName = sanitizeAndEncode(author);
+        int parallelism = pageFanOutExecutor.getMaxParallelism();
+        return fetchPageAsync(sanitizedAuthorName, 0)
+                .flatMapMany(firstResponse -> {
+                    int numPages = (int) Math.ceil((double) firstResponse.getNumResults() / NYT_PAGE_SIZE);
+                    // The first response is reused, the remaining offsets are fetched concurrently in offset order
+                    return Flux.range(0, numPages)
+                            .flatMapSequential(page -> page == 0
+                                    ? Mono.just(firstResponse)
+                                    : fetchPageAsync(sanitizedAuthorName, page * NYT_PAGE_SIZE), parallelism, prefetch);
+                })
+                .flatMapSequential(this::mapToBookResponseDtoAsync, parallelism, prefetch);
+    }
+
+    /**
+     * Fetches and enriches a single page of the NYTimes history for the author, or reuses it from the page cache.
+     * Concurrent misses of the same page share a single load.
+     *
+     * @param author              The author's name.
+     * @param sanitizedAuthorName The sanitized and encoded author name.
+     * @param offset              The offset of the page.
+     * @param previousBooks       The books of the pages before it, which the page leaves out; its own books are added.
+     * @return The enriched page.
+     */
+    private EnrichedPage getEnrichedPage(String author, String sanitizedAuthorName, int offset, Set<BookDto> previousBooks) {
+        Cache cache = cacheManager.getCache(GET_BOOK_PAGE_BY_AUTHOR);
+        String key = author + ":" + offset;
+        EnrichedPage page = cache != null ? cache.get(key, EnrichedPage.class) : null;
+        if (page == null) {
+            page = bookPageFlight.execute(key, () -> {
+                NYTHistoryPage response = fetchPage(sanitizedAuthorName, offset);
+                EnrichedPage loadedPage = new EnrichedPage(mapToBookResponseDto(response).stream()
+                        .filter(book -> !previousBooks.contains(book))
+                        .collect(Collectors.toList()), response != null ? response.getNumResults() : 0);
+                if (cache != null) {
+                    cache.put(key, loadedPage);
+                }
+                return loadedPage;
+            });
         }
-        return books;
+        previousBooks.addAll(page.books);
+        return page;
     }
 
     /**
-     * Set the publication year for a book using BookPublicationService.
+     * Encodes a position in the books of an author as an opaque cursor.
      *
-     * @param book The book to set the publication year for.
+     * @param position The position of the next book.
+     * @return The cursor.
      */
-    private int getPublishYear(NYTApiResponse.BookResult book) {
+    private String encodeCursor(int position) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Integer.toString(position).getBytes(StandardCharsets.UTF_8));
+    }
 
-        Set<String> uniqueIsbnList = new HashSet<>();
-        int publishYear = UNKNOWN_YEAR;
+    /**
+     * Decodes a cursor into a position in the books of an author.
+     *
+     * @param cursor The cursor, or null or empty for the first page.
+     * @return The position of the next book.
+     * @throws IllegalArgumentException If the cursor is invalid.
+     */
+    private int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        int position;
+        try {
+            position = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+        if (position < 0) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+        return position;
+    }
 
-        // Collect ISBN-13 values from BookResult's Isbn objects
-        List<NYTApiResponse.BookResult.Isbn> bookIsbnList = book.getIsbns();
-        if (bookIsbnList != null) {
-            uniqueIsbnList.addAll(bookIsbnList.stream()
-                    .map(NYTApiResponse.BookResult.Isbn::getIsbn13)
-                    .collect(Collectors.toList()));
+    /**
+     * Fetches a single page of the NYTimes history for the author.
+     *
+     * @param sanitizedAuthorName The sanitized and encoded author name.
+     * @param offset              The offset of the page.
+     * @return The API response for the page.
+     */
+    private NYTHistoryPage fetchPage(String sanitizedAuthorName, int offset) {
+        URI uri = buildApiUri(sanitizedAuthorName, offset);
+
+        Timer.Sample sample = Timer.start();
+        NYTHistoryPage response = restClient.getForObject(uri, NYTHistoryPage.class);
+        sample.stop(timer);
+
+        logger.debug("[fetchPage] Retrieved page at offset {} for author: {}", offset, sanitizedAuthorName);
+        return response;
+    }
+
+    /**
+     * Fetches a single page of the NYTimes history for the author without blocking.
+     *
+     * @param sanitizedAuthorName The sanitized and encoded author name.
+     * @param offset              The offset of the page.
+     * @return A Mono emitting the API response for the page.
+     */
+    private Mono<NYTHistoryPage> fetchPageAsync(String sanitizedAuthorName, int offset) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return restClient.getForMono(buildApiUri(sanitizedAuthorName, offset), NYTHistoryPage.class)
+                    .doFinally(signal -> sample.stop(timer));
+        });
+    }
+
+    /**
+     * Map NYTHistoryPage to BookResponseDto.
+     *
+     * @param page The history page to map.
+     * @return A mapped BookResponseDto.
+     */
+    Set<BookDto> mapToBookResponseDto(NYTHistoryPage page) {
+        if (page == null || page.getBooks() == null) {
+            return new LinkedHashSet<>();
+        }
+        List<NYTHistoryPage.Book> bookResults = page.getBooks();
+        return toBookDtos(bookResults, getPublishYears(bookResults));
+    }
+
+    /**
+     * Map NYTHistoryPage to BookResponseDto without resolving the publication years, keeping the ISBNs of
+     * each book instead. Books are compared by their year, so they are not deduplicated until it is resolved.
+     *
+     * @param page The history page to map.
+     * @return The mapped books, with a null year, in page order.
+     */
+    private List<BookDto> mapToBooksWithoutYears(NYTHistoryPage page) {
+        List<BookDto> books = new ArrayList<>();
+        if (page == null || page.getBooks() == null) {
+            return books;
+        }
+        for (NYTHistoryPage.Book bookResult : page.getBooks()) {
+            BookDto book = new BookDto();
+            book.setName(bookResult.getTitle());
+            book.setPublisher(bookResult.getPublisher());
+            book.setAuthor(bookResult.getAuthor());
+            book.setIsbns(bookResult.getIsbns());
+            books.add(book);
+        }
+        return books;
+    }
+
+    /**
+     * Map NYTHistoryPage to BookResponseDto without blocking on the publication year lookups.
+     *
+     * @param page The history page to map.
+     * @return A Mono emitting the mapped BookResponseDto.
+     */
+    private Mono<Set<BookDto>> mapToBookResponseDtoAsync(NYTHistoryPage page) {
+        if (page.getBooks() == null) {
+            return Mono.just(new LinkedHashSet<>());
         }
+        List<NYTHistoryPage.Book> bookResults = page.getBooks();
+        List<Set<String>> isbnLists = collectIsbnLists(bookResults);
+        Mono<List<Integer>> publishYears = isbnLists.stream().allMatch(Set::isEmpty)
+                ? Mono.just(Collections.nCopies(bookResults.size(), UNKNOWN_YEAR))
+                : bookPublicationService.getPublishYearsByIsbnAsync(isbnLists);
+        return publishYears.map(years -> toBookDtos(bookResults, years));
+    }
 
-        // Collect ISBN-13 values from RankHistory's primary_isbn13
-        List<NYTApiResponse.BookResult.RankHistory> rankHistoryList = book.getRanks_history();
-        if (rankHistoryList != null) {
-            uniqueIsbnList.addAll(rankHistoryList.stream()
-                    .map(NYTApiResponse.BookResult.RankHistory::getPrimary_isbn13)
-                    .collect(Collectors.toList()));
+    /**
+     * Builds the BookDto of every book of a page.
+     *
+     * @param bookResults  The books of the page.
+     * @param publishYears The publication year of each book.
+     * @return The mapped books, in page order.
+     */
+    private Set<BookDto> toBookDtos(List<NYTHistoryPage.Book> bookResults, List<Integer> publishYears) {
+        Set<BookDto> books = new LinkedHashSet<>();
+        for (int i = 0; i < bookResults.size(); i++) {
+            NYTHistoryPage.Book bookResult = bookResults.get(i);
+            BookDto book = new BookDto();
+            book.setName(bookResult.getTitle());
+            book.setPublisher(bookResult.getPublisher());
+            book.setYear(publishYears.get(i));
+            book.setAuthor(bookResult.getAuthor());
+            books.add(book);
         }
+        return books;
+    }
 
-        if (!uniqueIsbnList.isEmpty()) {
-            publishYear = bookPublicationService.getPublishYearByIsbn(uniqueIsbnList);
+    /**
+     * Resolve the publication years of all books of a page in bulk using BookPublicationService.
+     *
+     * @param books The books to resolve the publication years for.
+     * @return The publication year of each book, in the same order as the books.
+     */
+    private List<Integer> getPublishYears(List<NYTHistoryPage.Book> books) {
+        List<Set<String>> isbnLists = collectIsbnLists(books);
+        if (isbnLists.stream().allMatch(Set::isEmpty)) {
+            return Collections.nCopies(books.size(), UNKNOWN_YEAR);
         }
-        return publishYear;
+        return bookPublicationService.getPublishYearsByIsbn(isbnLists);
+    }
+
+    /**
+     * Collect the unique ISBN-13 values of every book of a page.
+     *
+     * @param books The books to collect the ISBNs for.
+     * @return The unique ISBN-13 values of each book, in the same order as the books.
+     */
+    List<Set<String>> collectIsbnLists(List<NYTHistoryPage.Book> books) {
+        return books.stream()
+                .map(NYTHistoryPage.Book::getIsbns)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -153,6 +770,7 @@ public class NYTBookService {
         return UriComponentsBuilder.newInstance()
                 .scheme(nytProperties.getScheme())
                 .host(nytProperties.getHost())
+                .port(nytProperties.getPort() > 0 ? nytProperties.getPort() : -1)
                 .path(nytProperties.getPath())
                 .queryParam(AUTHOR, sanitizedAuthorName)
                 .queryParam(OFFSET, offset)
@@ -183,4 +801,17 @@ public class NYTBookService {
         return URLEncoder.encode(input, StandardCharsets.UTF_8);
     }
 
+    /**
+     * A page of the NYTimes history enriched with publication years, cached per author and offset.
+     */
+    private static final class EnrichedPage {
+        private final List<BookDto> books;
+        private final int numResults;
+
+        private EnrichedPage(List<BookDto> books, int numResults) {
+            this.books = books;
+            this.numResults = numResults;
+        }
+    }
+
 }
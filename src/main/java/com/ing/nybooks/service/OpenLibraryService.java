@@ -1,22 +1,39 @@
 package com.ing.nybooks.service;
 
+import com.ing.nybooks.config.caching.IsbnYearCache;
+import com.ing.nybooks.config.caching.SingleFlight;
+import com.ing.nybooks.config.executor.FanOutExecutor;
 import com.ing.nybooks.config.properties.OpenLibraryProperties;
+import com.ing.nybooks.config.resilience.RequestHedger;
 import com.ing.nybooks.model.Const;
-import com.ing.nybooks.model.external.OpenLibraryApiResponse;
+import com.ing.nybooks.model.external.OpenLibraryPublishDate;
+import com.ing.nybooks.model.external.OpenLibraryBulkApiResponse;
 import com.ing.nybooks.config.restClient.RestClient;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.ing.nybooks.model.Const.ISBN_BIB_KEY_PREFIX;
 import static com.ing.nybooks.model.Const.UNKNOWN_YEAR;
 
 /**
@@ -28,36 +45,63 @@ public class OpenLibraryService implements BookPublicationService {
     private final OpenLibraryProperties openLibraryProperties;
     private final RestClient restClient;
     private final Timer timer;
+    private final IsbnYearCache isbnYearCache;
+    private final FanOutExecutor fanOutExecutor;
+    private final Semaphore inFlightCalls;
+    private final SingleFlight<String, Integer> publishYearFlight;
+    private final RequestHedger requestHedger;
 
     /**
      * Constructor for OpenLibraryService.
      *
      * @param openLibraryProperties Configuration properties for OpenLibrary API.
-     * @param restClient            REST client for making API calls.
+     * @param restClient            REST client for making API calls, guarded by the OpenLibrary circuit breaker.
      * @param timer                 Timer for recording metrics.
+     * @param isbnYearCache         ISBN-level cache of publication years.
+     * @param fanOutExecutor        Executor resolving the books of a page concurrently.
+     * @param publishYearFlight     Coalesces concurrent OpenLibrary lookups of the same ISBN.
+     * @param requestHedger         Hedges the single-ISBN lookups stuck in the latency tail.
      */
-    public OpenLibraryService(OpenLibraryProperties openLibraryProperties, RestClient restClient, @Qualifier("openLibraryApiCallTimer") Timer timer) {
+    public OpenLibraryService(OpenLibraryProperties openLibraryProperties, @Qualifier("openLibraryRestClient") RestClient restClient,
+                              @Qualifier("openLibraryApiCallTimer") Timer timer, IsbnYearCache isbnYearCache,
+                              @Qualifier("openLibraryFanOutExecutor") FanOutExecutor fanOutExecutor,
+                              SingleFlight<String, Integer> publishYearFlight,
+                              @Qualifier("openLibraryRequestHedger") RequestHedger requestHedger) {
         this.openLibraryProperties = openLibraryProperties;
         this.restClient = restClient;
         this.timer = timer;
+        this.isbnYearCache = isbnYearCache;
+        this.fanOutExecutor = fanOutExecutor;
+        this.inFlightCalls = new Semaphore(Math.max(1, openLibraryProperties.getMaxInFlight()));
+        this.publishYearFlight = publishYearFlight;
+        this.requestHedger = requestHedger;
     }
 
     /**
-     * Retrieve publication year by ISBN and cache the result.
+     * Retrieve publication year by ISBN, caching the result per ISBN.
      *
      * @param isbnList List of ISBN of the book.
      * @return The publication year.
      */
     @Override
-    @Cacheable(cacheNames = "getPublishYearByIsbn", key = "#isbnList")
     public int getPublishYearByIsbn(Set<String> isbnList) {
         logger.info("[getPublicationYearByIsbn] Retrieving publication year for ISBN List: {}", isbnList);
 
+        Integer cachedYear = findCachedYear(isbnList);
+        if (cachedYear != null) {
+            logger.debug("[getPublicationYearByIsbn] Found cached publication year {} for ISBN List: {}", cachedYear, isbnList);
+            return cachedYear;
+        }
+
         for (String isbn : isbnList) {
+            if (isbnYearCache.isUnresolvable(isbn)) {
+                continue;
+            }
             try {
                 int publicationYear = fetchPublicationYear(isbn);
                 if (publicationYear > 0) {
                     logger.debug("[getPublicationYearByIsbn] Retrieved publication year for ISBN {}: {}", isbn, publicationYear);
+                    isbnYearCache.put(isbn, publicationYear);
                     return publicationYear; // Return the first valid publication year found
                 }
             } catch (Exception e) {
@@ -68,48 +112,499 @@ public class OpenLibraryService implements BookPublicationService {
         logger.info("[getPublicationYearByIsbn] No valid publication year found for ISBN List: {}", isbnList);
         return UNKNOWN_YEAR; // Return -2 if no valid publication year is found
     }
+
+    /**
+     * Retrieve publication year by ISBN without blocking, caching the result per ISBN.
+     *
+     * @param isbnList List of ISBN of the book.
+     * @return A Mono emitting the publication year.
+     */
+    @Override
+    public Mono<Integer> getPublishYearByIsbnAsync(Set<String> isbnList) {
+        return Mono.defer(() -> {
+            Integer cachedYear = findCachedYear(isbnList);
+            if (cachedYear != null) {
+                return Mono.just(cachedYear);
+            }
+
+            // ISBNs are tried one after another until one yields a valid year
+            return Flux.fromIterable(isbnList)
+                    .filter(isbn -> isbn != null && !isbnYearCache.isUnresolvable(isbn))
+                    .concatMap(isbn -> fetchPublicationYearAsync(isbn)
+                            .filter(publicationYear -> publicationYear > 0)
+                            .doOnNext(publicationYear -> isbnYearCache.put(isbn, publicationYear)))
+                    .next()
+                    .defaultIfEmpty(UNKNOWN_YEAR);
+        });
+    }
+
+    /**
+     * Retrieve the publication years of several books with as few OpenLibrary calls as possible.
+     *
+     * @param isbnLists The ISBN List of each book.
+     * @return The publication year of each book, in the same order as the ISBN lists.
+     */
+    @Override
+    public List<Integer> getPublishYearsByIsbn(List<Set<String>> isbnLists) {
+        logger.info("[getPublishYearsByIsbn] Retrieving publication years for {} books", isbnLists.size());
+
+        List<Integer> cachedYears = findCachedYears(isbnLists);
+        List<List<String>> batches = batchUncachedIsbns(isbnLists, cachedYears);
+
+        // Batches are fetched concurrently
+        List<Map<String, Integer>> batchYears = fanOutExecutor.invokeAll(batches, this::fetchPublicationYearsSafely);
+        List<Integer> publicationYears = mergePublicationYears(isbnLists, cachedYears, batches, batchYears);
+
+        // Books whose bulk call failed fall back to the single-ISBN lookups, resolved concurrently as well
+        List<Integer> fallbackIndexes = findFallbackIndexes(publicationYears);
+        List<Integer> fallbackYears = fanOutExecutor.invokeAll(fallbackIndexes, i -> getPublishYearByIsbn(isbnLists.get(i)));
+        for (int i = 0; i < fallbackIndexes.size(); i++) {
+            publicationYears.set(fallbackIndexes.get(i), fallbackYears.get(i));
+        }
+        return publicationYears;
+    }
+
+    /**
+     * Retrieve the publication years of several books without blocking, with as few OpenLibrary calls as possible.
+     *
+     * @param isbnLists The ISBN List of each book.
+     * @return A Mono emitting the publication year of each book, in the same order as the ISBN lists.
+     */
+    @Override
+    public Mono<List<Integer>> getPublishYearsByIsbnAsync(List<Set<String>> isbnLists) {
+        return Mono.defer(() -> {
+            logger.info("[getPublishYearsByIsbnAsync] Retrieving publication years for {} books", isbnLists.size());
+
+            List<Integer> cachedYears = findCachedYears(isbnLists);
+            List<List<String>> batches = batchUncachedIsbns(isbnLists, cachedYears);
+            int parallelism = fanOutExecutor.getMaxParallelism();
+
+            return Flux.fromIterable(batches)
+                    .flatMapSequential(batch -> fetchPublicationYearsAsync(batch)
+                            .map(Optional::of)
+                            .onErrorResume(e -> {
+                                logger.warn("[getPublishYearsByIsbnAsync] Error while retrieving publication years for ISBNs {}", batch, e);
+                                return Mono.just(Optional.empty());
+                            }), parallelism)
+                    .collectList()
+                    .flatMap(batchResults -> {
+                        List<Map<String, Integer>> batchYears = batchResults.stream()
+                                .map(batchResult -> batchResult.orElse(null))
+                                .collect(Collectors.toList());
+                        List<Integer> publicationYears = mergePublicationYears(isbnLists, cachedYears, batches, batchYears);
+                        List<Integer> fallbackIndexes = findFallbackIndexes(publicationYears);
+                        return Flux.fromIterable(fallbackIndexes)
+                                .flatMapSequential(i -> getPublishYearByIsbnAsync(isbnLists.get(i)), parallelism)
+                                .collectList()
+                                .map(fallbackYears -> {
+                                    for (int i = 0; i < fallbackIndexes.size(); i++) {
+                                        publicationYears.set(fallbackIndexes.get(i), fallbackYears.get(i));
+                                    }
+                                    return publicationYears;
+                                });
+                    });
+        });
+    }
+
+    /**
+     * Looks up every book in the ISBN cache.
+     *
+     * @param isbnLists The ISBN List of each book.
+     * @return The cached publication year of each book, null for books without any cached ISBN.
+     */
+    private List<Integer> findCachedYears(List<Set<String>> isbnLists) {
+        return isbnLists.stream()
+                .map(this::findCachedYear)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Splits the distinct ISBNs of the books missing from the cache into batches of the configured size, leaving
+     * out the ISBNs known to have no publication year.
+     *
+     * @param isbnLists   The ISBN List of each book.
+     * @param cachedYears The cached publication year of each book.
+     * @return The batches of ISBNs to resolve.
+     */
+    private List<List<String>> batchUncachedIsbns(List<Set<String>> isbnLists, List<Integer> cachedYears) {
+        List<String> distinctIsbns = IntStream.range(0, isbnLists.size())
+                .filter(i -> cachedYears.get(i) == null)
+                .mapToObj(isbnLists::get)
+                .flatMap(Set::stream)
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(isbn -> !isbnYearCache.isUnresolvable(isbn))
+                .collect(Collectors.toList());
+
+        List<List<String>> batches = new ArrayList<>();
+        int batchSize = Math.max(1, openLibraryProperties.getBatchSize());
+        for (int from = 0; from < distinctIsbns.size(); from += batchSize) {
+            batches.add(distinctIsbns.subList(from, Math.min(from + batchSize, distinctIsbns.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * Caches the bulk results and combines them with the cached years into one year per book.
+     *
+     * @param isbnLists   The ISBN List of each book.
+     * @param cachedYears The cached publication year of each book.
+     * @param batches     The batches of ISBNs sent to OpenLibrary.
+     * @param batchYears  The publication years of each batch, null for batches whose call failed.
+     * @return The publication year of each book, null for books that have to be looked up ISBN by ISBN.
+     */
+    private List<Integer> mergePublicationYears(List<Set<String>> isbnLists, List<Integer> cachedYears,
+                                                List<List<String>> batches, List<Map<String, Integer>> batchYears) {
+        Map<String, Integer> yearsByIsbn = new HashMap<>();
+        Set<String> failedIsbns = new HashSet<>();
+        for (int i = 0; i < batches.size(); i++) {
+            if (batchYears.get(i) != null) {
+                yearsByIsbn.putAll(batchYears.get(i));
+            } else {
+                failedIsbns.addAll(batches.get(i));
+            }
+        }
+        yearsByIsbn.forEach(isbnYearCache::put);
+
+        List<Integer> publicationYears = new ArrayList<>(isbnLists.size());
+        for (int i = 0; i < isbnLists.size(); i++) {
+            Integer cachedYear = cachedYears.get(i);
+            publicationYears.add(cachedYear != null ? cachedYear : resolvePublicationYear(isbnLists.get(i), yearsByIsbn, failedIsbns));
+        }
+        return publicationYears;
+    }
+
+    /**
+     * Finds the books whose publication year could not be resolved in bulk.
+     *
+     * @param publicationYears The publication year of each book.
+     * @return The indexes of the books to look up ISBN by ISBN.
+     */
+    private List<Integer> findFallbackIndexes(List<Integer> publicationYears) {
+        return IntStream.range(0, publicationYears.size())
+                .filter(i -> publicationYears.get(i) == null)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Looks up the ISBNs of a book in the ISBN cache.
+     *
+     * @param isbnList The ISBN List of the book.
+     * @return The first cached publication year, or null if none of the ISBNs was resolved before.
+     */
+    private Integer findCachedYear(Set<String> isbnList) {
+        for (String isbn : isbnList) {
+            if (isbn != null) {
+                Integer publicationYear = isbnYearCache.get(isbn);
+                if (publicationYear != null) {
+                    return publicationYear;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks the first valid publication year of a book from the bulk results.
+     *
+     * @param isbnList    The ISBN List of the book.
+     * @param yearsByIsbn The publication years retrieved in bulk.
+     * @param failedIsbns The ISBNs whose bulk call failed.
+     * @return The publication year of the book, or null if it has to be looked up ISBN by ISBN.
+     */
+    private Integer resolvePublicationYear(Set<String> isbnList, Map<String, Integer> yearsByIsbn, Set<String> failedIsbns) {
+        for (String isbn : isbnList) {
+            Integer publicationYear = yearsByIsbn.get(isbn);
+            if (publicationYear != null && publicationYear > 0) {
+                return publicationYear;
+            }
+        }
+
+        if (isbnList.stream().anyMatch(failedIsbns::contains)) {
+            return null;
+        }
+        return UNKNOWN_YEAR;
+    }
+
+    /**
+     * Fetches the publication years of a batch of ISBNs, logging instead of propagating failures.
+     *
+     * @param isbns The ISBNs to resolve.
+     * @return The publication year of every ISBN known to OpenLibrary, or null if the call failed.
+     */
+    private Map<String, Integer> fetchPublicationYearsSafely(List<String> isbns) {
+        try {
+            return fetchPublicationYears(isbns);
+        } catch (Exception e) {
+            logger.warn("[fetchPublicationYearsSafely] Error while retrieving publication years for ISBNs {}", isbns, e);
+            return null;
+        }
+    }
+
+    /**
+     * Fetches the publication years of a batch of ISBNs. ISBNs already being looked up by a concurrent request
+     * are waited for, the others are resolved with a single OpenLibrary Books API call.
+     *
+     * @param isbns The ISBNs to resolve.
+     * @return The publication year of every ISBN known to OpenLibrary.
+     */
+    private Map<String, Integer> fetchPublicationYears(List<String> isbns) {
+        return publishYearFlight.executeAll(isbns, this::loadPublicationYears);
+    }
+
     /**
-     * Fetches the publication year for a given ISBN from OpenLibrary API.
+     * Loads the publication years of a batch of ISBNs with a single OpenLibrary Books API call. An empty body is
+     * treated as transient: its ISBNs are not remembered as unresolvable, so the next search retries them.
+     *
+     * @param isbns The ISBNs to resolve.
+     * @return The publication year of every ISBN known to OpenLibrary.
+     */
+    private Map<String, Integer> loadPublicationYears(List<String> isbns) {
+        logger.info("[loadPublicationYears] Retrieving publication years for {} ISBNs", isbns.size());
+
+        String uri = buildBulkApiUri(isbns);
+        OpenLibraryBulkApiResponse response = callOpenLibrary(uri, OpenLibraryBulkApiResponse.class);
+
+        if (response == null) {
+            logger.warn("[loadPublicationYears] Empty response for {} ISBNs", isbns.size());
+            return new HashMap<>();
+        }
+        Map<String, Integer> yearsByIsbn = toPublicationYears(response);
+        logger.info("[loadPublicationYears] Retrieved {} of {} ISBNs", yearsByIsbn.size(), isbns.size());
+        cacheUnresolvableIsbns(isbns, yearsByIsbn);
+
+        return yearsByIsbn;
+    }
+
+    /**
+     * Fetches the publication years of a batch of ISBNs without blocking, joining the lookups of concurrent
+     * requests as {@link #fetchPublicationYears(List)} does.
+     *
+     * @param isbns The ISBNs to resolve.
+     * @return A Mono emitting the publication year of every ISBN known to OpenLibrary.
+     */
+    private Mono<Map<String, Integer>> fetchPublicationYearsAsync(List<String> isbns) {
+        return publishYearFlight.executeAllAsync(isbns, this::loadPublicationYearsAsync);
+    }
+
+    /**
+     * Loads the publication years of a batch of ISBNs with a single non-blocking OpenLibrary Books API call. As in
+     * {@link #loadPublicationYears(List)}, the ISBNs of an empty body are not remembered as unresolvable.
+     *
+     * @param isbns The ISBNs to resolve.
+     * @return A Mono emitting the publication year of every ISBN known to OpenLibrary.
+     */
+    private Mono<Map<String, Integer>> loadPublicationYearsAsync(List<String> isbns) {
+        return callOpenLibraryAsync(buildBulkApiUri(isbns), OpenLibraryBulkApiResponse.class)
+                .map(response -> {
+                    Map<String, Integer> yearsByIsbn = toPublicationYears(response);
+                    cacheUnresolvableIsbns(isbns, yearsByIsbn);
+                    return yearsByIsbn;
+                })
+                .defaultIfEmpty(Collections.emptyMap());
+    }
+
+    /**
+     * Remembers the ISBNs of a successful bulk call that OpenLibrary does not know or knows without a year.
+     *
+     * @param isbns       The ISBNs sent to OpenLibrary.
+     * @param yearsByIsbn The publication years of the ISBNs known to OpenLibrary.
+     */
+    private void cacheUnresolvableIsbns(List<String> isbns, Map<String, Integer> yearsByIsbn) {
+        for (String isbn : isbns) {
+            Integer publicationYear = yearsByIsbn.get(isbn);
+            if (publicationYear == null || publicationYear <= 0) {
+                isbnYearCache.putUnresolvable(isbn);
+            }
+        }
+    }
+
+    /**
+     * Extracts the publication year of every ISBN from a bulk response.
+     *
+     * @param response The bulk API response.
+     * @return The publication year of every ISBN in the response.
+     */
+    private Map<String, Integer> toPublicationYears(OpenLibraryBulkApiResponse response) {
+        Map<String, Integer> yearsByIsbn = new HashMap<>();
+        response.forEach((bibKey, book) ->
+                yearsByIsbn.put(bibKey.substring(ISBN_BIB_KEY_PREFIX.length()), book != null ? extractYear(book.getPublish_date()) : UNKNOWN_YEAR));
+        return yearsByIsbn;
+    }
+
+    /**
+     * Fetches the publication year for a given ISBN, sharing the lookup of a concurrent request for the same ISBN.
      *
      * @param isbn The ISBN (International Standard Book Number) for which to retrieve the publication year.
-     * @return The publication year of the book corresponding to the provided ISBN, or -1 if an error occurs.
+     * @return The publication year of the book corresponding to the provided ISBN, or -2 if an error occurs.
      */
     private int fetchPublicationYear(String isbn) {
-        logger.info("[fetchPublicationYear] Retrieving publication year for ISBN: {}", isbn);
+        Integer publicationYear = publishYearFlight.execute(isbn, () -> loadPublicationYear(isbn));
+        return publicationYear != null ? publicationYear : UNKNOWN_YEAR;
+    }
+
+    /**
+     * Loads the publication year for a given ISBN from OpenLibrary API, hedging the call if it is slow.
+     *
+     * @param isbn The ISBN (International Standard Book Number) for which to retrieve the publication year.
+     * @return The publication year of the book corresponding to the provided ISBN, or -2 if an error occurs.
+     */
+    private int loadPublicationYear(String isbn) {
+        logger.info("[loadPublicationYear] Retrieving publication year for ISBN: {}", isbn);
 
         String uri = buildApiUri(isbn);
         try {
-            Timer.Sample sample = Timer.start();
-            OpenLibraryApiResponse response = restClient.getForObject(uri, OpenLibraryApiResponse.class);
-            timer.record(() -> sample.stop(timer) / 1000000);
-            int publicationYear = extractYear(response);
-            logger.info("[fetchPublicationYear] Retrieved publication year {} for ISBN: {}", publicationYear, isbn);
+            OpenLibraryPublishDate response = requestHedger.execute(() -> callOpenLibrary(uri, OpenLibraryPublishDate.class));
+            int publicationYear = toPublicationYear(isbn, response);
+            logger.info("[loadPublicationYear] Retrieved publication year {} for ISBN: {}", publicationYear, isbn);
 
             return publicationYear;
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.info("[loadPublicationYear] ISBN {} is unknown to OpenLibrary", isbn);
+            isbnYearCache.putUnresolvable(isbn);
+
+            return UNKNOWN_YEAR;
         } catch (Exception e) {
-            logger.warn("[fetchPublicationYear] Error while retrieving publication year for ISBN {}", isbn, e);
+            logger.warn("[loadPublicationYear] Error while retrieving publication year for ISBN {}", isbn, e);
 
             return UNKNOWN_YEAR;
         }
     }
     /**
-     * Extract the publication year from the API response.
+     * Fetches the publication year for a given ISBN without blocking, sharing the lookup of a concurrent request
+     * for the same ISBN.
      *
-     * @param response The API response containing book information.
+     * @param isbn The ISBN (International Standard Book Number) for which to retrieve the publication year.
+     * @return A Mono emitting the publication year, or -2 if an error occurs.
+     */
+    private Mono<Integer> fetchPublicationYearAsync(String isbn) {
+        return publishYearFlight.executeAsync(isbn, () -> loadPublicationYearAsync(isbn))
+                .defaultIfEmpty(UNKNOWN_YEAR);
+    }
+
+    /**
+     * Loads the publication year for a given ISBN from OpenLibrary API without blocking, hedging the call if it
+     * is slow.
+     *
+     * @param isbn The ISBN (International Standard Book Number) for which to retrieve the publication year.
+     * @return A Mono emitting the publication year, or -2 if an error occurs.
+     */
+    private Mono<Integer> loadPublicationYearAsync(String isbn) {
+        String uri = buildApiUri(isbn);
+        return requestHedger.executeAsync(() -> callOpenLibraryAsync(uri, OpenLibraryPublishDate.class))
+                .map(response -> toPublicationYear(isbn, response))
+                .defaultIfEmpty(UNKNOWN_YEAR)
+                .onErrorResume(e -> {
+                    if (e instanceof HttpClientErrorException.NotFound) {
+                        logger.info("[loadPublicationYearAsync] ISBN {} is unknown to OpenLibrary", isbn);
+                        isbnYearCache.putUnresolvable(isbn);
+                        return Mono.just(UNKNOWN_YEAR);
+                    }
+                    logger.warn("[loadPublicationYearAsync] Error while retrieving publication year for ISBN {}", isbn, e);
+                    return Mono.just(UNKNOWN_YEAR);
+                });
+    }
+
+    /**
+     * Extracts the publication year of an ISBN from its OpenLibrary record, remembering the ISBN as unresolvable
+     * when the record holds no year.
+     *
+     * @param isbn     The ISBN of the record.
+     * @param response The OpenLibrary record of the ISBN.
+     * @return The publication year, or -2 if the record holds no year.
+     */
+    private int toPublicationYear(String isbn, OpenLibraryPublishDate response) {
+        int publicationYear = extractYear(response.getPublish_date());
+        if (publicationYear == UNKNOWN_YEAR) {
+            isbnYearCache.putUnresolvable(isbn);
+        }
+        return publicationYear;
+    }
+
+    /**
+     * Calls the OpenLibrary API while holding one of the in-flight permits shared by all requests.
+     *
+     * @param uri          The URI to call.
+     * @param responseType The class type to which the response should be converted.
+     * @param <T>          The type of the response.
+     * @return The response object of the specified type.
+     */
+    private <T> T callOpenLibrary(String uri, Class<T> responseType) {
+        inFlightCalls.acquireUninterruptibly();
+        try {
+            Timer.Sample sample = Timer.start();
+            T response = restClient.getForObject(uri, responseType);
+            sample.stop(timer);
+            return response;
+        } finally {
+            inFlightCalls.release();
+        }
+    }
+
+    /**
+     * Calls the OpenLibrary API without blocking. Concurrency is bounded per request by the callers' flatMap
+     * parallelism, as waiting for an in-flight permit would block the calling thread.
+     *
+     * @param uri          The URI to call.
+     * @param responseType The class type to which the response should be converted.
+     * @param <T>          The type of the response.
+     * @return A Mono emitting the response object.
+     */
+    private <T> Mono<T> callOpenLibraryAsync(String uri, Class<T> responseType) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return restClient.getForMono(uri, responseType)
+                    .doFinally(signal -> sample.stop(timer));
+        });
+    }
+
+    /**
+     * Extract the publication year from the API response: the first word of exactly four digits, as matched by
+     * {@code \b\d{4}\b}. Scans the characters in place, so no matcher or substring is allocated.
+     *
+     * @param publishDate The publish date as returned by the API.
      * @return The extracted publication year.
      */
-    private int extractYear(OpenLibraryApiResponse response) {
-        Pattern pattern = Pattern.compile("\\b\\d{4}\\b");
-        Matcher matcher = pattern.matcher(response.getPublish_date());
-        if (matcher.find()) {
-            String year = matcher.group();
-            return Integer.parseInt(year);
+    int extractYear(String publishDate) {
+        if (publishDate == null) {
+            return UNKNOWN_YEAR;
+        }
+        int length = publishDate.length();
+        int position = 0;
+        while (position < length) {
+            if (!isWordChar(publishDate.charAt(position))) {
+                position++;
+                continue;
+            }
+            // Reads a whole word, which is a year if it consists of exactly four ASCII digits
+            int start = position;
+            int year = 0;
+            boolean digits = true;
+            for (; position < length && isWordChar(publishDate.charAt(position)); position++) {
+                char c = publishDate.charAt(position);
+                digits &= c >= '0' && c <= '9';
+                year = year * 10 + (c - '0');
+            }
+            if (digits && position - start == 4) {
+                return year;
+            }
         }
-        logger.error("[extractYear] Year value could not be extracted from {}", response.getPublish_date());
+        logger.error("[extractYear] Year value could not be extracted from {}", publishDate);
 
         return UNKNOWN_YEAR;
     }
 
+    /**
+     * Tells whether a character is part of a word, as for the regex word boundary.
+     *
+     * @param c The character.
+     * @return True for letters, digits and underscores.
+     */
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
     /**
      * Build the API URI for OpenLibrary API.
      *
@@ -119,4 +614,17 @@ public class OpenLibraryService implements BookPublicationService {
     private String buildApiUri(String isbn) {
         return UriComponentsBuilder.fromHttpUrl(String.format(openLibraryProperties.getUrl(), isbn)).toUriString();
     }
+
+    /**
+     * Build the bulk API URI for OpenLibrary Books API.
+     *
+     * @param isbns The ISBNs of the books.
+     * @return The built API URI.
+     */
+    private String buildBulkApiUri(List<String> isbns) {
+        String bibKeys = isbns.stream()
+                .map(isbn -> ISBN_BIB_KEY_PREFIX + isbn)
+                .collect(Collectors.joining(","));
+        return UriComponentsBuilder.fromHttpUrl(String.format(openLibraryProperties.getBulkUrl(), bibKeys)).toUriString();
+    }
 }
@@ -1,11 +1,17 @@
 package com.ing.nybooks.service;
 
+import com.ing.nybooks.config.caching.IndexedBookSet;
 import com.ing.nybooks.model.dto.BookDto;
+import com.ing.nybooks.model.dto.BookPageDto;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,14 +23,17 @@ import org.slf4j.LoggerFactory;
 public class SearchService {
     private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
     private final NYTBookService nytBookService;
+    private final AuthorPopularityTracker authorPopularityTracker;
 
     /**
      * Constructor for SearchService.
      *
-     * @param nytBookService The service for retrieving books from NYTimes API.
+     * @param nytBookService          The service for retrieving books from NYTimes API.
+     * @param authorPopularityTracker The tracker of the most searched authors, fed with every search.
      */
-    public SearchService(NYTBookService nytBookService) {
+    public SearchService(NYTBookService nytBookService, AuthorPopularityTracker authorPopularityTracker) {
         this.nytBookService = nytBookService;
+        this.authorPopularityTracker = authorPopularityTracker;
     }
 
     /**
@@ -35,6 +44,7 @@ public class SearchService {
      */
     public Set<BookDto> getBooksByAuthor(String author) {
         logger.info("[getBooksByAuthor] Getting books by author: {}", author);
+        authorPopularityTracker.record(author);
 
         // Retrieve all books by the author from the NYTimes API
         Set<BookDto> response = nytBookService.getBooksByAuthor(author);
@@ -44,7 +54,24 @@ public class SearchService {
     }
 
     /**
-     * Retrieve books by author and filter by publication years.
+     * Retrieve books by author without resolving their publication years, for callers not selecting the year.
+     *
+     * @param author The author's name.
+     * @return The books of the author, with a null year unless it was already resolved.
+     */
+    public Collection<BookDto> getBooksByAuthorWithoutYears(String author) {
+        logger.info("[getBooksByAuthorWithoutYears] Getting books by author: {}", author);
+        authorPopularityTracker.record(author);
+
+        Collection<BookDto> response = nytBookService.getBooksByAuthorWithoutYears(author);
+        logger.debug("[getBooksByAuthorWithoutYears] Received {} books for author: {}", response.size(), author);
+
+        return response;
+    }
+
+    /**
+     * Retrieve books by author and filter by publication years. The books of each year are looked up in the year
+     * index of the cached author result.
      *
      * @param author The author's name.
      * @param years  The list of years to filter by.
@@ -52,17 +79,105 @@ public class SearchService {
      */
     public Set<BookDto> getBooksByAuthorAndYear(String author, List<Integer> years) {
         logger.info("[getBooksByAuthorAndYear] Getting books by author: {} and years: {}", author, years);
+        authorPopularityTracker.record(author);
 
         // Retrieve all books by the author from the NYTimes API
         Set<BookDto> books = nytBookService.getBooksByAuthor(author);
 
-        // Filter the books based on the specified years
-        Set<BookDto> filteredBooks = books.stream()
-                .filter(book -> years.contains(book.getYear()))
-                .collect(Collectors.toSet());
+        // Look up the books of the specified years
+        Set<BookDto> filteredBooks = IndexedBookSet.of(books).getBooksByYears(years);
 
         logger.debug("[getBooksByAuthorAndYear] Received {} books for author {} and years {}", filteredBooks.size(), author, years);
 
         return filteredBooks;
     }
+
+    /**
+     * Retrieve the books of several authors at once, optionally filtered by publication years.
+     *
+     * @param authors The authors' names.
+     * @param years   The list of years to filter by, or null or empty to include every book.
+     * @return The books of each distinct author, in request order.
+     */
+    public Map<String, Set<BookDto>> getBooksByAuthors(List<String> authors, List<Integer> years) {
+        logger.info("[getBooksByAuthors] Getting books by authors: {} and years: {}", authors, years);
+        authorPopularityTracker.recordAll(authors);
+
+        Map<String, Set<BookDto>> booksByAuthor = nytBookService.getBooksByAuthors(authors);
+        if (years == null || years.isEmpty()) {
+            return booksByAuthor;
+        }
+
+        // Look up the books of the specified years for each author
+        Map<String, Set<BookDto>> filteredBooksByAuthor = new LinkedHashMap<>();
+        booksByAuthor.forEach((author, books) ->
+                filteredBooksByAuthor.put(author, IndexedBookSet.of(books).getBooksByYears(years)));
+        return filteredBooksByAuthor;
+    }
+
+    /**
+     * Retrieve one page of the books by author, optionally filtered by publication years.
+     *
+     * @param author   The author's name.
+     * @param years    The list of years to filter by, or null or empty to include every book.
+     * @param pageSize The maximum number of books in the page.
+     * @param cursor   The cursor returned with the previous page, or null or empty for the first page.
+     * @return The page of books with the cursor of the next page.
+     */
+    public BookPageDto getBookPageByAuthor(String author, List<Integer> years, int pageSize, String cursor) {
+        logger.info("[getBookPageByAuthor] Getting {} books by author: {} and years: {}", pageSize, author, years);
+        if (cursor == null || cursor.isEmpty()) {
+            // Only the first page counts as a search
+            authorPopularityTracker.record(author);
+        }
+
+        boolean allYears = years == null || years.isEmpty();
+        return nytBookService.getBookPageByAuthor(author, book -> allYears || years.contains(book.getYear()), pageSize, cursor);
+    }
+
+    /**
+     * Retrieve books by author without blocking.
+     *
+     * @param author The author's name.
+     * @return A Mono emitting the books of the author.
+     */
+    public Mono<Set<BookDto>> getBooksByAuthorAsync(String author) {
+        logger.info("[getBooksByAuthorAsync] Getting books by author: {}", author);
+        authorPopularityTracker.record(author);
+
+        return nytBookService.getBooksByAuthorAsync(author);
+    }
+
+    /**
+     * Retrieve books by author and filter by publication years without blocking.
+     *
+     * @param author The author's name.
+     * @param years  The list of years to filter by.
+     * @return A Mono emitting the filtered books of the author.
+     */
+    public Mono<Set<BookDto>> getBooksByAuthorAndYearAsync(String author, List<Integer> years) {
+        logger.info("[getBooksByAuthorAndYearAsync] Getting books by author: {} and years: {}", author, years);
+        authorPopularityTracker.record(author);
+
+        return nytBookService.getBooksByAuthorAsync(author)
+                .map(books -> IndexedBookSet.of(books).getBooksByYears(years));
+    }
+
+    /**
+     * Stream books by author, optionally filtered by publication years, as soon as they are enriched.
+     *
+     * @param author The author's name.
+     * @param years  The list of years to filter by, or null or empty to stream every book.
+     * @return A Flux emitting the books of the author.
+     */
+    public Flux<BookDto> streamBooksByAuthor(String author, List<Integer> years) {
+        logger.info("[streamBooksByAuthor] Streaming books by author: {} and years: {}", author, years);
+        authorPopularityTracker.record(author);
+
+        Flux<BookDto> books = nytBookService.streamBooksByAuthor(author);
+        if (years == null || years.isEmpty()) {
+            return books;
+        }
+        return books.filter(book -> years.contains(book.getYear()));
+    }
 }
@@ -1,18 +1,33 @@
 package com.ing.nybooks.web;
 
+import com.ing.nybooks.model.dto.BookBatchRequestDto;
 import com.ing.nybooks.model.dto.BookDto;
+import com.ing.nybooks.model.dto.BookField;
+import com.ing.nybooks.model.dto.BookPageDto;
 import com.ing.nybooks.model.dto.BookRequestDto;
 import com.ing.nybooks.service.SearchService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import static com.ing.nybooks.model.Const.ME_BOOKS_BATCH;
 import static com.ing.nybooks.model.Const.ME_BOOKS_LIST;
+import static com.ing.nybooks.model.Const.ME_BOOKS_LIST_ASYNC;
+import static com.ing.nybooks.model.Const.PAGE_SIZE;
 
 /**
  * Controller class for handling search books.
@@ -25,21 +40,116 @@ public class BookController {
     /**
      * Endpoint for searching and retrieving books based on author and year.
      *
+     * Without a year filter and without year among the selected fields, the publication years are not resolved.
+     *
      * @param bookRequestDto The request parameters.
      * @return A BookDto containing book information.
      */
     @GetMapping(ME_BOOKS_LIST)
-    public Set<BookDto> searchBooks(@Valid BookRequestDto bookRequestDto) {
+    public Collection<BookDto> searchBooks(@Valid BookRequestDto bookRequestDto) {
         logger.info("[searchBooks] Received a searchBooks request. Parameters: {}", bookRequestDto);
 
+        Set<BookField> fields = BookField.parse(bookRequestDto.getFields());
+        Collection<BookDto> books;
         if (bookRequestDto.getYear() == null || bookRequestDto.getYear().isEmpty()) {
             logger.debug("[searchBooks] Searching books by author: {}", bookRequestDto.getAuthor());
 
-            return searchService.getBooksByAuthor(bookRequestDto.getAuthor());
+            books = fields.contains(BookField.YEAR)
+                    ? searchService.getBooksByAuthor(bookRequestDto.getAuthor())
+                    : searchService.getBooksByAuthorWithoutYears(bookRequestDto.getAuthor());
         } else {
             logger.debug("[searchBooks] Searching books by author: {} and year: {}", bookRequestDto.getAuthor(), bookRequestDto.getYear());
 
-            return searchService.getBooksByAuthorAndYear(bookRequestDto.getAuthor(), bookRequestDto.getYear());
+            books = searchService.getBooksByAuthorAndYear(bookRequestDto.getAuthor(), bookRequestDto.getYear());
+        }
+        return project(books, fields);
+    }
+
+    /**
+     * Paginated variant of {@link #searchBooks(BookRequestDto)}, selected by providing a page size. Books come
+     * in stable order, the returned cursor fetches the next page.
+     *
+     * @param bookRequestDto The request parameters.
+     * @return A page of BookDto with the cursor of the next page.
+     */
+    @GetMapping(value = ME_BOOKS_LIST, params = PAGE_SIZE)
+    public BookPageDto searchBooksPage(@Valid BookRequestDto bookRequestDto) {
+        logger.info("[searchBooksPage] Received a searchBooksPage request. Parameters: {}", bookRequestDto);
+
+        Set<BookField> fields = BookField.parse(bookRequestDto.getFields());
+        BookPageDto bookPage = searchService.getBookPageByAuthor(bookRequestDto.getAuthor(), bookRequestDto.getYear(),
+                bookRequestDto.getPageSize(), bookRequestDto.getCursor());
+        if (!fields.containsAll(BookField.ALL) && bookPage != null) {
+            bookPage.setBooks(new ArrayList<>(project(bookPage.getBooks(), fields)));
+        }
+        return bookPage;
+    }
+
+    /**
+     * Streaming variant of {@link #searchBooks(BookRequestDto)}, selected with "Accept: application/x-ndjson".
+     * Each book is written as a JSON line as soon as its page is enriched.
+     *
+     * @param bookRequestDto The request parameters.
+     * @return A Flux emitting the BookDto of each book.
+     */
+    @GetMapping(value = ME_BOOKS_LIST, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDto> streamBooks(@Valid BookRequestDto bookRequestDto) {
+        logger.info("[streamBooks] Received a streamBooks request. Parameters: {}", bookRequestDto);
+
+        Set<BookField> fields = BookField.parse(bookRequestDto.getFields());
+        return searchService.streamBooksByAuthor(bookRequestDto.getAuthor(), bookRequestDto.getYear())
+                .map(book -> book.project(fields));
+    }
+
+    /**
+     * Endpoint for retrieving the books of several authors at once, optionally filtered by year. The upstream
+     * calls of all authors are scheduled together and ISBNs shared between authors are resolved once.
+     *
+     * @param bookBatchRequestDto The request body.
+     * @return The BookDto of each author, keyed by author name.
+     */
+    @PostMapping(ME_BOOKS_BATCH)
+    public Map<String, Set<BookDto>> searchBooksBatch(@Valid @RequestBody BookBatchRequestDto bookBatchRequestDto) {
+        logger.info("[searchBooksBatch] Received a searchBooksBatch request for {} authors", bookBatchRequestDto.getAuthors().size());
+
+        return searchService.getBooksByAuthors(bookBatchRequestDto.getAuthors(), bookBatchRequestDto.getYear());
+    }
+
+    /**
+     * Non-blocking endpoint for searching and retrieving books based on author and year. The request thread is
+     * released while the upstream calls are in flight.
+     *
+     * @param bookRequestDto The request parameters.
+     * @return A Mono emitting the BookDto containing book information.
+     */
+    @GetMapping(ME_BOOKS_LIST_ASYNC)
+    public Mono<Collection<BookDto>> searchBooksAsync(@Valid BookRequestDto bookRequestDto) {
+        logger.info("[searchBooksAsync] Received a searchBooks request. Parameters: {}", bookRequestDto);
+
+        Set<BookField> fields = BookField.parse(bookRequestDto.getFields());
+        Mono<Set<BookDto>> books;
+        if (bookRequestDto.getYear() == null || bookRequestDto.getYear().isEmpty()) {
+            books = searchService.getBooksByAuthorAsync(bookRequestDto.getAuthor());
+        } else {
+            books = searchService.getBooksByAuthorAndYearAsync(bookRequestDto.getAuthor(), bookRequestDto.getYear());
+        }
+        return books.map(result -> project(result, fields));
+    }
+
+    /**
+     * Projects books on the selected fields. Projections are returned as a list, so books that only differ in
+     * fields left out are all kept.
+     *
+     * @param books  The books to project.
+     * @param fields The selected fields.
+     * @return The books unchanged if every field is selected, otherwise their projections in the same order.
+     */
+    private Collection<BookDto> project(Collection<BookDto> books, Set<BookField> fields) {
+        if (fields.containsAll(BookField.ALL)) {
+            return books;
         }
+        return books.stream()
+                .map(book -> book.project(fields))
+                .collect(Collectors.toList());
     }
 }
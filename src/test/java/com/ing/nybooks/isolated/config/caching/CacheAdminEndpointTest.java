@@ -0,0 +1,92 @@
+package com.ing.nybooks.isolated.config.caching;
+
+import com.ing.nybooks.service.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"isbn-store.enabled=false", "cache-warming.enabled=false"})
+@AutoConfigureMockMvc
+public class CacheAdminEndpointTest {
+    private static final String CACHE_ADMIN = "/actuator/cacheadmin";
+    private static final String CACHE = "publishYearByIsbn";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private SearchService searchService;
+
+    private Cache cache;
+
+    @BeforeEach
+    public void setup() {
+        cache = cacheManager.getCache(CACHE);
+        cache.clear();
+        cache.put("9780000000001", 2001);
+        cache.put("9780000000002", 2002);
+    }
+
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "viewer")
+    public void testEvictForbiddenForViewer() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete(CACHE_ADMIN + "/" + CACHE))
+                .andExpect(status().isForbidden());
+
+        assertNotNull(cache.get("9780000000001"));
+        assertNotNull(cache.get("9780000000002"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "operator1")
+    public void testReadForbiddenForOperator() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(CACHE_ADMIN + "/" + CACHE))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "admin")
+    public void testAdminReadsStatisticsAndHottestKeys() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(CACHE_ADMIN + "/" + CACHE).param("top", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(CACHE))
+                .andExpect(jsonPath("$.estimatedSize").value(2))
+                .andExpect(jsonPath("$.maximum").value(500000))
+                .andExpect(jsonPath("$.hottestKeys.length()").value(1));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(CACHE_ADMIN + "/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "admin")
+    public void testAdminEvictsEntryAndClearsCache() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete(CACHE_ADMIN + "/" + CACHE).param("key", "9780000000001"))
+                .andExpect(status().isNoContent());
+
+        assertNull(cache.get("9780000000001"));
+        assertEquals(2002, cache.get("9780000000002").get());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(CACHE_ADMIN + "/" + CACHE))
+                .andExpect(status().isNoContent());
+
+        assertNull(cache.get("9780000000002"));
+    }
+}
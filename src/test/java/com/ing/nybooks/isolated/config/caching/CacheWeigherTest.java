@@ -0,0 +1,43 @@
+package com.ing.nybooks.isolated.config.caching;
+
+import com.ing.nybooks.config.caching.CacheWeigher;
+import com.ing.nybooks.model.dto.BookDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheWeigherTest {
+
+    @Test
+    public void testCountWeighsCollectionsByTheirSize() {
+        assertEquals(3, CacheWeigher.COUNT.weigh("author", Set.of(book("A"), book("B"), book("C"))));
+        assertEquals(1, CacheWeigher.COUNT.weigh("author", Collections.emptySet()));
+        assertEquals(1, CacheWeigher.COUNT.weigh("9780000000001", 2001));
+    }
+
+    @Test
+    public void testBytesGrowWithTheBooksAndTheirFields() {
+        int empty = CacheWeigher.BYTES.weigh("author", Collections.emptySet());
+        int one = CacheWeigher.BYTES.weigh("author", Set.of(book("A")));
+        int two = CacheWeigher.BYTES.weigh("author", Set.of(book("A"), book("B")));
+        int longTitle = CacheWeigher.BYTES.weigh("author", Set.of(book("A much longer title of the same book")));
+
+        assertTrue(empty > 0);
+        assertTrue(one > empty);
+        assertTrue(two > one);
+        assertTrue(longTitle > one);
+    }
+
+    private static BookDto book(String name) {
+        BookDto book = new BookDto();
+        book.setName(name);
+        book.setAuthor("Author");
+        book.setPublisher("Publisher");
+        book.setIsbns(Set.of("9780000000001"));
+        return book;
+    }
+}
@@ -0,0 +1,97 @@
+package com.ing.nybooks.isolated.config.caching;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.ing.nybooks.config.caching.CacheRefreshLoader;
+import com.ing.nybooks.config.caching.CacheWeigher;
+import com.ing.nybooks.config.caching.CaffeineCacheConfig;
+import com.ing.nybooks.config.caching.CaffeineCacheDto;
+import com.ing.nybooks.model.dto.BookDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CaffeineCacheConfigTest {
+
+    @Test
+    public void testCachesAreBoundedBySizeOrWeight() {
+        CaffeineCacheDto.Cache weighed = cacheConfig("weighed");
+        weighed.setMaximumWeight(10L);
+        weighed.setMaximumSize(1L);
+        CaffeineCacheDto.Cache sized = cacheConfig("sized");
+        sized.setMaximumSize(3L);
+        ConfiguredCaches caches = new ConfiguredCaches(weighed, sized, cacheConfig("unbounded"));
+
+        Policy.Eviction<Object, Object> weighedBound = caches.eviction("weighed");
+        assertEquals(10L, weighedBound.getMaximum());
+        assertTrue(weighedBound.isWeighted());
+
+        Policy.Eviction<Object, Object> sizedBound = caches.eviction("sized");
+        assertEquals(3L, sizedBound.getMaximum());
+        assertFalse(sizedBound.isWeighted());
+
+        assertFalse(caches.nativeCache("unbounded").policy().eviction().isPresent());
+        assertTrue(caches.nativeCache("unbounded").policy().isRecordingStats());
+    }
+
+    @Test
+    public void testWeighedCacheEvictsOnceTheBooksExceedTheMaximumWeight() {
+        CaffeineCacheDto.Cache weighed = cacheConfig("weighed");
+        weighed.setMaximumWeight(3L);
+        ConfiguredCaches caches = new ConfiguredCaches(weighed);
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = caches.nativeCache("weighed");
+
+        cache.put("a", Set.of(book("A1"), book("A2")));
+        cache.put("b", Set.of(book("B1"), book("B2")));
+        cache.cleanUp();
+
+        assertEquals(1, cache.estimatedSize());
+        assertTrue(cache.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 3);
+    }
+
+    private static CaffeineCacheDto.Cache cacheConfig(String name) {
+        CaffeineCacheDto.Cache cache = new CaffeineCacheDto.Cache();
+        cache.setName(name);
+        cache.setExpiryInMinutes(10L);
+        cache.setWeigher(CacheWeigher.COUNT);
+        return cache;
+    }
+
+    private static BookDto book(String name) {
+        BookDto book = new BookDto();
+        book.setName(name);
+        return book;
+    }
+
+    /**
+     * Cache manager built by CaffeineCacheConfig from the given cache configurations.
+     */
+    private static class ConfiguredCaches {
+        private final CacheManager cacheManager;
+
+        ConfiguredCaches(CaffeineCacheDto.Cache... caches) {
+            CaffeineCacheDto caffeineCacheDto = new CaffeineCacheDto();
+            caffeineCacheDto.setCaffeines(List.of(caches));
+            cacheManager = new CaffeineCacheConfig(caffeineCacheDto)
+                    .cacheManager(new StaticListableBeanFactory().getBeanProvider(CacheRefreshLoader.class), new SimpleMeterRegistry());
+            ((SimpleCacheManager) cacheManager).initializeCaches();
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+            return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+        }
+
+        Policy.Eviction<Object, Object> eviction(String name) {
+            return nativeCache(name).policy().eviction().orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ing.nybooks.isolated.config.caching;
+
+import com.ing.nybooks.config.caching.IndexedBookSet;
+import com.ing.nybooks.model.dto.BookDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndexedBookSetTest {
+
+    @Test
+    public void testBooksAreLookedUpByYear() {
+        IndexedBookSet books = IndexedBookSet.of(books(2021, 2022, 2021, -2, null));
+
+        assertEquals(5, books.size());
+        assertEquals(List.of("Book 0", "Book 2"), names(books.getBooksByYears(List.of(2021))));
+        assertEquals(List.of("Book 3"), names(books.getBooksByYears(List.of(-2))));
+        assertTrue(books.getBooksByYears(List.of(1999)).isEmpty());
+        assertSame(books, IndexedBookSet.of(books));
+    }
+
+    @Test
+    public void testMultipleYearsMergeBuckets() {
+        IndexedBookSet books = IndexedBookSet.of(books(2021, 2022, 2021, 2023));
+
+        Set<BookDto> matchingBooks = books.getBooksByYears(List.of(2022, 2021, 2022, 1999));
+
+        assertEquals(List.of("Book 1", "Book 0", "Book 2"), names(matchingBooks));
+        assertTrue(matchingBooks.contains(books.iterator().next()));
+    }
+
+    private Set<BookDto> books(Integer... years) {
+        Set<BookDto> books = new LinkedHashSet<>();
+        for (int i = 0; i < years.length; i++) {
+            BookDto book = new BookDto();
+            book.setName("Book " + i);
+            book.setPublisher("Publisher");
+            book.setYear(years[i]);
+            books.add(book);
+        }
+        return books;
+    }
+
+    private List<String> names(Set<BookDto> books) {
+        return books.stream().map(BookDto::getName).collect(Collectors.toList());
+    }
+}
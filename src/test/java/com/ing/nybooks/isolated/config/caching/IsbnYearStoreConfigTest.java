@@ -0,0 +1,30 @@
+package com.ing.nybooks.isolated.config.caching;
+
+import com.ing.nybooks.config.caching.IsbnYearStoreConfig;
+import com.ing.nybooks.config.properties.IsbnStoreProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class IsbnYearStoreConfigTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRunsWithoutTheStoreWhenItsFileCannotBeOpened() throws IOException {
+        Path file = Files.createFile(tempDir.resolve("not-a-directory"));
+        IsbnStoreProperties properties = new IsbnStoreProperties();
+        properties.setPath(file.resolve("isbn-years.db").toString());
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        assertNull(new IsbnYearStoreConfig().isbnYearStore(properties, meterRegistry));
+        assertNull(meterRegistry.find("isbnYear.store.entries").gauge());
+    }
+}
@@ -0,0 +1,71 @@
+package com.ing.nybooks.isolated.config.caching;
+
+import com.ing.nybooks.config.caching.IsbnYearStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class IsbnYearStoreTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testPublicationYearsSurviveReopening() throws IOException {
+        Path path = tempDir.resolve("isbn-years.db");
+        try (IsbnYearStore store = IsbnYearStore.open(path, 1)) {
+            store.put("9780385319959", 1991);
+            store.put("9780440212560", 1992);
+            store.put("9780440215622", 1993);
+        }
+
+        try (IsbnYearStore store = IsbnYearStore.open(path, 1)) {
+            assertEquals(3, store.size());
+            assertEquals(1991, store.get("9780385319959"));
+            assertEquals(1993, store.get("9780440215622"));
+            assertNull(store.get("9780000000000"));
+        }
+    }
+
+    @Test
+    public void testTornRecordIsOverwrittenAfterReopening() throws IOException {
+        Path path = tempDir.resolve("isbn-years.db");
+        try (IsbnYearStore store = IsbnYearStore.open(path, 4)) {
+            store.put("9780385319959", 1991);
+            store.put("9780440212560", 1992);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            // Corrupts the checksum of the second record, as a crash in the middle of writing it would
+            file.seek(16 + 16 + 12);
+            file.writeInt(0);
+        }
+
+        try (IsbnYearStore store = IsbnYearStore.open(path, 4)) {
+            assertEquals(1, store.size());
+            assertNull(store.get("9780440212560"));
+            store.put("9780440215622", 1993);
+        }
+
+        try (IsbnYearStore store = IsbnYearStore.open(path, 4)) {
+            assertEquals(2, store.size());
+            assertEquals(1991, store.get("9780385319959"));
+            assertEquals(1993, store.get("9780440215622"));
+        }
+    }
+
+    @Test
+    public void testOnlyValidIsbn13YearsAreStored() throws IOException {
+        try (IsbnYearStore store = IsbnYearStore.open(tempDir.resolve("isbn-years.db"), 4)) {
+            store.put("038531995X", 1991);
+            store.put("9780385319959", -2);
+
+            assertEquals(0, store.size());
+            assertNull(store.get("038531995X"));
+        }
+    }
+}
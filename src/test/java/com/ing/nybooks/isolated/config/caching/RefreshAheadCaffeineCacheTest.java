@@ -0,0 +1,130 @@
+package com.ing.nybooks.isolated.config.caching;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ing.nybooks.config.caching.CacheRefreshLoader;
+import com.ing.nybooks.config.caching.RefreshAheadCacheLoader;
+import com.ing.nybooks.config.caching.RefreshAheadCaffeineCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RefreshAheadCaffeineCacheTest {
+    private static final String CACHE = "getBooksByAuthor";
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final List<Runnable> pendingRefreshes = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testMissIsNotRecordedAsLoadFailure() {
+        RefreshAheadCaffeineCache cache = buildCache(key -> "fresh " + key, 1);
+
+        assertNull(cache.get("Stephen King"));
+
+        CacheStats stats = cache.getNativeCache().stats();
+        assertEquals(1, stats.missCount());
+        assertEquals(0, stats.loadFailureCount());
+        assertEquals(0, pendingRefreshes.size());
+    }
+
+    @Test
+    public void testStaleEntryServesOldValueUntilRefreshCompletes() {
+        RefreshAheadCaffeineCache cache = buildCache(key -> "fresh " + key, 1);
+        cache.put("Stephen King", "old");
+        advance(Duration.ofMinutes(2));
+
+        assertEquals("old", cache.get("Stephen King").get());
+        assertEquals(1, pendingRefreshes.size());
+        assertEquals("old", cache.get("Stephen King").get());
+
+        runPendingRefreshes();
+
+        assertEquals("fresh Stephen King", cache.get("Stephen King").get());
+        assertEquals(1, meterRegistry.get("cache.refresh.duration").timer().count());
+    }
+
+    @Test
+    public void testRefreshesBeyondTheConcurrencyLimitAreSkipped() {
+        RefreshAheadCaffeineCache cache = buildCache(key -> "fresh " + key, 1);
+        cache.put("Stephen King", "old");
+        cache.put("Agatha Christie", "old");
+        advance(Duration.ofMinutes(2));
+
+        assertEquals("old", cache.get("Stephen King").get());
+        assertEquals("old", cache.get("Agatha Christie").get());
+        assertEquals(1, pendingRefreshes.size());
+        assertEquals(1.0, meterRegistry.get("cache.refresh.skipped").counter().count());
+
+        runPendingRefreshes();
+
+        assertEquals("fresh Stephen King", cache.get("Stephen King").get());
+        assertEquals("old", cache.get("Agatha Christie").get());
+        assertEquals(1, pendingRefreshes.size());
+    }
+
+    @Test
+    public void testFailedRefreshKeepsOldValueAndIsCounted() {
+        RefreshAheadCaffeineCache cache = buildCache(key -> {
+            throw new IllegalStateException("NYTimes API unavailable");
+        }, 1);
+        cache.put("Stephen King", "old");
+        advance(Duration.ofMinutes(2));
+
+        assertEquals("old", cache.get("Stephen King").get());
+        runPendingRefreshes();
+
+        assertEquals("old", cache.get("Stephen King").get());
+        assertEquals(1.0, meterRegistry.get("cache.refresh.failures").counter().count());
+    }
+
+    private RefreshAheadCaffeineCache buildCache(Function<Object, Object> reload, int maxConcurrentRefreshes) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("refreshLoader", new CacheRefreshLoader() {
+            @Override
+            public String getCacheName() {
+                return CACHE;
+            }
+
+            @Override
+            public Object reload(Object key) {
+                return reload.apply(key);
+            }
+        });
+        RefreshAheadCacheLoader loader = new RefreshAheadCacheLoader(CACHE, beanFactory.getBeanProvider(CacheRefreshLoader.class),
+                pendingRefreshes::add, maxConcurrentRefreshes, meterRegistry);
+        return new RefreshAheadCaffeineCache(CACHE, Caffeine.newBuilder()
+                .ticker(ticker::get)
+                .executor(Runnable::run)
+                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .refreshAfterWrite(1, TimeUnit.MINUTES)
+                .recordStats()
+                .build(loader));
+    }
+
+    private void advance(Duration duration) {
+        ticker.addAndGet(duration.toNanos());
+    }
+
+    private void runPendingRefreshes() {
+        List<Runnable> refreshes = new ArrayList<>(pendingRefreshes);
+        pendingRefreshes.clear();
+        refreshes.forEach(Runnable::run);
+    }
+}
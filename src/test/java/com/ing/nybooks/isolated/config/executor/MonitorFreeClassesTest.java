@@ -0,0 +1,98 @@
+package com.ing.nybooks.isolated.config.executor;
+
+import com.ing.nybooks.NyBooksApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Guards the virtual-thread mode against pinning: a virtual thread blocking while it holds a monitor stays pinned to
+ * its carrier thread, so the application classes use {@code java.util.concurrent} locks instead of
+ * {@code synchronized} methods and blocks.
+ */
+public class MonitorFreeClassesTest {
+
+    @Test
+    public void testApplicationClassesHoldNoMonitors() throws IOException, URISyntaxException {
+        Path classes = Path.of(NyBooksApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<String> monitors = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(classes)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".class")).collect(Collectors.toList())) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    monitors.addAll(monitorsOf(in));
+                }
+            }
+        }
+
+        assertEquals(List.of(), monitors);
+    }
+
+    @Test
+    public void testSynchronizedMethodsAndBlocksAreDetected() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("MonitorFreeClassesTest$Synchronized.class")) {
+            assertEquals(List.of(Synchronized.class.getName() + ".method", Synchronized.class.getName() + ".block"), monitorsOf(in));
+        }
+    }
+
+    private static List<String> monitorsOf(InputStream classFile) throws IOException {
+        List<String> monitors = new ArrayList<>();
+        new ClassReader(classFile).accept(new ClassVisitor(SpringAsmInfo.ASM_VERSION) {
+            private String className;
+
+            @Override
+            public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+                className = name.replace('/', '.');
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                    monitors.add(className + "." + name);
+                    return null;
+                }
+                return new MethodVisitor(SpringAsmInfo.ASM_VERSION) {
+                    private boolean reported;
+
+                    @Override
+                    public void visitInsn(int opcode) {
+                        if (opcode == Opcodes.MONITORENTER && !reported) {
+                            monitors.add(className + "." + name);
+                            reported = true;
+                        }
+                    }
+                };
+            }
+        }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return monitors;
+    }
+
+    private static class Synchronized {
+        private final Object lock = new Object();
+        private int count;
+
+        synchronized void method() {
+            count++;
+        }
+
+        void block() {
+            synchronized (lock) {
+                count++;
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ing.nybooks.isolated.config.executor;
+
+import com.ing.nybooks.config.executor.ExecutorConfig;
+import com.ing.nybooks.config.executor.FanOutExecutor;
+import com.ing.nybooks.config.executor.VirtualThreads;
+import com.ing.nybooks.config.properties.ExecutorProperties;
+import com.ing.nybooks.config.resilience.RequestPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void testSupportFollowsRuntimeVersion() {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+        if (!VirtualThreads.isSupported()) {
+            assertThrows(IllegalStateException.class, () -> VirtualThreads.threadFactory("test-"));
+        }
+    }
+
+    @Test
+    public void testFanOutInVirtualThreadModeKeepsThreadNamesAndPriority() {
+        ExecutorProperties executorProperties = new ExecutorProperties();
+        executorProperties.setVirtualThreads(true);
+        FanOutExecutor fanOutExecutor = new ExecutorConfig(executorProperties).nytPageFanOutExecutor(new SimpleMeterRegistry());
+
+        List<String> results = RequestPriority.callAs(RequestPriority.BACKGROUND, () -> fanOutExecutor.invokeAll(List.of(1, 2, 3),
+                input -> Thread.currentThread().getName() + "/" + RequestPriority.current()));
+
+        assertEquals(3, results.size());
+        results.forEach(result -> {
+            assertTrue(result.startsWith("nyt-page-"), result);
+            assertTrue(result.endsWith("/" + RequestPriority.BACKGROUND), result);
+        });
+        fanOutExecutor.shutdown();
+    }
+}
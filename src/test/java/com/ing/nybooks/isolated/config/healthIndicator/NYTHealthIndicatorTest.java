@@ -0,0 +1,80 @@
+package com.ing.nybooks.isolated.config.healthIndicator;
+
+import com.ing.nybooks.config.healthIndicator.NYTHealthIndicator;
+import com.ing.nybooks.config.properties.NYTProperties;
+import com.ing.nybooks.config.properties.NYTRateLimitProperties;
+import com.ing.nybooks.config.resilience.PriorityRateLimiter;
+import com.ing.nybooks.config.resilience.RequestPriority;
+import com.ing.nybooks.config.restClient.RestClient;
+import com.ing.nybooks.model.external.NYTHistoryPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NYTHealthIndicatorTest {
+
+    @Mock
+    private RestClient restClient;
+    private PriorityRateLimiter rateLimiter;
+    private NYTHealthIndicator healthIndicator;
+
+    @BeforeEach
+    public void setup() {
+        NYTProperties nytProperties = new NYTProperties();
+        nytProperties.setScheme("https");
+        nytProperties.setHost("www.example.com");
+        nytProperties.setPath("path");
+        nytProperties.setKey("your-api-key");
+        // Two of the ten daily permits are reserved for the searches
+        rateLimiter = new PriorityRateLimiter("test", 60, 10, 10, 20, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        healthIndicator = new NYTHealthIndicator(nytProperties, restClient, rateLimiter, new NYTRateLimitProperties());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        rateLimiter.close();
+    }
+
+    @Test
+    public void testReportsUpWhenTheProbeSucceeds() {
+        when(restClient.getForObject(anyString(), eq(NYTHistoryPage.class))).thenReturn(new NYTHistoryPage());
+
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    public void testReportsDownWhenTheProbeFails() {
+        when(restClient.getForObject(anyString(), eq(NYTHistoryPage.class))).thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertEquals(Status.DOWN, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    public void testReportsUnknownWithoutProbingOnceTheBackgroundQuotaIsSpent() {
+        when(restClient.getForObject(anyString(), eq(NYTHistoryPage.class))).thenReturn(new NYTHistoryPage());
+        for (int i = 0; i < 8; i++) {
+            assertEquals(Status.UP, healthIndicator.health().getStatus());
+        }
+
+        assertEquals(Status.UNKNOWN, healthIndicator.health().getStatus());
+        verify(restClient, times(8)).getForObject(anyString(), eq(NYTHistoryPage.class));
+        // The searches keep their reserve
+        rateLimiter.acquire(RequestPriority.INTERACTIVE);
+    }
+}
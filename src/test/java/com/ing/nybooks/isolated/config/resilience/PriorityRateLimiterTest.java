@@ -0,0 +1,151 @@
+package com.ing.nybooks.isolated.config.resilience;
+
+import com.ing.nybooks.config.resilience.PriorityRateLimiter;
+import com.ing.nybooks.config.resilience.RequestPriority;
+import com.ing.nybooks.config.resilience.UpstreamQuotaExceededException;
+import com.ing.nybooks.config.restClient.RateLimitedRestClient;
+import com.ing.nybooks.config.restClient.RestClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PriorityRateLimiterTest {
+
+    @Mock
+    private RestClient delegate;
+    private PriorityRateLimiter rateLimiter;
+
+    @AfterEach
+    public void tearDown() {
+        rateLimiter.close();
+    }
+
+    @Test
+    public void testInteractiveCallsOvertakeQueuedBackgroundCalls() {
+        rateLimiter = new PriorityRateLimiter("test", 120, 1, 100, 0, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        rateLimiter.acquire(RequestPriority.INTERACTIVE);
+
+        // The bucket is empty, so both calls are queued and the interactive one gets the next permit
+        List<RequestPriority> granted = new CopyOnWriteArrayList<>();
+        Mono<Void> background = rateLimiter.acquireAsync(RequestPriority.BACKGROUND).doOnSuccess(v -> granted.add(RequestPriority.BACKGROUND)).cache();
+        background.subscribe();
+        Mono<Void> interactive = rateLimiter.acquireAsync(RequestPriority.INTERACTIVE).doOnSuccess(v -> granted.add(RequestPriority.INTERACTIVE)).cache();
+        interactive.subscribe();
+        assertEquals(2, rateLimiter.getQueueDepth());
+
+        Mono.when(background, interactive).block(Duration.ofSeconds(5));
+        assertEquals(List.of(RequestPriority.INTERACTIVE, RequestPriority.BACKGROUND), granted);
+    }
+
+    @Test
+    public void testCallsBeyondDailyQuotaAreRejected() {
+        rateLimiter = new PriorityRateLimiter("test", 600, 5, 2, 0, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        rateLimiter.acquire(RequestPriority.INTERACTIVE);
+        rateLimiter.acquire(RequestPriority.BACKGROUND);
+
+        assertThrows(UpstreamQuotaExceededException.class, () -> rateLimiter.acquire(RequestPriority.INTERACTIVE));
+    }
+
+    @Test
+    public void testBackgroundCallsLeaveReservedDailyQuotaToInteractiveCalls() {
+        rateLimiter = new PriorityRateLimiter("test", 600, 10, 10, 20, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 8; i++) {
+            rateLimiter.acquire(RequestPriority.BACKGROUND);
+        }
+        assertThrows(UpstreamQuotaExceededException.class, () -> rateLimiter.acquire(RequestPriority.BACKGROUND));
+
+        rateLimiter.acquire(RequestPriority.INTERACTIVE);
+        rateLimiter.acquire(RequestPriority.INTERACTIVE);
+        assertThrows(UpstreamQuotaExceededException.class, () -> rateLimiter.acquire(RequestPriority.INTERACTIVE));
+    }
+
+    @Test
+    public void testBackgroundCallsLeaveReservedBurstToInteractiveCalls() {
+        rateLimiter = new PriorityRateLimiter("test", 1, 5, 100, 20, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.acquire(RequestPriority.BACKGROUND);
+        }
+        // The last token of the burst is reserved, so the next background call is queued
+        rateLimiter.acquireAsync(RequestPriority.BACKGROUND).subscribe(v -> { }, e -> { });
+        assertEquals(1, rateLimiter.getQueueDepth());
+
+        // while an interactive call takes it right away
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> rateLimiter.acquire(RequestPriority.INTERACTIVE));
+        assertEquals(1, rateLimiter.getQueueDepth());
+    }
+
+    @Test
+    public void testTryAcquireNeitherQueuesNorCountsRefusedPermits() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new PriorityRateLimiter("test", 60, 10, 10, 20, Duration.ofSeconds(5), meterRegistry);
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(rateLimiter.tryAcquire(RequestPriority.BACKGROUND));
+        }
+        // The background share of the daily quota is spent, the reserved share stays with the interactive calls
+        assertFalse(rateLimiter.tryAcquire(RequestPriority.BACKGROUND));
+        assertTrue(rateLimiter.tryAcquire(RequestPriority.INTERACTIVE));
+        assertTrue(rateLimiter.tryAcquire(RequestPriority.INTERACTIVE));
+        assertFalse(rateLimiter.tryAcquire(RequestPriority.INTERACTIVE));
+
+        assertEquals(0, rateLimiter.getQueueDepth());
+        assertEquals(0.0, meterRegistry.get("rateLimiter.rejected").counters().stream().mapToDouble(Counter::count).sum());
+    }
+
+    @Test
+    public void testTryAcquireRefusesPermitWhileBucketIsEmpty() {
+        rateLimiter = new PriorityRateLimiter("test", 60, 1, 100, 0, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+        assertTrue(rateLimiter.tryAcquire(RequestPriority.BACKGROUND));
+        assertFalse(rateLimiter.tryAcquire(RequestPriority.BACKGROUND));
+        assertEquals(0, rateLimiter.getQueueDepth());
+    }
+
+    @Test
+    public void testThrottledCallLowersRateAndIsRetried() {
+        rateLimiter = new PriorityRateLimiter("test", 600, 2, 100, 0, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        RateLimitedRestClient rateLimitedRestClient = new RateLimitedRestClient(delegate, rateLimiter);
+        when(delegate.getForObject("url", String.class))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null))
+                .thenReturn("response");
+
+        assertEquals("response", rateLimitedRestClient.getForObject("url", String.class));
+
+        // Halved by the 429, then raised by a tenth of the configured rate by the retried call
+        assertEquals(360, rateLimiter.getPermitsPerMinute(), 0.001);
+    }
+
+    @Test
+    public void testThrottledAsyncCallLowersRateAndIsRetried() {
+        rateLimiter = new PriorityRateLimiter("test", 600, 2, 100, 0, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        RateLimitedRestClient rateLimitedRestClient = new RateLimitedRestClient(delegate, rateLimiter);
+        when(delegate.getForMono("url", String.class))
+                .thenReturn(Mono.error(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null)))
+                .thenReturn(Mono.just("response"));
+
+        assertEquals("response", rateLimitedRestClient.getForMono("url", String.class).block(Duration.ofSeconds(5)));
+        assertEquals(360, rateLimiter.getPermitsPerMinute(), 0.001);
+    }
+}
@@ -0,0 +1,123 @@
+package com.ing.nybooks.isolated.config.resilience;
+
+import com.ing.nybooks.config.properties.HedgingProperties;
+import com.ing.nybooks.config.resilience.RequestHedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RequestHedgerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private HedgingProperties hedgingProperties;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+        hedgingProperties = new HedgingProperties();
+        hedgingProperties.setEnabled(true);
+        hedgingProperties.setBudgetPercent(100);
+        hedgingProperties.setMinDelayMillis(20);
+        hedgingProperties.setLatencyWindow(100);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSlowCallIsHedgedAndHedgeWins() {
+        RequestHedger requestHedger = warmedUpHedger();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = requestHedger.execute(() -> attempts.incrementAndGet() == 1 ? sleepAndReturn("primary", 2000) : "hedge");
+
+        assertEquals("hedge", result);
+        assertEquals(1, meterRegistry.counter("hedging.sent", "name", "test").count());
+        assertEquals(1, meterRegistry.counter("hedging.won", "name", "test").count());
+    }
+
+    @Test
+    public void testSlowAsyncCallIsHedgedAndHedgeWins() {
+        RequestHedger requestHedger = warmedUpHedger();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = requestHedger.executeAsync(() -> attempts.incrementAndGet() == 1
+                        ? Mono.just("primary").delayElement(Duration.ofSeconds(2))
+                        : Mono.just("hedge"))
+                .block(Duration.ofSeconds(1));
+
+        assertEquals("hedge", result);
+        assertEquals(1, meterRegistry.counter("hedging.won", "name", "test").count());
+    }
+
+    @Test
+    public void testHedgedCallWhereBothAttemptsSucceedReturnsTheFirst() {
+        RequestHedger requestHedger = warmedUpHedger();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = requestHedger.execute(() -> attempts.incrementAndGet() == 1 ? sleepAndReturn("primary", 100) : sleepAndReturn("hedge", 200));
+
+        assertEquals("primary", result);
+        assertEquals(1, meterRegistry.counter("hedging.sent", "name", "test").count());
+        assertEquals(0, meterRegistry.counter("hedging.won", "name", "test").count());
+    }
+
+    @Test
+    public void testHedgedCallWhereBothAttemptsFailThrowsThePrimaryFailure() {
+        RequestHedger requestHedger = warmedUpHedger();
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResourceAccessException e = assertThrows(ResourceAccessException.class, () -> requestHedger.execute(() -> {
+            String attempt = attempts.incrementAndGet() == 1 ? sleepAndReturn("primary", 100) : "hedge";
+            throw new ResourceAccessException(attempt + " timed out");
+        }));
+
+        assertEquals("primary timed out", e.getMessage());
+        assertEquals(1, meterRegistry.counter("hedging.sent", "name", "test").count());
+    }
+
+    @Test
+    public void testCallsAreNotHedgedWithoutBudget() {
+        hedgingProperties.setBudgetPercent(0);
+        RequestHedger requestHedger = warmedUpHedger();
+
+        assertEquals("primary", requestHedger.execute(() -> sleepAndReturn("primary", 100)));
+        assertThrows(ResourceAccessException.class, () -> requestHedger.executeAsync(() -> Mono.<String>error(new ResourceAccessException("Read timed out")))
+                .block(Duration.ofSeconds(1)));
+        assertEquals(0, meterRegistry.counter("hedging.sent", "name", "test").count());
+    }
+
+    private RequestHedger warmedUpHedger() {
+        RequestHedger requestHedger = new RequestHedger("test", hedgingProperties, executor, meterRegistry);
+        for (int i = 0; i < 10; i++) {
+            requestHedger.execute(() -> "warm-up");
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), requestHedger.getHedgeDelayNanos());
+        return requestHedger;
+    }
+
+    private static String sleepAndReturn(String result, long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+package com.ing.nybooks.isolated.config.restClient;
+
+import com.ing.nybooks.config.resilience.UpstreamFailurePredicate;
+import com.ing.nybooks.config.restClient.ResilientRestClient;
+import com.ing.nybooks.config.restClient.RestClient;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ResilientRestClientTest {
+
+    @Mock
+    private RestClient delegate;
+    private CircuitBreaker circuitBreaker;
+    private ResilientRestClient resilientRestClient;
+
+    @BeforeEach
+    public void setup() {
+        circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(new UpstreamFailurePredicate())
+                .build());
+        Bulkhead bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        resilientRestClient = new ResilientRestClient(delegate, circuitBreaker, bulkhead);
+    }
+
+    @Test
+    public void testOpenCircuitRejectsCallsWithoutCallingUpstream() {
+        when(delegate.getForObject("url", String.class)).thenThrow(new ResourceAccessException("Read timed out"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class, () -> resilientRestClient.getForObject("url", String.class));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(CallNotPermittedException.class, () -> resilientRestClient.getForObject("url", String.class));
+        assertThrows(CallNotPermittedException.class, () -> resilientRestClient.getForMono("url", String.class).block());
+        verify(delegate, times(4)).getForObject("url", String.class);
+    }
+
+    @Test
+    public void testClientErrorsDoNotOpenCircuit() {
+        when(delegate.getForObject("url", String.class)).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientErrorException.class, () -> resilientRestClient.getForObject("url", String.class));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testFullBulkheadRejectsCalls() {
+        Sinks.One<String> pendingResponse = Sinks.one();
+        when(delegate.getForMono("url", String.class)).thenReturn(pendingResponse.asMono());
+
+        Mono<String> firstCall = resilientRestClient.getForMono("url", String.class);
+        firstCall.subscribe();
+
+        assertThrows(BulkheadFullException.class, () -> resilientRestClient.getForMono("url", String.class).block());
+        pendingResponse.tryEmitValue("response");
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+}
@@ -0,0 +1,89 @@
+package com.ing.nybooks.isolated.config.restClient;
+
+import com.ing.nybooks.config.properties.RestPoolProperties;
+import com.ing.nybooks.config.restClient.RestClient;
+import com.ing.nybooks.config.restClient.RestClientConfig;
+import com.ing.nybooks.config.restClient.WebClientRestClient;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.reactor.IOReactorStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RestClientConfigTest {
+    private static final String BODY = "{\"num_results\":0,\"results\":[]}";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+            .withUserConfiguration(RestClientConfig.class, RestPoolProperties.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withBean(WebClient.Builder.class, WebClient::builder);
+
+    private HttpServer upstream;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        upstream.createContext("/history", exchange -> {
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        upstream.stop(0);
+    }
+
+    @Test
+    public void testPooledClientCallsUpstreamAndRecordsLeaseWait() {
+        contextRunner.withPropertyValues("rest.client=pooled", "rest.pool.max-total=8").run(context -> {
+            RestClient restClient = context.getBean(RestClient.class);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            String url = "http://localhost:" + upstream.getAddress().getPort() + "/history";
+
+            assertInstanceOf(WebClientRestClient.class, restClient);
+            assertEquals(IOReactorStatus.ACTIVE, context.getBean(CloseableHttpAsyncClient.class).getStatus());
+            assertEquals(BODY, restClient.getForMono(url, String.class).block());
+            assertEquals(BODY, restClient.getForMono(url, String.class).block());
+
+            assertEquals(2, meterRegistry.get("http.client.pool.lease.wait").timer().count());
+            assertEquals(8.0, meterRegistry.get("http.client.pool.max").gauge().value());
+            // Connections are released asynchronously, so only the bounds of the live figures are stable
+            double leased = meterRegistry.get("http.client.pool.leased").gauge().value();
+            double available = meterRegistry.get("http.client.pool.available").gauge().value();
+            assertTrue(leased + available >= 1 && leased + available <= 2);
+            assertEquals(0.0, meterRegistry.get("http.client.pool.pending").gauge().value());
+        });
+    }
+
+    @Test
+    public void testPooledClientIsNotCreatedByDefault() {
+        contextRunner.run(context -> {
+            assertEquals(0, context.getBeansOfType(CloseableHttpAsyncClient.class).size());
+            assertTrue(context.getBean(MeterRegistry.class).find("http.client.pool.lease.wait").timers().isEmpty());
+        });
+    }
+}
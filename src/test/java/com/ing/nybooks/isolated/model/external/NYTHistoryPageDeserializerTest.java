@@ -0,0 +1,56 @@
+package com.ing.nybooks.isolated.model.external;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.nybooks.model.external.NYTHistoryPage;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class NYTHistoryPageDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testProjectionMatchesFullResponse() throws IOException {
+        JsonNode response = objectMapper.readTree(getClass().getResourceAsStream("/nytApiResponse.json"));
+        NYTHistoryPage page = objectMapper.readValue(getClass().getResourceAsStream("/nytApiResponse.json"), NYTHistoryPage.class);
+
+        assertEquals(response.get("status").textValue(), page.getStatus());
+        assertEquals(response.get("num_results").asInt(), page.getNumResults());
+        assertEquals(response.get("results").size(), page.getBooks().size());
+        for (int i = 0; i < page.getBooks().size(); i++) {
+            JsonNode bookResult = response.get("results").get(i);
+            NYTHistoryPage.Book book = page.getBooks().get(i);
+            Set<String> isbns = new HashSet<>();
+            bookResult.get("isbns").forEach(isbn -> isbns.add(isbn.get("isbn13").textValue()));
+            bookResult.get("ranks_history").forEach(rank -> isbns.add(rank.get("primary_isbn13").textValue()));
+
+            assertEquals(bookResult.get("title").textValue(), book.getTitle());
+            assertEquals(bookResult.get("author").textValue(), book.getAuthor());
+            assertEquals(bookResult.get("publisher").textValue(), book.getPublisher());
+            assertEquals(isbns, book.getIsbns());
+        }
+    }
+
+    @Test
+    public void testRepeatedAuthorIsSharedAndUnknownFieldsAreSkipped() throws IOException {
+        String payload = "{\"status\":\"OK\",\"extra\":{\"nested\":[1,2,{\"a\":null}]},\"num_results\":42,\"results\":["
+                + "{\"title\":\"A\",\"author\":\"Diana Gabaldon\",\"price\":{\"amount\":1},\"isbns\":[{\"isbn10\":\"1\",\"isbn13\":\"9780000000001\"}],"
+                + "\"ranks_history\":[{\"primary_isbn13\":\"9780000000002\",\"rank\":1}]},"
+                + "{\"title\":\"B\",\"author\":\"Diana Gabaldon\",\"isbns\":[],\"ranks_history\":null}]}";
+
+        NYTHistoryPage page = objectMapper.readValue(payload, NYTHistoryPage.class);
+
+        assertEquals(42, page.getNumResults());
+        assertEquals(2, page.getBooks().size());
+        assertEquals(Set.of("9780000000001", "9780000000002"), page.getBooks().get(0).getIsbns());
+        assertEquals(Set.of(), page.getBooks().get(1).getIsbns());
+        assertSame(page.getBooks().get(0).getAuthor(), page.getBooks().get(1).getAuthor());
+    }
+}
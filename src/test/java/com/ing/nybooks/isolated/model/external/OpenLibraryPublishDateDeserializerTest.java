@@ -0,0 +1,38 @@
+package com.ing.nybooks.isolated.model.external;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.nybooks.model.external.OpenLibraryBulkApiResponse;
+import com.ing.nybooks.model.external.OpenLibraryPublishDate;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class OpenLibraryPublishDateDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testOnlyPublishDateIsRead() throws IOException {
+        String payload = "{\"publishers\":[\"Delacorte Press\"],\"identifiers\":{\"goodreads\":[\"31423148\"]},"
+                + "\"languages\":[{\"key\":\"/languages/eng\"}],\"publish_date\":\"Sep 06, 2016\",\"revision\":6,"
+                + "\"created\":{\"type\":\"/type/datetime\",\"value\":\"2019-07-12T03:22:07.521914\"}}";
+
+        OpenLibraryPublishDate publishDate = objectMapper.readValue(payload, OpenLibraryPublishDate.class);
+
+        assertEquals("Sep 06, 2016", publishDate.getPublish_date());
+    }
+
+    @Test
+    public void testBulkResponseIsReadAsPublishDates() throws IOException {
+        String payload = "{\"ISBN:111\":{\"title\":\"A\",\"publishers\":[{\"name\":\"Dell\"}],\"publish_date\":\"2001\"},"
+                + "\"ISBN:222\":{\"title\":\"B\",\"publish_date\":null}}";
+
+        OpenLibraryBulkApiResponse response = objectMapper.readValue(payload, OpenLibraryBulkApiResponse.class);
+
+        assertEquals("2001", response.get("ISBN:111").getPublish_date());
+        assertNull(response.get("ISBN:222").getPublish_date());
+    }
+}
@@ -0,0 +1,39 @@
+package com.ing.nybooks.isolated.service;
+
+import com.ing.nybooks.config.properties.CacheWarmingProperties;
+import com.ing.nybooks.service.AuthorPopularityTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AuthorPopularityTrackerTest {
+
+    @Test
+    public void testTopAuthorsFollowRecentSearches() {
+        AuthorPopularityTracker tracker = new AuthorPopularityTracker(new CacheWarmingProperties(), new SimpleMeterRegistry());
+        tracker.recordAll(List.of("Diana Gabaldon", "Diana Gabaldon", "Diana Gabaldon", "Stephen King"));
+
+        assertEquals(List.of("Diana Gabaldon", "Stephen King"), tracker.getTopAuthors(5));
+
+        // After decaying, a few recent searches outweigh the older ones and single searches fade away
+        tracker.decay(0.25);
+        tracker.recordAll(List.of("Agatha Christie", "Agatha Christie"));
+        tracker.decay(0.5);
+
+        assertEquals(List.of("Agatha Christie", "Diana Gabaldon"), tracker.getTopAuthors(5));
+    }
+
+    @Test
+    public void testTrackedAuthorsAreBounded() {
+        CacheWarmingProperties properties = new CacheWarmingProperties();
+        properties.setMaxTrackedAuthors(2);
+        AuthorPopularityTracker tracker = new AuthorPopularityTracker(properties, new SimpleMeterRegistry());
+
+        tracker.recordAll(List.of("Diana Gabaldon", "Stephen King", "Agatha Christie", "Stephen King"));
+
+        assertEquals(List.of("Stephen King", "Diana Gabaldon"), tracker.getTopAuthors(5));
+    }
+}
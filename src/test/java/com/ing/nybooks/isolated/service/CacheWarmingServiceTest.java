@@ -0,0 +1,172 @@
+package com.ing.nybooks.isolated.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ing.nybooks.config.properties.CacheWarmingProperties;
+import com.ing.nybooks.config.properties.NYTRateLimitProperties;
+import com.ing.nybooks.config.resilience.UpstreamQuotaExceededException;
+import com.ing.nybooks.model.dto.BookDto;
+import com.ing.nybooks.service.AuthorPopularityTracker;
+import com.ing.nybooks.service.CacheWarmingService;
+import com.ing.nybooks.service.NYTBookService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.ing.nybooks.model.Const.GET_BOOKS_BY_AUTHOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheWarmingServiceTest {
+
+    @Mock
+    private NYTBookService nytBookService;
+    private SimpleMeterRegistry meterRegistry;
+    private Timer nytTimer;
+    private CacheManager cacheManager;
+    private AuthorPopularityTracker authorPopularityTracker;
+    private CacheWarmingService cacheWarmingService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        nytTimer = meterRegistry.timer("nyt");
+        cacheManager = new ConcurrentMapCacheManager();
+        CacheWarmingProperties properties = new CacheWarmingProperties();
+        properties.setLowLoadMaxUpstreamCalls(10);
+        properties.setNytDailyQuotaPercent(10);
+        // 5 NYTimes calls per run of 60 seconds, 8 per day
+        NYTRateLimitProperties rateLimitProperties = new NYTRateLimitProperties();
+        rateLimitProperties.setRequestsPerMinute(5);
+        rateLimitProperties.setInteractiveReservePercent(0);
+        rateLimitProperties.setRequestsPerDay(80);
+        authorPopularityTracker = new AuthorPopularityTracker(properties, meterRegistry);
+        cacheWarmingService = new CacheWarmingService(properties, rateLimitProperties, authorPopularityTracker, nytBookService,
+                cacheManager, nytTimer, meterRegistry.timer("openLibrary"), meterRegistry);
+    }
+
+    @Test
+    public void testWarmsMissingAuthorsWithinBudget() {
+        authorPopularityTracker.recordAll(List.of("Diana Gabaldon", "Diana Gabaldon", "Diana Gabaldon",
+                "Stephen King", "Stephen King", "Agatha Christie", "Agatha Christie", "Lee Child"));
+        cacheManager.getCache(GET_BOOKS_BY_AUTHOR).put("Stephen King", Set.of());
+        // Every warmed author costs three upstream calls
+        doAnswer(invocation -> {
+            for (int i = 0; i < 3; i++) {
+                nytTimer.record(Duration.ofMillis(1));
+            }
+            return null;
+        }).when(nytBookService).warmBooksByAuthor(anyString());
+
+        cacheWarmingService.warmPopularAuthors();
+
+        verify(nytBookService).warmBooksByAuthor("Diana Gabaldon");
+        verify(nytBookService, never()).warmBooksByAuthor("Stephen King");
+        verify(nytBookService).warmBooksByAuthor("Agatha Christie");
+        verify(nytBookService, never()).warmBooksByAuthor("Lee Child");
+        assertEquals(2.0, meterRegistry.get("cache.warming.warmed").counter().count());
+    }
+
+    @Test
+    public void testRunsOfADayStayWithinTheDailyNytShare() {
+        authorPopularityTracker.recordAll(List.of("Diana Gabaldon", "Diana Gabaldon", "Diana Gabaldon", "Diana Gabaldon",
+                "Stephen King", "Stephen King", "Stephen King", "Agatha Christie", "Agatha Christie", "Lee Child"));
+        doAnswer(invocation -> {
+            for (int i = 0; i < 3; i++) {
+                nytTimer.record(Duration.ofMillis(1));
+            }
+            cacheManager.getCache(GET_BOOKS_BY_AUTHOR).put(invocation.getArgument(0), Set.of());
+            return null;
+        }).when(nytBookService).warmBooksByAuthor(anyString());
+
+        // 6 calls in the first run leave 2 of the 8 daily calls, spent by the first author of the second run
+        cacheWarmingService.warmPopularAuthors();
+        cacheWarmingService.warmPopularAuthors();
+        cacheWarmingService.warmPopularAuthors();
+
+        verify(nytBookService, times(3)).warmBooksByAuthor(anyString());
+        verify(nytBookService).warmBooksByAuthor("Agatha Christie");
+        verify(nytBookService, never()).warmBooksByAuthor("Lee Child");
+    }
+
+    @Test
+    public void testSkipsAuthorsWhoseHistoryExceedsTheBudgetLeft() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)));
+        CacheWarmingProperties properties = new CacheWarmingProperties();
+        properties.setWarmAheadSeconds(60);
+        NYTRateLimitProperties rateLimitProperties = new NYTRateLimitProperties();
+        rateLimitProperties.setRequestsPerMinute(5);
+        rateLimitProperties.setInteractiveReservePercent(0);
+        cacheWarmingService = new CacheWarmingService(properties, rateLimitProperties, authorPopularityTracker, nytBookService,
+                caffeineCacheManager, nytTimer, meterRegistry.timer("openLibrary"), meterRegistry);
+        authorPopularityTracker.recordAll(List.of("Diana Gabaldon", "Diana Gabaldon", "Diana Gabaldon", "Stephen King", "Stephen King", "Lee Child"));
+        // Ten history pages do not fit the 5 calls of a run, two pages do
+        caffeineCacheManager.getCache(GET_BOOKS_BY_AUTHOR).put("Diana Gabaldon", books(200));
+        caffeineCacheManager.getCache(GET_BOOKS_BY_AUTHOR).put("Stephen King", books(40));
+        doAnswer(invocation -> {
+            for (int i = 0; i < 2; i++) {
+                nytTimer.record(Duration.ofMillis(1));
+            }
+            return null;
+        }).when(nytBookService).warmBooksByAuthor(anyString());
+
+        cacheWarmingService.warmPopularAuthors();
+
+        verify(nytBookService, never()).warmBooksByAuthor("Diana Gabaldon");
+        verify(nytBookService).warmBooksByAuthor("Stephen King");
+        verify(nytBookService).warmBooksByAuthor("Lee Child");
+    }
+
+    @Test
+    public void testStopsRunWhenBackgroundPermitsAreRefused() {
+        authorPopularityTracker.recordAll(List.of("Diana Gabaldon", "Diana Gabaldon", "Stephen King"));
+        doThrow(new UpstreamQuotaExceededException("reserved")).when(nytBookService).warmBooksByAuthor("Diana Gabaldon");
+
+        cacheWarmingService.warmPopularAuthors();
+
+        verify(nytBookService, never()).warmBooksByAuthor("Stephen King");
+    }
+
+    @Test
+    public void testSkipsRunWhenSearchesKeepUpstreamBusy() {
+        cacheWarmingService.warmPopularAuthors();
+        for (int i = 0; i < 11; i++) {
+            nytTimer.record(Duration.ofMillis(1));
+        }
+        authorPopularityTracker.record("Diana Gabaldon");
+
+        cacheWarmingService.warmPopularAuthors();
+
+        verify(nytBookService, never()).warmBooksByAuthor(anyString());
+        assertEquals(1.0, meterRegistry.get("cache.warming.skipped").counter().count());
+    }
+
+    private static Set<BookDto> books(int numBooks) {
+        return IntStream.range(0, numBooks)
+                .mapToObj(i -> {
+                    BookDto book = new BookDto();
+                    book.setName("Book " + i);
+                    return book;
+                })
+                .collect(Collectors.toSet());
+    }
+}
@@ -1,28 +1,54 @@
 package com.ing.nybooks.isolated.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ing.nybooks.config.caching.SingleFlight;
+import com.ing.nybooks.config.executor.FanOutExecutor;
 import com.ing.nybooks.config.properties.NYTProperties;
 import com.ing.nybooks.config.restClient.RestClient;
 import com.ing.nybooks.model.dto.BookDto;
-import com.ing.nybooks.model.external.NYTApiResponse;
+import com.ing.nybooks.model.dto.BookPageDto;
+import com.ing.nybooks.model.external.NYTHistoryPage;
 import com.ing.nybooks.service.BookPublicationService;
 import com.ing.nybooks.service.NYTBookService;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static com.ing.nybooks.model.Const.GET_BOOKS_BY_AUTHOR;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,30 +62,430 @@ public class NYTBookServiceTest {
     private BookPublicationService bookPublicationService;
     @Mock
     private Timer timer;
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCacheManager cacheManager;
     private NYTBookService nytBookService;
 
     @BeforeEach
     public void setup() {
-        nytBookService = new NYTBookService(nytProperties, restClient, bookPublicationService, timer);
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new ConcurrentMapCacheManager();
+        FanOutExecutor pageFanOutExecutor = new FanOutExecutor("test", Runnable::run, 4, meterRegistry);
+        nytBookService = new NYTBookService(nytProperties, restClient, bookPublicationService, timer, pageFanOutExecutor,
+                pageFanOutExecutor, cacheManager, new SingleFlight<>("test", meterRegistry), meterRegistry);
     }
 
     @Test
     public void testGetBooksByAuthor_Successful() throws IOException, URISyntaxException {
-        NYTApiResponse response = loadTestApiResponse();
+        NYTHistoryPage response = loadTestApiResponse();
         URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
 
         when(nytProperties.getScheme()).thenReturn("https");
         when(nytProperties.getHost()).thenReturn("www.example.com");
         when(nytProperties.getPath()).thenReturn("path");
         when(nytProperties.getKey()).thenReturn("your-api-key");
-        when(restClient.getForObject(uri, NYTApiResponse.class)).thenReturn(response);
-        when(bookPublicationService.getPublishYearByIsbn(any())).thenReturn(2023);
+        when(restClient.getForObject(uri, NYTHistoryPage.class)).thenReturn(response);
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023));
 
         Set<BookDto> books = nytBookService.getBooksByAuthor("Diana Gabaldon");
 
         assertEquals("Diana Gabaldon", books.stream().filter(p->p.getAuthor().equals("Diana Gabaldon")).findFirst().get().getAuthor());
     }
 
+    @Test
+    public void testGetBooksByAuthor_CachesBooksBeforeTheLoadIsShared() throws IOException, URISyntaxException {
+        NYTHistoryPage response = loadTestApiResponse();
+        URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForObject(uri, NYTHistoryPage.class)).thenReturn(response);
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023));
+
+        Set<BookDto> books = nytBookService.getBooksByAuthor("Diana Gabaldon");
+
+        Cache.ValueWrapper cachedBooks = cacheManager.getCache(GET_BOOKS_BY_AUTHOR).get("Diana Gabaldon");
+        assertNotNull(cachedBooks);
+        assertSame(books, cachedBooks.get());
+    }
+
+    @Test
+    public void testGetBooksByAuthor_MultiplePagesReuseFirstResponse() throws IOException, URISyntaxException {
+        NYTHistoryPage firstPage = loadTestApiResponse();
+        firstPage.setNumResults(45);
+        NYTHistoryPage secondPage = loadTestApiResponse();
+        secondPage.getBooks().forEach(result -> result.setTitle(result.getTitle() + " II"));
+        NYTHistoryPage thirdPage = loadTestApiResponse();
+        thirdPage.getBooks().forEach(result -> result.setTitle(result.getTitle() + " III"));
+        URI firstUri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+        URI secondUri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=20&api-key=your-api-key");
+        URI thirdUri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=40&api-key=your-api-key");
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForObject(firstUri, NYTHistoryPage.class)).thenReturn(firstPage);
+        when(restClient.getForObject(secondUri, NYTHistoryPage.class)).thenReturn(secondPage);
+        when(restClient.getForObject(thirdUri, NYTHistoryPage.class)).thenReturn(thirdPage);
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023));
+
+        Set<BookDto> books = nytBookService.getBooksByAuthor("Diana Gabaldon");
+
+        verify(restClient, times(1)).getForObject(firstUri, NYTHistoryPage.class);
+        verify(restClient, times(1)).getForObject(secondUri, NYTHistoryPage.class);
+        verify(restClient, times(1)).getForObject(thirdUri, NYTHistoryPage.class);
+        assertEquals(firstPage.getBooks().get(0).getTitle(), books.iterator().next().getName());
+        assertEquals(firstPage.getBooks().size() * 3, books.size());
+    }
+
+    @Test
+    public void testGetBooksByAuthorWithoutYears_SkipsEnrichmentAndUpgradesLater() throws IOException, URISyntaxException {
+        NYTHistoryPage response = loadTestApiResponse();
+        URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForObject(uri, NYTHistoryPage.class)).thenReturn(response);
+
+        Collection<BookDto> booksWithoutYears = nytBookService.getBooksByAuthorWithoutYears("Diana Gabaldon");
+
+        verifyNoInteractions(bookPublicationService);
+        assertNull(booksWithoutYears.iterator().next().getYear());
+
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023));
+
+        Set<BookDto> books = nytBookService.getBooksByAuthor("Diana Gabaldon");
+
+        verify(restClient, times(1)).getForObject(uri, NYTHistoryPage.class);
+        assertEquals(booksWithoutYears.size(), books.size());
+        assertEquals(2023, books.iterator().next().getYear());
+    }
+
+    @Test
+    public void testGetBooksByAuthorWithoutYears_KeepsEditionsUntilTheirYearsAreResolved() throws IOException, URISyntaxException {
+        NYTHistoryPage response = loadTestApiResponse();
+        NYTHistoryPage.Book otherEdition = response.getBooks().get(1);
+        otherEdition.setTitle(response.getBooks().get(0).getTitle());
+        otherEdition.setPublisher(response.getBooks().get(0).getPublisher());
+        URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForObject(uri, NYTHistoryPage.class)).thenReturn(response);
+
+        Collection<BookDto> booksWithoutYears = nytBookService.getBooksByAuthorWithoutYears("Diana Gabaldon");
+
+        assertEquals(response.getBooks().size(), booksWithoutYears.size());
+
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                IntStream.range(0, invocation.<List<?>>getArgument(0).size()).mapToObj(i -> 2000 + i).collect(Collectors.toList()));
+
+        Set<BookDto> books = nytBookService.getBooksByAuthor("Diana Gabaldon");
+
+        assertEquals(response.getBooks().size(), books.size());
+        assertEquals(List.of(2000, 2001), books.stream().limit(2).map(BookDto::getYear).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testGetBooksByAuthors_ResolvesYearsOfAllAuthorsTogether() throws IOException, URISyntaxException {
+        NYTHistoryPage firstAuthorResponse = loadTestApiResponse();
+        NYTHistoryPage secondAuthorResponse = loadTestApiResponse();
+        URI firstAuthorUri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+        URI secondAuthorUri = new URI("https://www.example.com/path?author=Stephen+King&offset=0&api-key=your-api-key");
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForObject(firstAuthorUri, NYTHistoryPage.class)).thenReturn(firstAuthorResponse);
+        when(restClient.getForObject(secondAuthorUri, NYTHistoryPage.class)).thenReturn(secondAuthorResponse);
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023));
+
+        Map<String, Set<BookDto>> booksByAuthor = nytBookService.getBooksByAuthors(List.of("Diana Gabaldon", "Stephen King", "Diana Gabaldon"));
+        Collection<BookDto> cachedBooks = nytBookService.getBooksByAuthorWithoutYears("Stephen King");
+
+        verify(bookPublicationService, times(1)).getPublishYearsByIsbn(any());
+        assertEquals(List.of("Diana Gabaldon", "Stephen King"), List.copyOf(booksByAuthor.keySet()));
+        assertEquals(firstAuthorResponse.getBooks().size(), booksByAuthor.get("Diana Gabaldon").size());
+        assertEquals(2023, booksByAuthor.get("Stephen King").iterator().next().getYear());
+        assertEquals(booksByAuthor.get("Stephen King"), cachedBooks);
+    }
+
+    @Test
+    public void testGetBooksByAuthors_KeepsEditionsLikeASingleAuthorLoad() throws IOException, URISyntaxException {
+        NYTHistoryPage response = loadTestApiResponse();
+        NYTHistoryPage.Book otherEdition = response.getBooks().get(1);
+        otherEdition.setTitle(response.getBooks().get(0).getTitle());
+        otherEdition.setPublisher(response.getBooks().get(0).getPublisher());
+        URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForObject(uri, NYTHistoryPage.class)).thenReturn(response);
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                IntStream.range(0, invocation.<List<?>>getArgument(0).size()).mapToObj(i -> 2000 + i).collect(Collectors.toList()));
+
+        Map<String, Set<BookDto>> booksByAuthor = nytBookService.getBooksByAuthors(List.of("Diana Gabaldon"));
+
+        Set<BookDto> books = booksByAuthor.get("Diana Gabaldon");
+        assertEquals(response.getBooks().size(), books.size());
+        assertEquals(List.of(2000, 2001), books.stream().limit(2).map(BookDto::getYear).collect(Collectors.toList()));
+        assertEquals(books, nytBookService.getBooksByAuthor("Diana Gabaldon"));
+    }
+
+    @Test
+    public void testGetBookPageByAuthor_FetchesOnlyThePagesNeeded() throws IOException, URISyntaxException {
+        NYTHistoryPage firstPage = loadTestApiResponse();
+        firstPage.setNumResults(45);
+        NYTHistoryPage secondPage = loadTestApiResponse();
+        secondPage.setNumResults(45);
+        secondPage.getBooks().forEach(result -> result.setTitle(result.getTitle() + " II"));
+        URI firstUri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+        URI secondUri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=20&api-key=your-api-key");
+        URI thirdUri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=40&api-key=your-api-key");
+        int booksPerPage = firstPage.getBooks().size();
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForObject(firstUri, NYTHistoryPage.class)).thenReturn(firstPage);
+        when(restClient.getForObject(secondUri, NYTHistoryPage.class)).thenReturn(secondPage);
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023));
+
+        BookPageDto page = nytBookService.getBookPageByAuthor("Diana Gabaldon", book -> true, booksPerPage + 1, null);
+        BookPageDto nextPage = nytBookService.getBookPageByAuthor("Diana Gabaldon", book -> true, booksPerPage - 1, page.getNextCursor());
+
+        verify(restClient, times(1)).getForObject(firstUri, NYTHistoryPage.class);
+        verify(restClient, times(1)).getForObject(secondUri, NYTHistoryPage.class);
+        verify(restClient, never()).getForObject(thirdUri, NYTHistoryPage.class);
+        assertEquals(booksPerPage + 1, page.getBooks().size());
+        assertEquals(firstPage.getBooks().get(0).getTitle(), page.getBooks().get(0).getName());
+        assertEquals(secondPage.getBooks().get(0).getTitle(), page.getBooks().get(booksPerPage).getName());
+        assertEquals(secondPage.getBooks().get(1).getTitle(), nextPage.getBooks().get(0).getName());
+    }
+
+    @Test
+    public void testGetBookPageByAuthor_LastPageHasNoCursor() throws IOException, URISyntaxException {
+        NYTHistoryPage response = loadTestApiResponse();
+        URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForObject(uri, NYTHistoryPage.class)).thenReturn(response);
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023));
+
+        BookPageDto page = nytBookService.getBookPageByAuthor("Diana Gabaldon", book -> true, 100, null);
+
+        assertEquals(response.getBooks().size(), page.getBooks().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void testGetBookPageByAuthor_PagesMatchTheFullResult() throws IOException, URISyntaxException {
+        NYTHistoryPage firstPage = loadTestApiResponse();
+        firstPage.setNumResults(25);
+        NYTHistoryPage secondPage = loadTestApiResponse();
+        // The second page repeats three books of the first page
+        secondPage.setBooks(secondPage.getBooks().subList(0, 5));
+        secondPage.getBooks().subList(3, 5).forEach(result -> result.setTitle(result.getTitle() + " II"));
+        URI firstUri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+        URI secondUri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=20&api-key=your-api-key");
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForObject(firstUri, NYTHistoryPage.class)).thenReturn(firstPage);
+        when(restClient.getForObject(secondUri, NYTHistoryPage.class)).thenReturn(secondPage);
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023));
+
+        List<BookDto> pagedBooks = new ArrayList<>();
+        String cursor = null;
+        do {
+            BookPageDto page = nytBookService.getBookPageByAuthor("Diana Gabaldon", book -> true, 7, cursor);
+            pagedBooks.addAll(page.getBooks());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        verify(restClient, times(1)).getForObject(secondUri, NYTHistoryPage.class);
+        assertEquals(22, pagedBooks.size());
+        assertEquals(List.copyOf(nytBookService.getBooksByAuthor("Diana Gabaldon")), pagedBooks);
+    }
+
+    @Test
+    public void testGetBookPageByAuthor_PagesCachedFullResultWithoutCallingUpstream() throws IOException, URISyntaxException {
+        NYTHistoryPage response = loadTestApiResponse();
+        URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForObject(uri, NYTHistoryPage.class)).thenReturn(response);
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023));
+        nytBookService.warmBooksByAuthor("Diana Gabaldon");
+
+        BookPageDto page = nytBookService.getBookPageByAuthor("Diana Gabaldon", book -> true, 15, null);
+        BookPageDto lastPage = nytBookService.getBookPageByAuthor("Diana Gabaldon", book -> true, 15, page.getNextCursor());
+
+        verify(restClient, times(1)).getForObject(uri, NYTHistoryPage.class);
+        assertEquals(15, page.getBooks().size());
+        assertEquals(response.getBooks().get(15).getTitle(), lastPage.getBooks().get(0).getName());
+        assertEquals(5, lastPage.getBooks().size());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    public void testGetBookPageByAuthor_ConcurrentMissesShareOneLoad() throws Exception {
+        NYTHistoryPage response = loadTestApiResponse();
+        URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+        CountDownLatch releaseResponse = new CountDownLatch(1);
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForObject(uri, NYTHistoryPage.class)).thenAnswer(invocation -> {
+            releaseResponse.await();
+            return response;
+        });
+        when(bookPublicationService.getPublishYearsByIsbn(any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023));
+
+        CompletableFuture<BookPageDto> firstCaller = CompletableFuture.supplyAsync(() ->
+                nytBookService.getBookPageByAuthor("Diana Gabaldon", book -> true, 5, null));
+        CompletableFuture<BookPageDto> secondCaller = CompletableFuture.supplyAsync(() ->
+                nytBookService.getBookPageByAuthor("Diana Gabaldon", book -> true, 5, null));
+        while (meterRegistry.get("singleFlight.coalesced.waiters").tag("name", "getBookPageByAuthor").counter().count() < 1) {
+            Thread.sleep(5);
+        }
+        releaseResponse.countDown();
+
+        assertEquals(firstCaller.get(5, TimeUnit.SECONDS).getBooks(), secondCaller.get(5, TimeUnit.SECONDS).getBooks());
+        verify(restClient, times(1)).getForObject(uri, NYTHistoryPage.class);
+    }
+
+    @Test
+    void testGetBookPageByAuthorWithInvalidCursor() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                nytBookService.getBookPageByAuthor("Diana Gabaldon", book -> true, 10, "not-a-cursor"));
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    public void testGetBooksByAuthorAsync_Successful() throws IOException, URISyntaxException {
+        NYTHistoryPage response = loadTestApiResponse();
+        URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForMono(uri, NYTHistoryPage.class)).thenReturn(Mono.just(response));
+        when(bookPublicationService.getPublishYearsByIsbnAsync(any())).thenAnswer(invocation ->
+                Mono.just(Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023)));
+
+        Set<BookDto> books = nytBookService.getBooksByAuthorAsync("Diana Gabaldon").block();
+        Set<BookDto> cachedBooks = nytBookService.getBooksByAuthorAsync("Diana Gabaldon").block();
+
+        verify(restClient, times(1)).getForMono(uri, NYTHistoryPage.class);
+        assertEquals(response.getBooks().size(), books.size());
+        assertEquals(2023, books.iterator().next().getYear());
+        assertEquals(books, cachedBooks);
+    }
+
+    @Test
+    public void testStreamBooksByAuthor_EmitsBooksAndCachesResult() throws IOException, URISyntaxException {
+        NYTHistoryPage response = loadTestApiResponse();
+        URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForMono(uri, NYTHistoryPage.class)).thenReturn(Mono.just(response));
+        when(bookPublicationService.getPublishYearsByIsbnAsync(any())).thenAnswer(invocation ->
+                Mono.just(Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023)));
+
+        List<BookDto> streamedBooks = nytBookService.streamBooksByAuthor("Diana Gabaldon").collectList().block();
+        Set<BookDto> cachedBooks = nytBookService.getBooksByAuthorAsync("Diana Gabaldon").block();
+
+        verify(restClient, times(1)).getForMono(uri, NYTHistoryPage.class);
+        assertEquals(response.getBooks().get(0).getTitle(), streamedBooks.get(0).getName());
+        assertEquals(List.copyOf(cachedBooks), streamedBooks);
+    }
+
+    @Test
+    public void testGetBooksByAuthorAsync_ConcurrentMissesShareOneLoad() throws IOException, URISyntaxException {
+        NYTHistoryPage response = loadTestApiResponse();
+        URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+        Sinks.One<NYTHistoryPage> pendingResponse = Sinks.one();
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForMono(uri, NYTHistoryPage.class)).thenReturn(pendingResponse.asMono());
+        when(bookPublicationService.getPublishYearsByIsbnAsync(any())).thenAnswer(invocation ->
+                Mono.just(Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023)));
+
+        CompletableFuture<Set<BookDto>> firstCaller = nytBookService.getBooksByAuthorAsync("Diana Gabaldon").toFuture();
+        CompletableFuture<Set<BookDto>> secondCaller = nytBookService.getBooksByAuthorAsync("Diana Gabaldon").toFuture();
+        pendingResponse.tryEmitValue(response);
+
+        verify(restClient, times(1)).getForMono(uri, NYTHistoryPage.class);
+        assertEquals(response.getBooks().size(), firstCaller.join().size());
+        assertEquals(firstCaller.join(), secondCaller.join());
+        assertEquals(1.0, meterRegistry.get("singleFlight.coalesced.waiters").counter().count());
+    }
+
+    @Test
+    public void testStreamBooksByAuthor_ConcurrentMissesShareOneLoad() throws IOException, URISyntaxException {
+        NYTHistoryPage response = loadTestApiResponse();
+        URI uri = new URI("https://www.example.com/path?author=Diana+Gabaldon&offset=0&api-key=your-api-key");
+        Sinks.One<NYTHistoryPage> pendingResponse = Sinks.one();
+
+        when(nytProperties.getScheme()).thenReturn("https");
+        when(nytProperties.getHost()).thenReturn("www.example.com");
+        when(nytProperties.getPath()).thenReturn("path");
+        when(nytProperties.getKey()).thenReturn("your-api-key");
+        when(restClient.getForMono(uri, NYTHistoryPage.class)).thenReturn(pendingResponse.asMono());
+        when(bookPublicationService.getPublishYearsByIsbnAsync(any())).thenAnswer(invocation ->
+                Mono.just(Collections.nCopies(invocation.<List<?>>getArgument(0).size(), 2023)));
+
+        CompletableFuture<List<BookDto>> firstStream = nytBookService.streamBooksByAuthor("Diana Gabaldon").collectList().toFuture();
+        CompletableFuture<List<BookDto>> secondStream = nytBookService.streamBooksByAuthor("Diana Gabaldon").collectList().toFuture();
+        CompletableFuture<Set<BookDto>> asyncCaller = nytBookService.getBooksByAuthorAsync("Diana Gabaldon").toFuture();
+        pendingResponse.tryEmitValue(response);
+
+        verify(restClient, times(1)).getForMono(uri, NYTHistoryPage.class);
+        assertEquals(response.getBooks().size(), firstStream.join().size());
+        assertEquals(firstStream.join(), secondStream.join());
+        assertEquals(List.copyOf(asyncCaller.join()), firstStream.join());
+        assertEquals(2.0, meterRegistry.get("singleFlight.coalesced.waiters").counter().count());
+    }
+
     @Test
     void testGetBooksByAuthorWithEmptyAuthorName() {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -77,10 +503,10 @@ public class NYTBookServiceTest {
         });
         assertEquals("Author name cannot be empty", exception.getMessage());
     }
-    private NYTApiResponse loadTestApiResponse() throws IOException {
+    private NYTHistoryPage loadTestApiResponse() throws IOException {
         // Load test JSON data from the resources
         ObjectMapper objectMapper = new ObjectMapper();
         InputStream jsonStream = getClass().getResourceAsStream("/nytApiResponse.json");
-        return objectMapper.readValue(jsonStream, NYTApiResponse.class);
+        return objectMapper.readValue(jsonStream, NYTHistoryPage.class);
     }
 }
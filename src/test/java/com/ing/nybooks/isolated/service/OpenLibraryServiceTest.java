@@ -1,19 +1,34 @@
 package com.ing.nybooks.isolated.service;
 
+import com.ing.nybooks.config.caching.IsbnYearCache;
+import com.ing.nybooks.config.caching.SingleFlight;
+import com.ing.nybooks.config.executor.FanOutExecutor;
+import com.ing.nybooks.config.properties.HedgingProperties;
+import com.ing.nybooks.config.resilience.RequestHedger;
 import com.ing.nybooks.service.OpenLibraryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import com.ing.nybooks.config.properties.OpenLibraryProperties;
 import com.ing.nybooks.config.restClient.RestClient;
-import com.ing.nybooks.model.external.OpenLibraryApiResponse;
+import com.ing.nybooks.model.external.OpenLibraryPublishDate;
+import com.ing.nybooks.model.external.OpenLibraryBulkApiResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
 
 import static org.mockito.Mockito.*;
 
@@ -27,10 +42,15 @@ public class OpenLibraryServiceTest {
     private RestClient restClient;
     @Mock
     private Timer timer;
+    private IsbnYearCache isbnYearCache;
     private OpenLibraryService openLibraryService;
     @BeforeEach
     public void setup() {
-        openLibraryService = new OpenLibraryService(openLibraryProperties, restClient, timer);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        isbnYearCache = new IsbnYearCache(new ConcurrentMapCacheManager(), meterRegistry);
+        FanOutExecutor fanOutExecutor = new FanOutExecutor("test", Runnable::run, 4, meterRegistry);
+        openLibraryService = new OpenLibraryService(openLibraryProperties, restClient, timer, isbnYearCache, fanOutExecutor,
+                new SingleFlight<>("test", meterRegistry), new RequestHedger("test", new HedgingProperties(), Runnable::run, meterRegistry));
     }
 
     // Parameterized test using @CsvSource
@@ -44,20 +64,130 @@ public class OpenLibraryServiceTest {
             "null, -2",
             "'', -2",
             "abs2000def 12, -2",
+            "12345 2003, 2003",
+            "Sep_2003 or 1999, 1999",
     })
     public void testGetPublishYearByIsbn_Successful(String publishDate, int expectedPublicationYear) {
-        OpenLibraryApiResponse response = createResponse(publishDate);
+        OpenLibraryPublishDate response = createResponse(publishDate);
 
-        when(restClient.getForObject(anyString(), eq(OpenLibraryApiResponse.class))).thenReturn(response);
+        when(restClient.getForObject(anyString(), eq(OpenLibraryPublishDate.class))).thenReturn(response);
         when(openLibraryProperties.getUrl()).thenReturn("https://openlibrary.com/api/%s");
 
         int publicationYear = openLibraryService.getPublishYearByIsbn(Set.of("123456789"));
 
-        verify(restClient, times(1)).getForObject(anyString(), eq(OpenLibraryApiResponse.class));
+        verify(restClient, times(1)).getForObject(anyString(), eq(OpenLibraryPublishDate.class));
         assertEquals(expectedPublicationYear, publicationYear);
     }
-    private OpenLibraryApiResponse createResponse(String publishDate) {
-        OpenLibraryApiResponse response = new OpenLibraryApiResponse();
+    @Test
+    public void testGetPublishYearsByIsbn_ResolvesAllBooksInOneCall() {
+        OpenLibraryBulkApiResponse response = new OpenLibraryBulkApiResponse();
+        response.put("ISBN:111", createBulkBook("May 2001"));
+        response.put("ISBN:222", createBulkBook("2015-03-01"));
+
+        when(openLibraryProperties.getBulkUrl()).thenReturn("https://openlibrary.com/api/books?bibkeys=%s");
+        when(openLibraryProperties.getBatchSize()).thenReturn(50);
+        when(restClient.getForObject(anyString(), eq(OpenLibraryBulkApiResponse.class))).thenReturn(response);
+
+        List<Integer> publicationYears = openLibraryService.getPublishYearsByIsbn(
+                List.of(Set.of("111"), new LinkedHashSet<>(List.of("222", "333")), Set.of("444"), Set.of()));
+
+        verify(restClient, times(1)).getForObject("https://openlibrary.com/api/books?bibkeys=ISBN:111,ISBN:222,ISBN:333,ISBN:444", OpenLibraryBulkApiResponse.class);
+        verify(restClient, never()).getForObject(anyString(), eq(OpenLibraryPublishDate.class));
+        assertEquals(List.of(2001, 2015, -2, -2), publicationYears);
+    }
+
+    @Test
+    public void testGetPublishYearsByIsbn_FallsBackToSingleLookupOnBatchFailure() {
+        when(openLibraryProperties.getBulkUrl()).thenReturn("https://openlibrary.com/api/books?bibkeys=%s");
+        when(openLibraryProperties.getBatchSize()).thenReturn(1);
+        when(openLibraryProperties.getUrl()).thenReturn("https://openlibrary.com/api/%s");
+        when(restClient.getForObject(anyString(), eq(OpenLibraryBulkApiResponse.class))).thenThrow(new ResourceAccessException("timeout"));
+        when(restClient.getForObject(anyString(), eq(OpenLibraryPublishDate.class))).thenReturn(createResponse("1999"));
+
+        List<Integer> publicationYears = openLibraryService.getPublishYearsByIsbn(List.of(Set.of("111"), Set.of("222")));
+
+        verify(restClient, times(2)).getForObject(anyString(), eq(OpenLibraryBulkApiResponse.class));
+        verify(restClient, times(2)).getForObject(anyString(), eq(OpenLibraryPublishDate.class));
+        assertEquals(List.of(1999, 1999), publicationYears);
+    }
+
+    @Test
+    public void testGetPublishYearsByIsbn_ReusesIsbnResolvedForAnotherBook() {
+        isbnYearCache.put("222", 2010);
+
+        when(openLibraryProperties.getBulkUrl()).thenReturn("https://openlibrary.com/api/books?bibkeys=%s");
+        when(openLibraryProperties.getBatchSize()).thenReturn(50);
+        when(restClient.getForObject(anyString(), eq(OpenLibraryBulkApiResponse.class))).thenReturn(new OpenLibraryBulkApiResponse());
+
+        List<Integer> publicationYears = openLibraryService.getPublishYearsByIsbn(List.of(Set.of("222", "333"), Set.of("444")));
+
+        verify(restClient, times(1)).getForObject("https://openlibrary.com/api/books?bibkeys=ISBN:444", OpenLibraryBulkApiResponse.class);
+        assertEquals(List.of(2010, -2), publicationYears);
+        assertEquals(2010, openLibraryService.getPublishYearByIsbn(Set.of("999", "222")));
+        verify(restClient, never()).getForObject(anyString(), eq(OpenLibraryPublishDate.class));
+    }
+
+    @Test
+    public void testGetPublishYearByIsbn_SkipsIsbnNotFoundBefore() {
+        when(openLibraryProperties.getUrl()).thenReturn("https://openlibrary.com/api/%s");
+        when(restClient.getForObject("https://openlibrary.com/api/111", OpenLibraryPublishDate.class))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        when(restClient.getForObject("https://openlibrary.com/api/222", OpenLibraryPublishDate.class)).thenReturn(createResponse("2004"));
+
+        assertEquals(-2, openLibraryService.getPublishYearByIsbn(Set.of("111")));
+        assertEquals(2004, openLibraryService.getPublishYearByIsbn(new LinkedHashSet<>(List.of("111", "222"))));
+
+        verify(restClient, times(1)).getForObject("https://openlibrary.com/api/111", OpenLibraryPublishDate.class);
+        assertTrue(isbnYearCache.isUnresolvable("111"));
+    }
+
+    @Test
+    public void testGetPublishYearByIsbn_RetriesIsbnAfterTransientError() {
+        when(openLibraryProperties.getUrl()).thenReturn("https://openlibrary.com/api/%s");
+        when(restClient.getForObject(anyString(), eq(OpenLibraryPublishDate.class)))
+                .thenThrow(new ResourceAccessException("timeout"))
+                .thenReturn(createResponse("2004"));
+
+        assertEquals(-2, openLibraryService.getPublishYearByIsbn(Set.of("111")));
+        assertEquals(2004, openLibraryService.getPublishYearByIsbn(Set.of("111")));
+
+        verify(restClient, times(2)).getForObject(anyString(), eq(OpenLibraryPublishDate.class));
+    }
+
+    @Test
+    public void testGetPublishYearsByIsbn_EmptyBulkBodyLeavesIsbnsRetryable() {
+        when(openLibraryProperties.getBulkUrl()).thenReturn("https://openlibrary.com/api/books?bibkeys=%s");
+        when(openLibraryProperties.getBatchSize()).thenReturn(50);
+        when(restClient.getForObject(anyString(), eq(OpenLibraryBulkApiResponse.class))).thenReturn(null);
+
+        assertEquals(List.of(-2, -2), openLibraryService.getPublishYearsByIsbn(List.of(Set.of("111"), Set.of("222"))));
+        assertFalse(isbnYearCache.isUnresolvable("111"));
+        assertFalse(isbnYearCache.isUnresolvable("222"));
+
+        openLibraryService.getPublishYearsByIsbn(List.of(Set.of("111"), Set.of("222")));
+
+        verify(restClient, times(2)).getForObject("https://openlibrary.com/api/books?bibkeys=ISBN:111,ISBN:222", OpenLibraryBulkApiResponse.class);
+    }
+
+    @Test
+    public void testGetPublishYearsByIsbnAsync_EmptyBulkBodyLeavesIsbnsRetryable() {
+        when(openLibraryProperties.getBulkUrl()).thenReturn("https://openlibrary.com/api/books?bibkeys=%s");
+        when(openLibraryProperties.getBatchSize()).thenReturn(50);
+        when(restClient.getForMono(anyString(), eq(OpenLibraryBulkApiResponse.class))).thenReturn(Mono.empty());
+
+        assertEquals(List.of(-2, -2), openLibraryService.getPublishYearsByIsbnAsync(List.of(Set.of("111"), Set.of("222"))).block());
+        assertFalse(isbnYearCache.isUnresolvable("111"));
+        assertFalse(isbnYearCache.isUnresolvable("222"));
+    }
+
+    private OpenLibraryPublishDate createBulkBook(String publishDate) {
+        OpenLibraryPublishDate book = new OpenLibraryPublishDate();
+        book.setPublish_date(publishDate);
+        return book;
+    }
+
+    private OpenLibraryPublishDate createResponse(String publishDate) {
+        OpenLibraryPublishDate response = new OpenLibraryPublishDate();
         response.setPublish_date(publishDate);
         return response;
     }
@@ -1,6 +1,7 @@
 package com.ing.nybooks.isolated.service;
 
 import com.ing.nybooks.model.dto.BookDto;
+import com.ing.nybooks.service.AuthorPopularityTracker;
 import com.ing.nybooks.service.NYTBookService;
 import com.ing.nybooks.service.SearchService;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,12 +22,14 @@ public class SearchServiceTest {
 
     @Mock
     private NYTBookService nytBookService;
+    @Mock
+    private AuthorPopularityTracker authorPopularityTracker;
 
     private SearchService searchService;
 
     @BeforeEach
     public void setup() {
-        searchService = new SearchService(nytBookService);
+        searchService = new SearchService(nytBookService, authorPopularityTracker);
     }
 
     @Test
@@ -38,6 +41,7 @@ public class SearchServiceTest {
         Set<BookDto> result = searchService.getBooksByAuthor("Diana Gabaldon");
 
         assertEquals(mockResponse, result);
+        verify(authorPopularityTracker).record("Diana Gabaldon");
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.ing.nybooks.isolated.web;
 import com.ing.nybooks.model.dto.BookDto;
+import com.ing.nybooks.model.dto.BookPageDto;
 import com.ing.nybooks.service.SearchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,19 +11,27 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.ing.nybooks.model.Const.ME_BOOKS_BATCH;
 import static com.ing.nybooks.model.Const.ME_BOOKS_LIST;
+import static com.ing.nybooks.model.Const.ME_BOOKS_LIST_ASYNC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {"isbn-store.enabled=false", "cache-warming.enabled=false"})
 @AutoConfigureMockMvc
 public class BookControllerTest {
 
@@ -88,6 +97,142 @@ public class BookControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "operator1")
+    public void testSearchBooksAsyncByAuthorAndYearAuthorized() throws Exception {
+        when(searchService.getBooksByAuthorAndYearAsync("AuthorName", List.of(2022))).thenReturn(Mono.just(mockBooks));
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                        .get(ME_BOOKS_LIST_ASYNC)
+                        .param("author", "AuthorName")
+                        .param("year", "2022")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.length()").value(mockBooks.size()))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "operator1")
+    public void testSearchBooksBatch() throws Exception {
+        when(searchService.getBooksByAuthors(List.of("Author X", "Author Y"), List.of(2021)))
+                .thenReturn(Map.of("Author X", mockBooks, "Author Y", Collections.emptySet()));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post(ME_BOOKS_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"authors\": [\"Author X\", \"Author Y\"], \"year\": [2021]}")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$['Author X'].length()").value(mockBooks.size()))
+                .andExpect(jsonPath("$['Author Y'].length()").value(0))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "operator1")
+    public void testSearchBooksBatchWithoutAuthors() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post(ME_BOOKS_BATCH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"authors\": []}")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "operator1")
+    public void testSearchBooksPageByAuthor() throws Exception {
+        BookPageDto bookPage = new BookPageDto();
+        bookPage.setBooks(List.copyOf(mockBooks));
+        bookPage.setNextCursor("MjA6MA");
+        when(searchService.getBookPageByAuthor("AuthorName", null, 2, null)).thenReturn(bookPage);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(ME_BOOKS_LIST)
+                        .param("author", "AuthorName")
+                        .param("pageSize", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.books.length()").value(mockBooks.size()))
+                .andExpect(jsonPath("$.nextCursor").value("MjA6MA"))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "operator1")
+    public void testSearchBooksWithFieldsSkipsYears() throws Exception {
+        when(searchService.getBooksByAuthorWithoutYears("AuthorName")).thenReturn(mockBooks);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(ME_BOOKS_LIST)
+                        .param("author", "AuthorName")
+                        .param("fields", "name,publisher")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(mockBooks.size()))
+                .andExpect(jsonPath("$[0].name").exists())
+                .andExpect(jsonPath("$[0].author").doesNotExist())
+                .andExpect(jsonPath("$[0].year").doesNotExist())
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "operator1")
+    public void testSearchBooksInvalidField() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(ME_BOOKS_LIST)
+                        .param("author", "AuthorName")
+                        .param("fields", "isbn")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "operator1")
+    public void testSearchBooksPageInvalidPageSize() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(ME_BOOKS_LIST)
+                        .param("author", "AuthorName")
+                        .param("pageSize", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "operator1")
+    public void testStreamBooksByAuthorAsNdjson() throws Exception {
+        when(searchService.streamBooksByAuthor("AuthorName", null)).thenReturn(Flux.fromIterable(mockBooks));
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                        .get(ME_BOOKS_LIST)
+                        .param("author", "AuthorName")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(result -> assertEquals(mockBooks.size(),
+                        result.getResponse().getContentAsString().trim().split("\\n").length))
+                .andDo(print());
+    }
+
     @Test
     @WithMockUser(username = "user", password = "pwd", roles = "operator1")
     public void testSearchBooksInvalidInput() throws Exception {
@@ -197,6 +342,18 @@ public class BookControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @WithMockUser(username = "user", password = "pwd", roles = "viewer")
+    public void testSearchBooksByAuthorForbiddenForViewer() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(ME_BOOKS_LIST)
+                        .param("author", "AuthorName")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andDo(print());
+    }
+
     @Test
     public void testSearchBooksByAuthorAndYearUnauthorized() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders
@@ -0,0 +1,170 @@
+package com.ing.nybooks.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.ing.nybooks.model.Const.ME_BOOKS_LIST;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test of /me/books/list against local NYT and OpenLibrary simulators. Clients search at the configured
+ * concurrency for a warm-up and a measured run; the report of the measured run is logged and written to
+ * target/load-test-result.json. Excluded from the default build, run with {@code mvn -P load-test test} and tuned
+ * with the {@code load.*} system properties of {@link LoadTestSettings}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "isbn-store.enabled=false",
+        "cache-warming.enabled=false",
+        "logging.level.com.ing.nybooks=WARN",
+        "logging.level.com.ing.nybooks.load=INFO"})
+public class BookListLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(BookListLoadTest.class);
+    private static final LoadTestSettings settings = new LoadTestSettings();
+    private static NYTSimulator nytSimulator;
+    private static OpenLibrarySimulator openLibrarySimulator;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreams(DynamicPropertyRegistry registry) throws IOException {
+        nytSimulator = new NYTSimulator(settings);
+        openLibrarySimulator = new OpenLibrarySimulator(settings);
+        String openLibraryUrl = "http://localhost:" + openLibrarySimulator.getPort();
+
+        registry.add("nytimes.api.scheme", () -> "http");
+        registry.add("nytimes.api.host", () -> "localhost");
+        registry.add("nytimes.api.port", nytSimulator::getPort);
+        registry.add("nytimes.api.path", () -> NYTSimulator.PATH);
+        registry.add("nytimes.rate-limit.requests-per-minute", settings::getNytRequestsPerMinute);
+        registry.add("nytimes.rate-limit.burst", settings::getNytRequestsPerMinute);
+        registry.add("nytimes.rate-limit.requests-per-day", () -> Integer.MAX_VALUE);
+        registry.add("openlibrary.api.url", () -> openLibraryUrl + OpenLibrarySimulator.ISBN_PATH + "%s.json");
+        registry.add("openlibrary.api.bulk-url", () -> openLibraryUrl + OpenLibrarySimulator.BOOKS_PATH + "?bibkeys=%s&format=json&jscmd=data");
+    }
+
+    @AfterAll
+    static void stopUpstreams() {
+        nytSimulator.close();
+        openLibrarySimulator.close();
+    }
+
+    @Test
+    public void testSearchBooksUnderLoad() throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String authorization = "Basic " + Base64.getEncoder().encodeToString("user1:123".getBytes(StandardCharsets.UTF_8));
+
+        logger.info("[testSearchBooksUnderLoad] Warming up for {} s", settings.getWarmupSeconds());
+        run(httpClient, authorization, settings.getWarmupSeconds());
+        nytSimulator.resetCounters();
+        openLibrarySimulator.resetCounters();
+
+        logger.info("[testSearchBooksUnderLoad] Running {} clients for {} s", settings.getConcurrency(), settings.getDurationSeconds());
+        long startTime = System.nanoTime();
+        List<LoadTestReport.Recorder> recorders = run(httpClient, authorization, settings.getDurationSeconds());
+        LoadTestReport report = new LoadTestReport(settings.getConcurrency(), System.nanoTime() - startTime, recorders,
+                nytSimulator, openLibrarySimulator);
+
+        logger.info("[testSearchBooksUnderLoad] Load test result:{}{}", System.lineSeparator(), report);
+        report.writeTo(Paths.get("target", "load-test-result.json"));
+        assertTrue(report.getSuccessful() > 0, "No search succeeded under load");
+    }
+
+    /**
+     * Runs the clients until the given duration has passed.
+     *
+     * @param httpClient    The HTTP client shared by the clients.
+     * @param authorization The Authorization header of the searches.
+     * @param seconds       The duration of the run.
+     * @return The recordings of the clients.
+     * @throws Exception If a client failed.
+     */
+    private List<LoadTestReport.Recorder> run(HttpClient httpClient, String authorization, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(settings.getConcurrency());
+        try {
+            List<Future<LoadTestReport.Recorder>> futures = new ArrayList<>();
+            for (int i = 0; i < settings.getConcurrency(); i++) {
+                futures.add(clients.submit(() -> {
+                    LoadTestReport.Recorder recorder = new LoadTestReport.Recorder();
+                    while (System.nanoTime() < deadline) {
+                        search(httpClient, authorization, recorder);
+                    }
+                    return recorder;
+                }));
+            }
+            List<LoadTestReport.Recorder> recorders = new ArrayList<>();
+            for (Future<LoadTestReport.Recorder> future : futures) {
+                recorders.add(future.get());
+            }
+            return recorders;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * Searches the books of a random author, skewed towards the first authors so popular authors are searched
+     * more often, optionally filtered on a random publication year.
+     *
+     * @param httpClient    The HTTP client.
+     * @param authorization The Authorization header.
+     * @param recorder      Records the latency and status of the search.
+     */
+    private void search(HttpClient httpClient, String authorization, LoadTestReport.Recorder recorder) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double skew = random.nextDouble();
+        String author = "Load Author " + (int) (skew * skew * settings.getAuthors());
+        StringBuilder uri = new StringBuilder("http://localhost:").append(port).append(ME_BOOKS_LIST)
+                .append("?author=").append(URLEncoder.encode(author, StandardCharsets.UTF_8));
+        if (random.nextDouble() < settings.getYearFilterRate()) {
+            uri.append("&year=").append(1950 + random.nextInt(74));
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri.toString()))
+                .header("Authorization", authorization)
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        long startTime = System.nanoTime();
+        int status;
+        try {
+            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during search", e);
+        }
+        recorder.record(System.nanoTime() - startTime, status);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ing.nybooks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Results of a load test run: client-side throughput and latency percentiles of /me/books/list, and the upstream
+ * calls each search caused.
+ */
+@Getter
+class LoadTestReport {
+    private final int concurrency;
+    private final double durationSeconds;
+    private final long requests;
+    private final long successful;
+    private final Map<Integer, Long> statuses;
+    private final double throughputPerSecond;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double p999Millis;
+    private final double maxMillis;
+    private final long nytCalls;
+    private final long nytThrottled;
+    private final long openLibraryCalls;
+    private final long openLibraryErrors;
+    /**
+     * NYT calls per search.
+     */
+    private final double nytAmplification;
+    /**
+     * OpenLibrary calls per search.
+     */
+    private final double openLibraryAmplification;
+
+    /**
+     * Constructor for LoadTestReport, aggregating the recordings of all clients.
+     *
+     * @param concurrency  The number of concurrent clients.
+     * @param elapsedNanos The duration of the measured run.
+     * @param recorders    The recordings of the clients.
+     * @param nyt          The NYT simulator, its counters reset at the start of the measured run.
+     * @param openLibrary  The OpenLibrary simulator, its counters reset at the start of the measured run.
+     */
+    LoadTestReport(int concurrency, long elapsedNanos, Collection<Recorder> recorders, NYTSimulator nyt, OpenLibrarySimulator openLibrary) {
+        long[] latencies = recorders.stream().flatMapToLong(recorder -> Arrays.stream(recorder.latencies, 0, recorder.count)).sorted().toArray();
+        this.statuses = new TreeMap<>();
+        recorders.forEach(recorder -> recorder.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum)));
+
+        this.concurrency = concurrency;
+        this.durationSeconds = elapsedNanos / 1e9;
+        this.requests = latencies.length;
+        this.successful = statuses.entrySet().stream().filter(entry -> entry.getKey() / 100 == 2).mapToLong(Map.Entry::getValue).sum();
+        this.throughputPerSecond = requests / durationSeconds;
+        this.p50Millis = percentile(latencies, 50);
+        this.p99Millis = percentile(latencies, 99);
+        this.p999Millis = percentile(latencies, 99.9);
+        this.maxMillis = latencies.length > 0 ? latencies[latencies.length - 1] / 1e6 : 0;
+        this.nytCalls = nyt.getCalls();
+        this.nytThrottled = nyt.getThrottled();
+        this.openLibraryCalls = openLibrary.getCalls();
+        this.openLibraryErrors = openLibrary.getErrors();
+        this.nytAmplification = requests > 0 ? (double) nytCalls / requests : 0;
+        this.openLibraryAmplification = requests > 0 ? (double) openLibraryCalls / requests : 0;
+    }
+
+    /**
+     * Writes the report as JSON.
+     *
+     * @param path The report file.
+     * @throws IOException If the file cannot be written.
+     */
+    void writeTo(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d clients, %.1f s: %d requests (%d successful, statuses %s), %.1f req/s%n"
+                        + "latency p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, max %.1f ms%n"
+                        + "NYT %d calls (%d throttled, %.2f per search), OpenLibrary %d calls (%d failed, %.2f per search)",
+                concurrency, durationSeconds, requests, successful, statuses, throughputPerSecond,
+                p50Millis, p99Millis, p999Millis, maxMillis,
+                nytCalls, nytThrottled, nytAmplification, openLibraryCalls, openLibraryErrors, openLibraryAmplification);
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, rank)] / 1e6;
+    }
+
+    /**
+     * Records the latencies and statuses of a single client; not thread-safe.
+     */
+    static final class Recorder {
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+        private long[] latencies = new long[4096];
+        private int count;
+
+        /**
+         * Records a completed request.
+         *
+         * @param latencyNanos The latency of the request.
+         * @param status       The HTTP status, or 0 if the request failed without response.
+         */
+        void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            statuses.merge(status, 1L, Long::sum);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ing.nybooks.load;
+
+import lombok.Getter;
+
+/**
+ * Settings of a load test run, read from {@code load.*} system properties so a run can be tuned from the command
+ * line, e.g. {@code mvn -P load-test test -Dload.concurrency=64 -Dload.openLibrary.p99Millis=2000}.
+ */
+@Getter
+class LoadTestSettings {
+    /**
+     * The number of clients calling /me/books/list concurrently.
+     */
+    private final int concurrency = Integer.getInteger("load.concurrency", 32);
+    /**
+     * The duration of the warm-up, which is left out of the report.
+     */
+    private final int warmupSeconds = Integer.getInteger("load.warmupSeconds", 10);
+    /**
+     * The duration of the measured run.
+     */
+    private final int durationSeconds = Integer.getInteger("load.durationSeconds", 30);
+    /**
+     * The number of distinct authors searched; fewer authors mean more cache hits.
+     */
+    private final int authors = Integer.getInteger("load.authors", 500);
+    /**
+     * The fraction of searches filtering on a publication year.
+     */
+    private final double yearFilterRate = doubleProperty("load.yearFilterRate", 0.5);
+    /**
+     * The maximum number of books of an author in the NYT history, served in pages of 20.
+     */
+    private final int nytMaxResults = Integer.getInteger("load.nyt.maxResults", 60);
+    private final double nytMedianMillis = doubleProperty("load.nyt.medianMillis", 150);
+    private final double nytP99Millis = doubleProperty("load.nyt.p99Millis", 800);
+    /**
+     * The fraction of NYT calls answered with 429 Too Many Requests.
+     */
+    private final double nytThrottleRate = doubleProperty("load.nyt.throttleRate", 0.01);
+    private final double nytErrorRate = doubleProperty("load.nyt.errorRate", 0.0);
+    /**
+     * The NYT calls per minute allowed by the application's rate limiter, far above the real quota by default so
+     * the limiter does not cap the measured throughput.
+     */
+    private final int nytRequestsPerMinute = Integer.getInteger("load.nyt.requestsPerMinute", 60000);
+    private final double openLibraryMedianMillis = doubleProperty("load.openLibrary.medianMillis", 80);
+    private final double openLibraryP99Millis = doubleProperty("load.openLibrary.p99Millis", 600);
+    private final double openLibraryErrorRate = doubleProperty("load.openLibrary.errorRate", 0.01);
+    /**
+     * The fraction of ISBNs OpenLibrary does not know.
+     */
+    private final double openLibraryNotFoundRate = doubleProperty("load.openLibrary.notFoundRate", 0.05);
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ing.nybooks.load;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.ing.nybooks.model.Const.AUTHOR;
+import static com.ing.nybooks.model.Const.OFFSET;
+
+/**
+ * Emulates the New York Times best-sellers history endpoint. Each author has a stable number of books, derived
+ * from the name, served in pages of 20 with {@code num_results} set to the total; the books carry the ISBNs and
+ * the descriptive fields the real API returns.
+ */
+class NYTSimulator extends UpstreamSimulator {
+    static final String PATH = "/svc/books/v3/lists/best-sellers/history.json";
+    private static final int PAGE_SIZE = 20;
+    private final int maxResults;
+
+    /**
+     * Constructor for NYTSimulator.
+     *
+     * @param settings The latency, error rates and book counts of the run.
+     * @throws IOException If the server cannot be started.
+     */
+    NYTSimulator(LoadTestSettings settings) throws IOException {
+        super("nyt", settings.getNytMedianMillis(), settings.getNytP99Millis(), settings.getNytThrottleRate(), settings.getNytErrorRate());
+        this.maxResults = settings.getNytMaxResults();
+    }
+
+    @Override
+    protected SimulatedResponse respond(String path, Map<String, String> parameters) {
+        String author = parameters.get(AUTHOR);
+        if (!PATH.equals(path) || author == null) {
+            return new SimulatedResponse(404, "{\"status\":\"ERROR\"}");
+        }
+        int offset = Integer.parseInt(parameters.getOrDefault(OFFSET, "0"));
+        long seed = author.hashCode() & 0xffffffffL;
+        int numResults = 1 + (int) (seed % maxResults);
+
+        StringBuilder body = new StringBuilder(16384)
+                .append("{\"status\":\"OK\",\"copyright\":\"Copyright (c) 2023 The New York Times Company.  All Rights Reserved.\",")
+                .append("\"num_results\":").append(numResults).append(",\"results\":[");
+        for (int index = offset; index < Math.min(offset + PAGE_SIZE, numResults); index++) {
+            if (index > offset) {
+                body.append(',');
+            }
+            appendBook(body, escape(author), seed, index);
+        }
+        return new SimulatedResponse(200, body.append("]}").toString());
+    }
+
+    private static void appendBook(StringBuilder body, String author, long seed, int index) {
+        String isbn10 = String.format("%010d", (seed * 31 + index * 7919L) % 10_000_000_000L);
+        String isbn13 = "978" + isbn10;
+        body.append("{\"title\":\"BOOK ").append(index + 1).append(" BY ").append(author.toUpperCase()).append('"')
+                .append(",\"description\":\"A simulated best seller used to drive load tests against the search endpoint.\"")
+                .append(",\"contributor\":\"by ").append(author).append('"')
+                .append(",\"author\":\"").append(author).append('"')
+                .append(",\"contributor_note\":\"\",\"price\":\"0.00\",\"age_group\":\"\"")
+                .append(",\"publisher\":\"Publisher ").append(seed % 17).append('"')
+                .append(",\"isbns\":[{\"isbn10\":\"").append(isbn10).append("\",\"isbn13\":\"").append(isbn13).append("\"}]")
+                .append(",\"ranks_history\":[{\"primary_isbn10\":\"").append(isbn10)
+                .append("\",\"primary_isbn13\":\"").append(isbn13)
+                .append("\",\"rank\":").append(index % 15 + 1)
+                .append(",\"list_name\":\"Hardcover Fiction\",\"display_name\":\"Hardcover Fiction\"")
+                .append(",\"published_date\":\"2016-09-04\",\"bestsellers_date\":\"2016-08-20\"")
+                .append(",\"weeks_on_list\":1,\"rank_last_week\":0,\"asterisk\":0,\"dagger\":0}]")
+                .append(",\"reviews\":[{\"book_review_link\":\"\",\"first_chapter_link\":\"\",\"sunday_review_link\":\"\",\"article_chapter_link\":\"\"}]}");
+    }
+}
@@ -0,0 +1,97 @@
+package com.ing.nybooks.load;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Emulates the OpenLibrary ISBN endpoint and the Books API resolving several bibkeys in one call. The publication
+ * year of an ISBN is derived from the ISBN itself, so every run resolves the same years; a stable share of the
+ * ISBNs is unknown, answered with 404 by the ISBN endpoint and left out by the Books API.
+ */
+class OpenLibrarySimulator extends UpstreamSimulator {
+    static final String ISBN_PATH = "/isbn/";
+    static final String BOOKS_PATH = "/api/books";
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    private final double notFoundRate;
+
+    /**
+     * Constructor for OpenLibrarySimulator.
+     *
+     * @param settings The latency and error rates of the run.
+     * @throws IOException If the server cannot be started.
+     */
+    OpenLibrarySimulator(LoadTestSettings settings) throws IOException {
+        super("openLibrary", settings.getOpenLibraryMedianMillis(), settings.getOpenLibraryP99Millis(), 0, settings.getOpenLibraryErrorRate());
+        this.notFoundRate = settings.getOpenLibraryNotFoundRate();
+    }
+
+    /**
+     * Derives the publication year of an ISBN.
+     *
+     * @param isbn The ISBN.
+     * @return The publication year, between 1950 and 2023.
+     */
+    static int publicationYear(String isbn) {
+        return 1950 + Math.floorMod(isbn.hashCode(), 74);
+    }
+
+    @Override
+    protected SimulatedResponse respond(String path, Map<String, String> parameters) {
+        if (path.startsWith(ISBN_PATH) && path.endsWith(".json")) {
+            String isbn = path.substring(ISBN_PATH.length(), path.length() - ".json".length());
+            if (isUnknown(isbn)) {
+                return new SimulatedResponse(404, "{\"error\":\"notfound\",\"key\":\"/" + escape(isbn) + "\"}");
+            }
+            StringBuilder body = new StringBuilder(1024).append('{');
+            appendEdition(body, isbn, false);
+            return new SimulatedResponse(200, body.append('}').toString());
+        }
+        if (BOOKS_PATH.equals(path) && parameters.containsKey("bibkeys")) {
+            StringBuilder body = new StringBuilder(16384).append('{');
+            for (String bibKey : parameters.get("bibkeys").split(",")) {
+                String isbn = bibKey.startsWith("ISBN:") ? bibKey.substring("ISBN:".length()) : bibKey;
+                if (!isUnknown(isbn)) {
+                    if (body.length() > 1) {
+                        body.append(',');
+                    }
+                    body.append("\"ISBN:").append(escape(isbn)).append("\":{");
+                    appendEdition(body, isbn, true);
+                    body.append('}');
+                }
+            }
+            return new SimulatedResponse(200, body.append('}').toString());
+        }
+        return new SimulatedResponse(404, "{\"error\":\"notfound\"}");
+    }
+
+    private boolean isUnknown(String isbn) {
+        return Math.floorMod(isbn.hashCode() * 31, 1000) < notFoundRate * 1000;
+    }
+
+    private static void appendEdition(StringBuilder body, String isbn, boolean booksApi) {
+        int publicationYear = publicationYear(isbn);
+        int month = Math.floorMod(isbn.hashCode(), 12);
+        // The date formats OpenLibrary returns vary per edition
+        String publishDate;
+        switch (Math.floorMod(isbn.hashCode(), 3)) {
+            case 0:
+                publishDate = MONTHS[month] + " " + String.format("%02d", month + 1) + ", " + publicationYear;
+                break;
+            case 1:
+                publishDate = publicationYear + "-" + String.format("%02d", month + 1) + "-01";
+                break;
+            default:
+                publishDate = String.valueOf(publicationYear);
+        }
+        String escapedIsbn = escape(isbn);
+        // The Books API returns publishers as objects, the ISBN endpoint as names
+        body.append(booksApi ? "\"publishers\":[{\"name\":\"Simulated Press\"}]" : "\"publishers\":[\"Simulated Press\"]")
+                .append(",\"number_of_pages\":320")
+                .append(",\"isbn_13\":[\"").append(escapedIsbn).append("\"]")
+                .append(",\"identifiers\":{\"goodreads\":[\"31423148\"],\"librarything\":[\"18524107\"]}")
+                .append(",\"languages\":[{\"key\":\"/languages/eng\"}]")
+                .append(",\"title\":\"Simulated Edition ").append(escapedIsbn).append('"')
+                .append(",\"publish_date\":\"").append(publishDate).append('"')
+                .append(",\"physical_format\":\"Hardcover\",\"revision\":6");
+    }
+}
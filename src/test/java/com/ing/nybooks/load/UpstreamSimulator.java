@@ -0,0 +1,186 @@
+package com.ing.nybooks.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local HTTP server emulating an upstream API for load tests. Every call is delayed by a log-normally distributed
+ * latency and fails with the configured throttle and error rates before the simulated response is sent.
+ */
+abstract class UpstreamSimulator implements Closeable {
+    private static final double Z_99 = 2.326;
+    private final String name;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final double medianMillis;
+    private final double sigma;
+    private final double throttleRate;
+    private final double errorRate;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Constructor for UpstreamSimulator, starting the server on a free local port.
+     *
+     * @param name         Name of the simulated upstream.
+     * @param medianMillis The median latency of a call.
+     * @param p99Millis    The 99th percentile latency of a call.
+     * @param throttleRate The fraction of calls answered with 429 Too Many Requests.
+     * @param errorRate    The fraction of calls answered with 500 Internal Server Error.
+     * @throws IOException If the server cannot be started.
+     */
+    UpstreamSimulator(String name, double medianMillis, double p99Millis, double throttleRate, double errorRate) throws IOException {
+        this.name = name;
+        this.medianMillis = Math.max(0, medianMillis);
+        this.sigma = medianMillis > 0 && p99Millis > medianMillis ? Math.log(p99Millis / medianMillis) / Z_99 : 0;
+        this.throttleRate = throttleRate;
+        this.errorRate = errorRate;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, name + "-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Builds the simulated response of a call that is neither throttled nor failed.
+     *
+     * @param path       The request path.
+     * @param parameters The decoded query parameters.
+     * @return The response.
+     */
+    protected abstract SimulatedResponse respond(String path, Map<String, String> parameters);
+
+    /**
+     * Returns the port the simulator listens on.
+     *
+     * @return The port.
+     */
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long getCalls() {
+        return calls.get();
+    }
+
+    long getThrottled() {
+        return throttled.get();
+    }
+
+    long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * Resets the call counters, e.g. at the end of the warm-up.
+     */
+    void resetCounters() {
+        calls.set(0);
+        throttled.set(0);
+        errors.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            calls.incrementAndGet();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            sleep(medianMillis * Math.exp(sigma * random.nextGaussian()));
+
+            double outcome = random.nextDouble();
+            SimulatedResponse response;
+            if (outcome < throttleRate) {
+                throttled.incrementAndGet();
+                response = new SimulatedResponse(429, "{\"fault\":{\"faultstring\":\"Rate limit quota violation.\"}}");
+            } else if (outcome < throttleRate + errorRate) {
+                errors.incrementAndGet();
+                response = new SimulatedResponse(500, "{\"error\":\"Internal Server Error\"}");
+            } else {
+                response = respond(exchange.getRequestURI().getPath(), parseQuery(exchange.getRequestURI().getRawQuery()));
+            }
+
+            byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static void sleep(double millis) {
+        try {
+            Thread.sleep((long) millis, (int) ((millis % 1) * 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Escapes a value for a JSON string.
+     *
+     * @param value The value.
+     * @return The escaped value.
+     */
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Status and JSON body of a simulated response.
+     */
+    static final class SimulatedResponse {
+        private final int status;
+        private final String body;
+
+        SimulatedResponse(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -14,7 +14,7 @@ import static org.hamcrest.Matchers.greaterThan;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {"isbn-store.enabled=false", "cache-warming.enabled=false"})
 @AutoConfigureMockMvc
 public class BookControllerTest {
     @Autowired